@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.benchmark;
+
+import com.github.vladislavsevruk.generator.proxy.ProxyFactory;
+import com.github.vladislavsevruk.generator.proxy.ProxyInstantiator;
+import com.github.vladislavsevruk.generator.proxy.benchmark.data.Counter;
+import com.github.vladislavsevruk.generator.proxy.benchmark.data.SimpleCounter;
+import com.github.vladislavsevruk.generator.proxy.source.generator.SimpleProxySourceTestGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares instantiation by <code>new</code> operator with creation of proxy instances by {@link ProxyFactory},
+ * {@link ProxyInstantiator} and <code>java.lang.reflect.Proxy</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class ProxyInstantiationBenchmark {
+
+    private InvocationHandler invocationHandler;
+    private ProxyFactory<SimpleCounter> proxyFactory;
+    private ProxyInstantiator<SimpleCounter> proxyInstantiator;
+    private Long step;
+
+    @Benchmark
+    public Counter newOperator() {
+        return new SimpleCounter(step);
+    }
+
+    @Benchmark
+    public Counter proxyFactoryNewInstance() {
+        return proxyFactory.newInstance(step);
+    }
+
+    @Benchmark
+    public Counter proxyInstantiatorCreate() {
+        return proxyInstantiator.create(step);
+    }
+
+    @Benchmark
+    public Counter reflectionProxyNewInstance() {
+        return (Counter) Proxy.newProxyInstance(Counter.class.getClassLoader(), new Class<?>[]{ Counter.class },
+                invocationHandler);
+    }
+
+    @Setup
+    public void setUp() {
+        step = 2L;
+        proxyFactory = new ProxyFactory<>(SimpleCounter.class, new SimpleProxySourceTestGenerator());
+        proxyInstantiator = proxyFactory.getInstantiator(long.class);
+        Counter target = new SimpleCounter(step);
+        invocationHandler = (proxy, method, args) -> method.invoke(target, args);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.benchmark;
+
+import com.github.vladislavsevruk.generator.proxy.ProxyFactory;
+import com.github.vladislavsevruk.generator.proxy.benchmark.data.Counter;
+import com.github.vladislavsevruk.generator.proxy.benchmark.data.SimpleCounter;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.DelegateProxyBytecodeCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.generator.SimpleProxySourceTestGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares direct method call with calls through delegating proxies generated from source code and byte code and
+ * through <code>java.lang.reflect.Proxy</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class ProxyInvocationBenchmark {
+
+    private Counter bytecodeProxy;
+    private Counter directCounter;
+    private Counter reflectionProxy;
+    private Counter sourceProxy;
+    private long value;
+
+    @Benchmark
+    public long bytecodeProxyCall() {
+        return bytecodeProxy.increment(value);
+    }
+
+    @Benchmark
+    public long directCall() {
+        return directCounter.increment(value);
+    }
+
+    @Benchmark
+    public long reflectionProxyCall() {
+        return reflectionProxy.increment(value);
+    }
+
+    @Setup
+    public void setUp() {
+        value = System.nanoTime();
+        directCounter = new SimpleCounter();
+        sourceProxy = new ProxyFactory<>(SimpleCounter.class, new SimpleProxySourceTestGenerator()).newInstance();
+        bytecodeProxy = new ProxyFactory<>(SimpleCounter.class, new DelegateProxyBytecodeCompiler(), "Bytecode")
+                .newInstance();
+        Counter target = new SimpleCounter();
+        reflectionProxy = (Counter) Proxy.newProxyInstance(Counter.class.getClassLoader(),
+                new Class<?>[]{ Counter.class }, (proxy, method, args) -> method.invoke(target, args));
+    }
+
+    @Benchmark
+    public long sourceProxyCall() {
+        return sourceProxy.increment(value);
+    }
+}
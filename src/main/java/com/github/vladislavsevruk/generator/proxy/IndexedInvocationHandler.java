@@ -0,0 +1,47 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy;
+
+/**
+ * Handles calls of methods overridden by indexed proxy. Unlike <code>java.lang.reflect.InvocationHandler</code> it
+ * receives index of called method instead of <code>Method</code> instance so original method can be called via
+ * {@link IndexedProxy#invokeSuper(int, Object[])} without reflection.
+ *
+ * @see IndexedProxy
+ */
+@FunctionalInterface
+public interface IndexedInvocationHandler {
+
+    /**
+     * Processes method call of proxy instance.
+     *
+     * @param proxy       proxy instance which method was called.
+     * @param methodIndex index of called method at list of indexed methods of proxied class.
+     * @param args        method call arguments with primitive values boxed or <code>null</code> if method has no
+     *                    parameters.
+     * @return value to return from proxy method. Ignored for <code>void</code> methods.
+     * @throws Throwable if method call should end with exception.
+     */
+    Object invoke(IndexedProxy proxy, int methodIndex, Object[] args) throws Throwable;
+}
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Proxy that passes calls of overridden methods to {@link IndexedInvocationHandler} together with index of called
+ * method. Original methods are called by index via generated <code>switch</code> so no reflection is involved.
+ *
+ * @see IndexedInvocationHandler
+ */
+public interface IndexedProxy {
+
+    /**
+     * Returns methods overridden by this proxy where position of each method is index passed to
+     * {@link IndexedInvocationHandler} and {@link #invokeSuper(int, Object[])}. Methods are resolved on first call and
+     * then reused by all instances of proxy class.
+     *
+     * @return unmodifiable <code>List</code> of proxied methods.
+     */
+    List<Method> getIndexedMethods();
+
+    /**
+     * Calls original method of proxied class with received index.
+     *
+     * @param methodIndex index of method at list of indexed methods of proxied class.
+     * @param args        method call arguments or <code>null</code> if method has no parameters.
+     * @return value returned by original method or <code>null</code> for <code>void</code> methods.
+     * @throws Throwable if original method throws exception.
+     */
+    Object invokeSuper(int methodIndex, Object[] args) throws Throwable;
+
+    /**
+     * Sets handler for method calls of this proxy. If handler isn't set original methods are called directly. Handler
+     * should be set before proxy instance is shared between threads.
+     *
+     * @param invocationHandler <code>IndexedInvocationHandler</code> to pass method calls to.
+     */
+    void setInvocationHandler(IndexedInvocationHandler invocationHandler);
+}
@@ -0,0 +1,216 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy;
+
+import com.github.vladislavsevruk.generator.proxy.source.bytecode.InliningAnalyzer;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.JavaSourceCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.ProxyClassCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.SourceProxyClassCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
+import com.github.vladislavsevruk.generator.proxy.source.generator.ProxySourceCodeGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.loader.ProxyClassArchive;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+import com.github.vladislavsevruk.generator.proxy.util.FingerprintUtil;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates proxy classes ahead of time, e.g. during application build, and writes their byte code to class files so
+ * they can be packaged together with target classes. Written classes contain fingerprint of target class and compiler,
+ * so {@link ProxyFactory} picks up such proxy classes instead of generating them on runtime only if it uses the same
+ * compiler.
+ */
+@Log4j2
+public final class ProxyClassExporter {
+
+    private static final String PREFIX_OPTION = "--prefix=";
+
+    private final ProxyClassCompiler proxyClassCompiler;
+    private final String proxyClassPrefix;
+
+    public ProxyClassExporter(ProxySourceCodeGenerator proxySourceCodeGenerator) {
+        this(proxySourceCodeGenerator, "");
+    }
+
+    public ProxyClassExporter(ProxySourceCodeGenerator proxySourceCodeGenerator, String proxyClassPrefix) {
+        this(new SourceProxyClassCompiler(proxySourceCodeGenerator), proxyClassPrefix);
+    }
+
+    public ProxyClassExporter(ProxyClassCompiler proxyClassCompiler, String proxyClassPrefix) {
+        this.proxyClassCompiler = proxyClassCompiler;
+        this.proxyClassPrefix = proxyClassPrefix;
+    }
+
+    /**
+     * Generates proxy classes for received target classes and writes them to output directory. Arguments are output
+     * directory, binary name of <code>ProxySourceCodeGenerator</code> or <code>ProxyClassCompiler</code>
+     * implementation with public no-argument constructor and binary names of target classes. Proxy class prefix may be
+     * set by optional <code>--prefix=</code> argument.
+     *
+     * @param args <code>String</code> array with arguments.
+     * @throws ReflectiveOperationException if any of received classes cannot be loaded or generator cannot be created.
+     */
+    public static void main(String[] args) throws ReflectiveOperationException {
+        String proxyClassPrefix = "";
+        List<String> positionalArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(PREFIX_OPTION)) {
+                proxyClassPrefix = arg.substring(PREFIX_OPTION.length());
+            } else {
+                positionalArgs.add(arg);
+            }
+        }
+        if (positionalArgs.size() < 3) {
+            throw new IllegalArgumentException(
+                    "Expected arguments: <output directory> <generator class> <target class>... [--prefix=<prefix>]");
+        }
+        Object generator = Class.forName(positionalArgs.get(1)).getConstructor().newInstance();
+        List<Class<?>> targetClasses = new ArrayList<>();
+        for (String targetClassName : positionalArgs.subList(2, positionalArgs.size())) {
+            targetClasses.add(Class.forName(targetClassName));
+        }
+        createExporter(generator, proxyClassPrefix).export(targetClasses, Paths.get(positionalArgs.get(0)));
+    }
+
+    /**
+     * Generates proxy classes for received target classes and writes them to class files at received directory
+     * according to their packages.
+     *
+     * @param targetClasses   <code>Collection</code> of classes to generate proxies for.
+     * @param outputDirectory <code>Path</code> to root directory for class files.
+     * @return <code>List</code> of <code>Path</code> to written class files.
+     */
+    public List<Path> export(Collection<Class<?>> targetClasses, Path outputDirectory) {
+        Map<String, JavaByteFileObject> compiledClasses = compile(targetClasses);
+        List<Path> classFiles = new ArrayList<>(compiledClasses.size());
+        compiledClasses.forEach((proxyClassName, compiledByteFileObject) -> classFiles
+                .add(writeClassFile(outputDirectory, proxyClassName, compiledByteFileObject)));
+        return classFiles;
+    }
+
+    /**
+     * Generates proxy classes for received target classes and writes them to jar file together with class list file
+     * for class data sharing. Jar file should be added to class path of application so its proxy classes are loaded
+     * instead of generated and may be archived by class data sharing.
+     *
+     * @param targetClasses <code>Collection</code> of classes to generate proxies for.
+     * @param jarFile       <code>Path</code> to jar file to write classes to.
+     * @param classListFile <code>Path</code> to class list file to write class names to.
+     * @return <code>List</code> of binary names of written classes.
+     * @see ProxyClassArchive
+     */
+    public List<String> exportArchive(Collection<Class<?>> targetClasses, Path jarFile, Path classListFile) {
+        ProxyClassArchive archive = new ProxyClassArchive(jarFile, classListFile);
+        compile(targetClasses).forEach((proxyClassName, compiledByteFileObject) -> archive
+                .record(proxyClassName, compiledByteFileObject.getBytes()));
+        archive.write();
+        return archive.getClassNames();
+    }
+
+    private static ProxyClassExporter createExporter(Object generator, String proxyClassPrefix) {
+        if (generator instanceof ProxyClassCompiler) {
+            return new ProxyClassExporter((ProxyClassCompiler) generator, proxyClassPrefix);
+        }
+        if (generator instanceof ProxySourceCodeGenerator) {
+            return new ProxyClassExporter((ProxySourceCodeGenerator) generator, proxyClassPrefix);
+        }
+        throw new IllegalArgumentException(
+                String.format("'%s' is neither ProxySourceCodeGenerator nor ProxyClassCompiler.",
+                        generator.getClass().getName()));
+    }
+
+    private Map<String, JavaByteFileObject> compile(Collection<Class<?>> targetClasses) {
+        Map<String, JavaByteFileObject> compiledClasses = new LinkedHashMap<>();
+        Map<String, ProxyClassSchema> sourceCompiledSchemas = new LinkedHashMap<>();
+        Map<String, CharSequence> proxyClassContents = new LinkedHashMap<>();
+        Map<String, String> proxyClassFingerprints = new LinkedHashMap<>();
+        for (Class<?> targetClass : targetClasses) {
+            ProxyClassSchema proxyClassSchema = new ProxyClassSchema(targetClass, proxyClassPrefix);
+            String proxyClassName = proxyClassSchema.getBinaryName();
+            proxyClassFingerprints
+                    .put(proxyClassName, FingerprintUtil.generateFingerprint(proxyClassSchema, proxyClassCompiler));
+            if (proxyClassCompiler instanceof SourceProxyClassCompiler) {
+                proxyClassContents.put(proxyClassName,
+                        ((SourceProxyClassCompiler) proxyClassCompiler).generateSource(proxyClassSchema));
+                sourceCompiledSchemas.put(proxyClassName, proxyClassSchema);
+            } else {
+                putIfCompiled(compiledClasses, proxyClassName,
+                        proxyClassCompiler.compile(proxyClassName, proxyClassSchema));
+            }
+        }
+        compiledClasses
+                .putAll(JavaSourceCompiler.compile(proxyClassContents, InliningAnalyzer.finalMarkingInstance()));
+        sourceCompiledSchemas.forEach((proxyClassName, proxyClassSchema) -> {
+            if (!compiledClasses.containsKey(proxyClassName)) {
+                // batch compilation fails if any of sources is invalid so proxy is compiled separately
+                putIfCompiled(compiledClasses, proxyClassName,
+                        proxyClassCompiler.compile(proxyClassName, proxyClassSchema));
+                return;
+            }
+            compiledClasses.put(proxyClassName, ((SourceProxyClassCompiler) proxyClassCompiler)
+                    .recompileIfRequired(proxyClassName, proxyClassSchema, compiledClasses.get(proxyClassName)));
+        });
+        Map<String, JavaByteFileObject> fingerprintedClasses = new LinkedHashMap<>();
+        proxyClassFingerprints.forEach((proxyClassName, fingerprint) -> {
+            JavaByteFileObject compiledByteFileObject = compiledClasses.get(proxyClassName);
+            if (compiledByteFileObject != null) {
+                fingerprintedClasses.put(proxyClassName, new JavaByteFileObject(proxyClassName,
+                        FingerprintUtil.addFingerprint(compiledByteFileObject.getBytes(), fingerprint)));
+            }
+        });
+        return fingerprintedClasses;
+    }
+
+    private void putIfCompiled(Map<String, JavaByteFileObject> compiledClasses, String proxyClassName,
+            JavaByteFileObject compiledByteFileObject) {
+        if (compiledByteFileObject == null) {
+            log.warn("Failed to generate '{}' class.", proxyClassName);
+        } else {
+            compiledClasses.put(proxyClassName, compiledByteFileObject);
+        }
+    }
+
+    private Path writeClassFile(Path outputDirectory, String proxyClassName,
+            JavaByteFileObject compiledByteFileObject) {
+        Path classFile = outputDirectory.resolve(proxyClassName.replace('.', '/') + ".class");
+        try {
+            Files.createDirectories(classFile.getParent());
+            Files.write(classFile, compiledByteFileObject.getBytes());
+        } catch (IOException ioEx) {
+            throw new UncheckedIOException(ioEx);
+        }
+        log.debug("Wrote '{}' class to '{}'.", proxyClassName, classFile);
+        return classFile;
+    }
+}
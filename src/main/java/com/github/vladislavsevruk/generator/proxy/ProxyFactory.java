@@ -23,51 +23,309 @@
  */
 package com.github.vladislavsevruk.generator.proxy;
 
+import com.github.vladislavsevruk.generator.proxy.jfr.ProxyFlightEvent;
+import com.github.vladislavsevruk.generator.proxy.jfr.ProxyFlightRecorder;
+import com.github.vladislavsevruk.generator.proxy.listener.ProxyGenerationEvent;
+import com.github.vladislavsevruk.generator.proxy.listener.ProxyGenerationListener;
+import com.github.vladislavsevruk.generator.proxy.listener.ProxyGenerationPhase;
+import com.github.vladislavsevruk.generator.proxy.source.bytecode.InliningAnalyzer;
+import com.github.vladislavsevruk.generator.proxy.source.cache.ProxyClassCache;
 import com.github.vladislavsevruk.generator.proxy.source.compiler.JavaSourceCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.ProxyClassCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.ProxyInstantiatorBytecodeCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.SourceProxyClassCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
+import com.github.vladislavsevruk.generator.proxy.source.generator.InterfaceDelegationProxySourceGenerator;
 import com.github.vladislavsevruk.generator.proxy.source.generator.ProxySourceCodeGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.loader.ClassLoaderProxyClassDefiner;
 import com.github.vladislavsevruk.generator.proxy.source.loader.JavaByteClassLoader;
+import com.github.vladislavsevruk.generator.proxy.source.loader.ProxyClassArchive;
+import com.github.vladislavsevruk.generator.proxy.source.loader.ProxyClassDefiner;
 import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+import com.github.vladislavsevruk.generator.proxy.util.ClassMemberUtil;
+import com.github.vladislavsevruk.generator.proxy.util.ExecutorUtil;
+import com.github.vladislavsevruk.generator.proxy.util.FingerprintUtil;
 import com.github.vladislavsevruk.resolver.resolver.executable.ExecutableTypeMetaResolver;
 import com.github.vladislavsevruk.resolver.resolver.executable.ExecutableTypeResolver;
 import com.github.vladislavsevruk.resolver.type.TypeMeta;
 import lombok.extern.log4j.Log4j2;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
- * Factory for dynamic generation of proxies with custom behavior.
+ * Factory for dynamic generation of proxies with custom behavior. If proxy class was generated at build time by
+ * {@link ProxyClassExporter} and is available for class loader of target class it's used instead of runtime
+ * generation.
  *
  * @param <T> type of target class.
  */
 @Log4j2
 public final class ProxyFactory<T> {
 
-    private static final Map<String, Class<?>> RESOLVED_CLASSES = new ConcurrentHashMap<>();
+    private static final List<ProxyGenerationListener> GLOBAL_LISTENERS = new CopyOnWriteArrayList<>();
+    private static final ProxyInstantiatorBytecodeCompiler INSTANTIATOR_COMPILER
+            = new ProxyInstantiatorBytecodeCompiler();
+    private static final AtomicInteger INSTANTIATOR_COUNTER = new AtomicInteger();
+    private static final int MAX_FIXED_ARITY = 3;
+    private static volatile ProxyClassArchive recordingArchive;
 
     private final Class<T> clazz;
+    private final JavaByteClassLoader classLoader;
+    private final Map<ConstructorSignature, CachedConstructor<? extends T>> constructorCache
+            = new ConcurrentHashMap<>();
     private final ExecutableTypeResolver<TypeMeta<?>> executableTypeResolver = new ExecutableTypeMetaResolver();
+    private final List<ProxyGenerationListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Class<? extends T> proxyClass;
+    private final ProxyClassCache proxyClassCache;
+    private final ProxyClassCompiler proxyClassCompiler;
+    private final ProxyClassDefiner proxyClassDefiner;
+    private final String proxyClassFingerprint;
+    private final String proxyClassName;
     private final ProxyClassSchema proxyClassSchema;
-    private final ProxySourceCodeGenerator proxyContentGenerator;
+    private final AtomicReferenceArray<CachedConstructor<? extends T>> recentConstructors
+            = new AtomicReferenceArray<>(MAX_FIXED_ARITY + 1);
 
     public ProxyFactory(Class<T> clazz, ProxySourceCodeGenerator proxyContentGenerator) {
         this(clazz, proxyContentGenerator, "");
     }
 
     public ProxyFactory(Class<T> clazz, ProxySourceCodeGenerator proxyContentGenerator, String proxyClassPrefix) {
+        this(clazz, new SourceProxyClassCompiler(proxyContentGenerator), proxyClassPrefix);
+    }
+
+    public ProxyFactory(Class<T> clazz, ProxyClassCompiler proxyClassCompiler) {
+        this(clazz, proxyClassCompiler, "");
+    }
+
+    public ProxyFactory(Class<T> clazz, ProxyClassCompiler proxyClassCompiler, String proxyClassPrefix) {
+        this(clazz, proxyClassCompiler, proxyClassPrefix, new ClassLoaderProxyClassDefiner());
+    }
+
+    public ProxyFactory(Class<T> clazz, ProxyClassCompiler proxyClassCompiler, String proxyClassPrefix,
+            ProxyClassDefiner proxyClassDefiner) {
+        this(clazz, proxyClassCompiler, new ProxyClassSchema(clazz, proxyClassPrefix), proxyClassDefiner, null);
+    }
+
+    public ProxyFactory(Class<T> clazz, ProxyClassCompiler proxyClassCompiler, String proxyClassPrefix,
+            ProxyClassDefiner proxyClassDefiner, ProxyClassCache proxyClassCache) {
+        this(clazz, proxyClassCompiler, new ProxyClassSchema(clazz, proxyClassPrefix), proxyClassDefiner,
+                proxyClassCache);
+    }
+
+    private ProxyFactory(Class<T> clazz, ProxyClassCompiler proxyClassCompiler, ProxyClassSchema proxyClassSchema,
+            ProxyClassDefiner proxyClassDefiner, ProxyClassCache proxyClassCache) {
         this.clazz = clazz;
-        this.proxyContentGenerator = proxyContentGenerator;
-        this.proxyClassSchema = new ProxyClassSchema(clazz, proxyClassPrefix);
+        // package-private methods may be overridden only if definer guarantees runtime package of target class
+        this.proxyClassSchema = proxyClassDefiner.isTargetRuntimePackageGuaranteed(clazz)
+                ? proxyClassSchema.withTargetRuntimePackage() : proxyClassSchema;
+        this.proxyClassFingerprint = FingerprintUtil.generateFingerprint(this.proxyClassSchema, proxyClassCompiler);
+        // proxy classes are resolved at namespace of proxy class fingerprint, so factories with different compilers
+        // don't share proxy classes while proxy class names stay the same
+        this.classLoader = getNamespaceClassLoader(clazz, proxyClassFingerprint);
+        // resolved classes are cached at namespace loader unless another cache is received
+        this.proxyClassCache = proxyClassCache != null ? proxyClassCache : classLoader.getProxyClassCache();
+        this.proxyClassCompiler = proxyClassCompiler;
+        this.proxyClassDefiner = proxyClassDefiner;
+        this.proxyClassName = proxyClassSchema.getBinaryName();
+        if (isFinalClass()) {
+            log.warn("'{}' class is final.", clazz.getName());
+            this.proxyClass = clazz;
+        } else {
+            findResolvedClass();
+        }
+    }
+
+    /**
+     * Registers listener that receives events about proxy creation phases of all factories.
+     *
+     * @param listener <code>ProxyGenerationListener</code> to register.
+     */
+    public static void addGlobalListener(ProxyGenerationListener listener) {
+        GLOBAL_LISTENERS.add(listener);
+    }
+
+    /**
+     * Creates factory of proxies that implement received interfaces and delegate calls to target instance passed to
+     * {@link #newInstance(Object)} via direct typed calls. Generated proxies may be used instead of
+     * {@link java.lang.reflect.Proxy} when calls should be intercepted by wrapping target instance.
+     *
+     * @param primaryInterface     interface that defines type of proxies.
+     * @param additionalInterfaces other interfaces to implement, target instance should implement them as well.
+     * @param <T>                  type of primary interface.
+     * @return new <code>ProxyFactory</code> for received interfaces.
+     */
+    public static <T> ProxyFactory<T> forInterfaces(Class<T> primaryInterface, Class<?>... additionalInterfaces) {
+        return forInterfaces("", primaryInterface, additionalInterfaces);
+    }
+
+    /**
+     * Creates factory of proxies that implement received interfaces and delegate calls to target instance passed to
+     * {@link #newInstance(Object)} via direct typed calls.
+     *
+     * @param proxyClassPrefix     <code>String</code> with prefix for proxy class name.
+     * @param primaryInterface     interface that defines type of proxies.
+     * @param additionalInterfaces other interfaces to implement, target instance should implement them as well.
+     * @param <T>                  type of primary interface.
+     * @return new <code>ProxyFactory</code> for received interfaces.
+     */
+    public static <T> ProxyFactory<T> forInterfaces(String proxyClassPrefix, Class<T> primaryInterface,
+            Class<?>... additionalInterfaces) {
+        if (!primaryInterface.isInterface()) {
+            throw new IllegalArgumentException(primaryInterface.getName() + " is not an interface.");
+        }
+        ProxyClassSchema proxyClassSchema = new ProxyClassSchema(primaryInterface, proxyClassPrefix,
+                Arrays.asList(additionalInterfaces));
+        ProxyClassCompiler proxyClassCompiler = new SourceProxyClassCompiler(
+                new InterfaceDelegationProxySourceGenerator());
+        return new ProxyFactory<>(primaryInterface, proxyClassCompiler, proxyClassSchema,
+                new ClassLoaderProxyClassDefiner(), null);
+    }
+
+    /**
+     * Generates and compiles proxy classes for all received factories that use source code generation by single
+     * compilation task so compiler startup cost is paid only once. Proxies of factories that use another compilers
+     * are prepared one by one.
+     *
+     * @param proxyFactories <code>Collection</code> of <code>ProxyFactory</code> to prepare proxy classes for.
+     */
+    public static void prepareAll(Collection<? extends ProxyFactory<?>> proxyFactories) {
+        List<ProxyFactory<?>> deferredFactories = new ArrayList<>();
+        Map<String, ProxyFactory<?>> sourceCompiledFactories = new LinkedHashMap<>();
+        Map<String, CharSequence> proxyClassContents = new LinkedHashMap<>();
+        for (ProxyFactory<?> proxyFactory : proxyFactories) {
+            String proxyClassName = proxyFactory.proxyClassName;
+            if (proxyFactory.isFinalClass() || proxyFactory.findResolvedClass() != null) {
+                continue;
+            }
+            if (proxyClassContents.containsKey(proxyClassName)) {
+                // single compilation task cannot contain classes with the same name, so factory picks class of equal
+                // fingerprint after batch is compiled or compiles its own class
+                deferredFactories.add(proxyFactory);
+                continue;
+            }
+            Class<?> pregeneratedClass = proxyFactory.findPregeneratedClass(proxyClassName);
+            if (pregeneratedClass != null) {
+                proxyFactory.resolveOnce(() -> pregeneratedClass);
+                continue;
+            }
+            if (!(proxyFactory.proxyClassCompiler instanceof SourceProxyClassCompiler)) {
+                proxyFactory.getProxyClass();
+                continue;
+            }
+            SourceProxyClassCompiler sourceCompiler = (SourceProxyClassCompiler) proxyFactory.proxyClassCompiler;
+            CharSequence proxyClassContent = proxyFactory.generateSource(sourceCompiler);
+            JavaByteFileObject cachedByteFileObject = sourceCompiler
+                    .findCachedClass(proxyClassName, proxyFactory.proxyClassSchema, proxyClassContent);
+            if (cachedByteFileObject != null) {
+                proxyFactory.resolveOnce(() -> proxyFactory
+                        .defineCachedClass(proxyClassName, sourceCompiler, proxyClassContent, cachedByteFileObject));
+                continue;
+            }
+            proxyClassContents.put(proxyClassName, proxyClassContent);
+            sourceCompiledFactories.put(proxyClassName, proxyFactory);
+        }
+        log.debug("Compiling {} proxy classes by single compilation task.", proxyClassContents.size());
+        long compilationStartTime = System.nanoTime();
+        Map<String, JavaByteFileObject> compiledClasses = JavaSourceCompiler
+                .compile(proxyClassContents, InliningAnalyzer.finalMarkingInstance());
+        long compilationTime = System.nanoTime() - compilationStartTime;
+        sourceCompiledFactories.forEach((proxyClassName, proxyFactory) -> {
+            // source code isn't required after compilation so it's released as soon as proxy is resolved
+            CharSequence proxyClassContent = proxyClassContents.remove(proxyClassName);
+            JavaByteFileObject batchByteFileObject = compiledClasses.get(proxyClassName);
+            if (batchByteFileObject == null) {
+                // batch compilation fails if any of sources is invalid so proxy is compiled separately
+                proxyFactory.getProxyClass();
+                return;
+            }
+            SourceProxyClassCompiler sourceCompiler = (SourceProxyClassCompiler) proxyFactory.proxyClassCompiler;
+            // byte code size is measured at batch compiled class so only proxies with oversized methods are recompiled
+            long recompilationStartTime = System.nanoTime();
+            JavaByteFileObject compiledByteFileObject = sourceCompiler
+                    .recompileIfRequired(proxyClassName, proxyFactory.proxyClassSchema, batchByteFileObject);
+            long recompilationTime = System.nanoTime() - recompilationStartTime;
+            proxyFactory.firePhaseEvent(ProxyGenerationPhase.COMPILATION, compilationTime + recompilationTime,
+                    proxyClassContent.length(), getBytecodeSize(compiledByteFileObject), true, null);
+            sourceCompiler.storeCompiledClass(proxyFactory.proxyClassSchema, proxyClassContent, compiledByteFileObject);
+            proxyFactory.resolveOnce(() -> proxyFactory.defineClass(proxyClassName, compiledByteFileObject));
+        });
+        deferredFactories.forEach(ProxyFactory::getProxyClass);
+    }
+
+    /**
+     * Starts recording byte code of proxy classes that are defined by all factories to received archive, so proxy
+     * classes generated during application run may be written to jar file and archived by class data sharing. Proxy
+     * classes that are found at class path aren't recorded as they are archived from their jar files already.
+     *
+     * @param archive <code>ProxyClassArchive</code> to record proxy classes to or <code>null</code> to stop recording.
+     */
+    public static void recordGeneratedClasses(ProxyClassArchive archive) {
+        recordingArchive = archive;
+    }
+
+    /**
+     * Removes listener that was registered for all factories.
+     *
+     * @param listener <code>ProxyGenerationListener</code> to remove.
+     */
+    public static void removeGlobalListener(ProxyGenerationListener listener) {
+        GLOBAL_LISTENERS.remove(listener);
+    }
+
+    /**
+     * Starts preparation of proxy classes for all received factories at background using default executor.
+     *
+     * @param proxyFactories <code>Collection</code> of <code>ProxyFactory</code> to prepare proxy classes for.
+     * @return <code>CompletableFuture</code> that is completed when all proxy classes are prepared.
+     * @see #prepareAll(Collection)
+     */
+    public static CompletableFuture<Void> warmUp(Collection<? extends ProxyFactory<?>> proxyFactories) {
+        return warmUp(proxyFactories, ExecutorUtil.defaultExecutor());
+    }
+
+    /**
+     * Starts preparation of proxy classes for all received factories at background using received executor.
+     *
+     * @param proxyFactories <code>Collection</code> of <code>ProxyFactory</code> to prepare proxy classes for.
+     * @param executor       <code>Executor</code> to prepare proxy classes at.
+     * @return <code>CompletableFuture</code> that is completed when all proxy classes are prepared.
+     * @see #prepareAll(Collection)
+     */
+    public static CompletableFuture<Void> warmUp(Collection<? extends ProxyFactory<?>> proxyFactories,
+            Executor executor) {
+        return CompletableFuture.runAsync(() -> prepareAll(proxyFactories), executor);
+    }
+
+    /**
+     * Registers listener that receives events about proxy creation phases of this factory.
+     *
+     * @param listener <code>ProxyGenerationListener</code> to register.
+     */
+    public void addListener(ProxyGenerationListener listener) {
+        listeners.add(listener);
     }
 
     /**
@@ -80,7 +338,96 @@ public final class ProxyFactory<T> {
      */
     @SuppressWarnings("java:S1452")
     public Constructor<? extends T> getConstructor(Class<?>... args) {
-        return getConstructor(getProxyClass(), args);
+        return getCachedConstructor(getProxyClass(), args.clone()).getConstructor();
+    }
+
+    /**
+     * Returns instantiator that creates instances of proxy or initial class if proxy generation failed by constructor
+     * that matches received parameter types. Instantiator calls picked constructor directly so it should be preferred
+     * over {@link #newInstance(Object...)} when a lot of instances are created by the same constructor.
+     *
+     * @param parameterTypes parameter types of constructor to use.
+     * @return <code>ProxyInstantiator</code> for constructor that matches received parameter types.
+     * @throws IllegalArgumentException if received parameter types doesn't match any public constructor of initial
+     *                                  class.
+     */
+    @SuppressWarnings("unchecked")
+    public ProxyInstantiator<T> getInstantiator(Class<?>... parameterTypes) {
+        // instantiator only produces instances of proxy class so it's safe to treat it as instantiator of target class
+        return (ProxyInstantiator<T>) getCachedConstructor(getProxyClass(), parameterTypes.clone()).getInstantiator();
+    }
+
+    /**
+     * Generates proxy class at background using default executor if it wasn't generated yet.
+     *
+     * @return <code>CompletableFuture</code> with generated proxy or initial class if proxy generation failed.
+     */
+    public CompletableFuture<Class<? extends T>> getProxyClassAsync() {
+        return getProxyClassAsync(ExecutorUtil.defaultExecutor());
+    }
+
+    /**
+     * Generates proxy class at background using received executor if it wasn't generated yet.
+     *
+     * @param executor <code>Executor</code> to generate proxy class at.
+     * @return <code>CompletableFuture</code> with generated proxy or initial class if proxy generation failed.
+     */
+    public CompletableFuture<Class<? extends T>> getProxyClassAsync(Executor executor) {
+        Class<? extends T> resolvedClass = findResolvedClass();
+        if (resolvedClass != null) {
+            return CompletableFuture.completedFuture(resolvedClass);
+        }
+        return CompletableFuture.supplyAsync(this::getProxyClass, executor);
+    }
+
+    /**
+     * Creates new instance of proxy or initial class if proxy generation failed using constructor without parameters.
+     * Doesn't allocate any intermediate objects once constructor was picked.
+     *
+     * @return instance of generated proxy or initial class if proxy generation failed.
+     * @throws IllegalArgumentException if initial class has no public constructor without parameters.
+     */
+    public T newInstance() {
+        return createFixedArityInstance(0, null, null, null);
+    }
+
+    /**
+     * Creates new instance of proxy or initial class if proxy generation failed using constructor with single
+     * parameter. Doesn't allocate any intermediate objects once constructor was picked for received argument type.
+     *
+     * @param arg argument to be passed to the constructor call.
+     * @return instance of generated proxy or initial class if proxy generation failed.
+     * @throws IllegalArgumentException if received argument doesn't match any public constructor of initial class.
+     */
+    public T newInstance(Object arg) {
+        return createFixedArityInstance(1, arg, null, null);
+    }
+
+    /**
+     * Creates new instance of proxy or initial class if proxy generation failed using constructor with two
+     * parameters. Doesn't allocate any intermediate objects once constructor was picked for received argument types.
+     *
+     * @param arg1 first argument to be passed to the constructor call.
+     * @param arg2 second argument to be passed to the constructor call.
+     * @return instance of generated proxy or initial class if proxy generation failed.
+     * @throws IllegalArgumentException if received arguments doesn't match any public constructor of initial class.
+     */
+    public T newInstance(Object arg1, Object arg2) {
+        return createFixedArityInstance(2, arg1, arg2, null);
+    }
+
+    /**
+     * Creates new instance of proxy or initial class if proxy generation failed using constructor with three
+     * parameters. Doesn't allocate any intermediate objects once constructor was picked for received argument types.
+     *
+     * @param arg1 first argument to be passed to the constructor call.
+     * @param arg2 second argument to be passed to the constructor call.
+     * @param arg3 third argument to be passed to the constructor call.
+     * @return instance of generated proxy or initial class if proxy generation failed.
+     * @throws IllegalArgumentException if received arguments doesn't match any public constructor of initial class.
+     */
+    public T newInstance(Object arg1, Object arg2, Object arg3) {
+        return createFixedArityInstance(3, arg1, arg2, arg3);
     }
 
     /**
@@ -91,25 +438,95 @@ public final class ProxyFactory<T> {
      * @throws IllegalArgumentException if received arguments doesn't match any public constructor of initial class.
      */
     public T newInstance(Object... args) {
-        Class<?>[] receivedParameterTypes = Arrays.stream(args).map(arg -> arg == null ? null : arg.getClass())
-                .toArray(Class<?>[]::new);
-        return createInstance(getProxyClass(), receivedParameterTypes, args);
+        return createInstance(getProxyClass(), getArgumentTypes(args), args);
     }
 
-    private static boolean isAlreadyCompiled(String name) {
-        return RESOLVED_CLASSES.containsKey(name);
+    /**
+     * Creates new instance of proxy or initial class if proxy generation failed. Proxy class is generated at
+     * background using default executor if it wasn't generated yet.
+     *
+     * @param args arguments to be passed as arguments to the constructor call.
+     * @return <code>CompletableFuture</code> with instance of generated proxy or initial class if proxy generation
+     * failed. Future is completed exceptionally with <code>IllegalArgumentException</code> if received arguments
+     * doesn't match any public constructor of initial class.
+     */
+    public CompletableFuture<T> newInstanceAsync(Object... args) {
+        return newInstanceAsyncOn(ExecutorUtil.defaultExecutor(), args);
     }
 
-    @SuppressWarnings("unchecked")
-    private Class<? extends T> compileClass(String proxyClassName, String proxyClassContent) {
-        return (Class<? extends T>) Optional.ofNullable(JavaSourceCompiler.compile(proxyClassName, proxyClassContent))
-                .map(compiledByteFileObject -> JavaByteClassLoader.instance()
-                        .defineClass(proxyClassName, compiledByteFileObject)).orElse(null);
+    /**
+     * Creates new instance of proxy or initial class if proxy generation failed. Proxy class is generated at
+     * background using received executor if it wasn't generated yet. Instance is created at the same executor.
+     *
+     * @param executor <code>Executor</code> to generate proxy class and create instance at.
+     * @param args     arguments to be passed as arguments to the constructor call.
+     * @return <code>CompletableFuture</code> with instance of generated proxy or initial class if proxy generation
+     * failed. Future is completed exceptionally with <code>IllegalArgumentException</code> if received arguments
+     * doesn't match any public constructor of initial class.
+     */
+    public CompletableFuture<T> newInstanceAsyncOn(Executor executor, Object... args) {
+        Class<?>[] receivedParameterTypes = getArgumentTypes(args);
+        return getProxyClassAsync(executor)
+                .thenApplyAsync(proxyClass -> createInstance(proxyClass, receivedParameterTypes, args), executor);
+    }
+
+    /**
+     * Removes listener that was registered for this factory.
+     *
+     * @param listener <code>ProxyGenerationListener</code> to remove.
+     */
+    public void removeListener(ProxyGenerationListener listener) {
+        listeners.remove(listener);
+    }
+
+    private static Class<?> getArgumentType(Object arg) {
+        return arg == null ? null : arg.getClass();
+    }
+
+    private static Class<?>[] getArgumentTypes(Object[] args) {
+        Class<?>[] argumentTypes = new Class<?>[args.length];
+        for (int i = 0; i < args.length; ++i) {
+            argumentTypes[i] = getArgumentType(args[i]);
+        }
+        return argumentTypes;
+    }
+
+    private static int getBytecodeSize(JavaByteFileObject byteFileObject) {
+        return byteFileObject.getBytes().length;
+    }
+
+    private static JavaByteClassLoader getNamespaceClassLoader(Class<?> clazz, String proxyClassFingerprint) {
+        return JavaByteClassLoader.forClassLoader(clazz.getClassLoader()).forFingerprint(proxyClassFingerprint);
+    }
+
+    private Class<? extends T> compileClass(String proxyClassName) {
+        if (!(proxyClassCompiler instanceof SourceProxyClassCompiler)) {
+            JavaByteFileObject compiledByteFileObject = measurePhase(ProxyGenerationPhase.COMPILATION,
+                    () -> proxyClassCompiler.compile(proxyClassName, proxyClassSchema),
+                    byteFileObject -> ProxyGenerationEvent.UNKNOWN_SIZE, ProxyFactory::getBytecodeSize);
+            return defineClass(proxyClassName, compiledByteFileObject);
+        }
+        SourceProxyClassCompiler sourceCompiler = (SourceProxyClassCompiler) proxyClassCompiler;
+        CharSequence proxyClassContent = generateSource(sourceCompiler);
+        JavaByteFileObject cachedByteFileObject = sourceCompiler
+                .findCachedClass(proxyClassName, proxyClassSchema, proxyClassContent);
+        if (cachedByteFileObject != null) {
+            return defineCachedClass(proxyClassName, sourceCompiler, proxyClassContent, cachedByteFileObject);
+        }
+        return compileSource(proxyClassName, sourceCompiler, proxyClassContent);
+    }
+
+    private Class<? extends T> compileSource(String proxyClassName, SourceProxyClassCompiler sourceCompiler,
+            CharSequence proxyClassContent) {
+        JavaByteFileObject compiledByteFileObject = measurePhase(ProxyGenerationPhase.COMPILATION,
+                () -> sourceCompiler.compileAndStore(proxyClassName, proxyClassSchema, proxyClassContent),
+                byteFileObject -> proxyClassContent.length(), ProxyFactory::getBytecodeSize);
+        return defineClass(proxyClassName, compiledByteFileObject);
     }
 
     private T createInstance(Class<? extends T> clazzToCreate, Class<?>[] receivedParameterTypes, Object[] args) {
         try {
-            return getConstructor(clazzToCreate, receivedParameterTypes).newInstance(args);
+            return getCachedConstructor(clazzToCreate, receivedParameterTypes).newInstance(args);
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
             log.warn(String.format("Failed to create '%s' instance by constructor with %s args.",
                     clazzToCreate.getName(), Arrays.asList(receivedParameterTypes)), ex);
@@ -117,22 +534,165 @@ public final class ProxyFactory<T> {
         }
     }
 
+    private T createFixedArityInstance(int argsCount, Object arg1, Object arg2, Object arg3) {
+        CachedConstructor<? extends T> cachedConstructor = recentConstructors.get(argsCount);
+        if (cachedConstructor == null || !cachedConstructor.isMatchingArguments(arg1, arg2, arg3)) {
+            Class<?>[] argumentTypes = { getArgumentType(arg1), getArgumentType(arg2), getArgumentType(arg3) };
+            cachedConstructor = getCachedConstructor(getProxyClass(), Arrays.copyOf(argumentTypes, argsCount));
+            recentConstructors.set(argsCount, cachedConstructor);
+        }
+        try {
+            return cachedConstructor.newInstance(arg1, arg2, arg3);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            log.warn(String.format("Failed to create '%s' instance by constructor with %d args.",
+                    cachedConstructor.getConstructor().getDeclaringClass().getName(), argsCount), ex);
+            return null;
+        }
+    }
+
+    private Class<? extends T> defineCachedClass(String proxyClassName, SourceProxyClassCompiler sourceCompiler,
+            CharSequence proxyClassContent, JavaByteFileObject cachedByteFileObject) {
+        try {
+            return defineClass(proxyClassName, cachedByteFileObject);
+        } catch (LinkageError | IllegalArgumentException ex) {
+            // cached entry is validated only by magic number so truncated or stale entry is replaced by compiled one
+            log.warn(String.format("Failed to define '%s' class from cached byte code, recompiling it.",
+                    proxyClassName), ex);
+            sourceCompiler.evictCachedClass(proxyClassSchema, proxyClassContent);
+            return compileSource(proxyClassName, sourceCompiler, proxyClassContent);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends T> defineClass(String proxyClassName, JavaByteFileObject compiledByteFileObject) {
+        if (compiledByteFileObject == null) {
+            return clazz;
+        }
+        int bytecodeSize = getBytecodeSize(compiledByteFileObject);
+        // fingerprint is stored at proxy class so class found by name is checked to be produced by the same compiler
+        byte[] bytes = FingerprintUtil.addFingerprint(compiledByteFileObject.getBytes(), proxyClassFingerprint);
+        ProxyFlightEvent flightEvent = ProxyFlightRecorder.begin(ProxyGenerationPhase.DEFINITION);
+        Class<? extends T> compiledClass = null;
+        try {
+            // classes of evicting caches are isolated so evicted class isn't kept by namespace loader of other classes
+            compiledClass = (Class<? extends T>) measurePhase(ProxyGenerationPhase.DEFINITION,
+                    () -> proxyClassCache.isEvicting()
+                            ? proxyClassDefiner.defineIsolated(clazz, proxyClassName, proxyClassFingerprint, bytes)
+                            : proxyClassDefiner.define(clazz, proxyClassName, proxyClassFingerprint, bytes),
+                    definedClass -> ProxyGenerationEvent.UNKNOWN_SIZE, definedClass -> bytecodeSize);
+        } finally {
+            flightEvent.commit(clazz, proxyClassName, ProxyGenerationEvent.UNKNOWN_SIZE, bytecodeSize, 0,
+                    compiledClass != null);
+        }
+        if (compiledClass == null) {
+            return clazz;
+        }
+        ProxyClassArchive archive = recordingArchive;
+        if (archive != null) {
+            archive.record(proxyClassName, bytes);
+        }
+        return compiledClass;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends T> findCachedClass() {
+        Class<?> cachedClass = proxyClassCache.get(proxyClassName);
+        // cache may be shared between factories so class with the same name may belong to another target class or
+        // compiler, target class itself is cached if proxy class cannot be compiled
+        return cachedClass != null && (clazz.equals(cachedClass) || isProxyClassOfThisFactory(cachedClass))
+                ? (Class<? extends T>) cachedClass : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends T> findDefinedClass(String proxyClassName) {
+        Class<?> definedClass = proxyClassDefiner.findDefined(clazz, proxyClassName, proxyClassFingerprint);
+        if (definedClass != null && isProxyClassOfThisFactory(definedClass)) {
+            log.debug("Reusing already defined '{}' class.", proxyClassName);
+            return (Class<? extends T>) definedClass;
+        }
+        return null;
+    }
+
+    private void firePhaseEvent(ProxyGenerationPhase phase, long duration, int sourceLength, int bytecodeSize,
+            boolean successful, Throwable failure) {
+        if (!hasListeners()) {
+            return;
+        }
+        ProxyGenerationEvent event = new ProxyGenerationEvent(phase, clazz, proxyClassName, duration, sourceLength,
+                bytecodeSize, successful, failure);
+        notifyListeners(GLOBAL_LISTENERS, event);
+        notifyListeners(listeners, event);
+    }
+
+    private Class<? extends T> findResolvedClass() {
+        Class<? extends T> resolvedClass = proxyClass;
+        if (resolvedClass == null) {
+            resolvedClass = findCachedClass();
+            proxyClass = resolvedClass;
+        }
+        return resolvedClass;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends T> findPregeneratedClass(String proxyClassName) {
+        Class<?> pregeneratedClass = classLoader.findPregeneratedClass(proxyClassName);
+        if (pregeneratedClass == null) {
+            log.debug("There is no pre-generated '{}' class.", proxyClassName);
+            return null;
+        }
+        if (clazz.equals(pregeneratedClass) || !clazz.isAssignableFrom(pregeneratedClass)) {
+            log.warn("Pre-generated '{}' class doesn't extend '{}' class.", proxyClassName, clazz.getName());
+            return null;
+        }
+        if (!proxyClassFingerprint.equals(FingerprintUtil.getFingerprint(pregeneratedClass))) {
+            log.warn("Pre-generated '{}' class has no fingerprint of '{}' or was generated by other compiler.",
+                    proxyClassName, proxyClassFingerprint);
+            return null;
+        }
+        log.debug("Found pre-generated '{}' class.", proxyClassName);
+        return (Class<? extends T>) pregeneratedClass;
+    }
+
+    private CharSequence generateSource(SourceProxyClassCompiler sourceCompiler) {
+        return measurePhase(ProxyGenerationPhase.SOURCE_GENERATION,
+                () -> sourceCompiler.generateSource(proxyClassSchema), CharSequence::length,
+                proxyClassContent -> ProxyGenerationEvent.UNKNOWN_SIZE);
+    }
+
+    private CachedConstructor<? extends T> getCachedConstructor(Class<? extends T> clazzToCreate,
+            Class<?>[] receivedParameterTypes) {
+        return constructorCache.computeIfAbsent(new ConstructorSignature(clazzToCreate, receivedParameterTypes),
+                signature -> new CachedConstructor<>(measurePhase(ProxyGenerationPhase.CONSTRUCTOR_RESOLUTION,
+                        () -> getConstructor(clazzToCreate, receivedParameterTypes),
+                        constructor -> ProxyGenerationEvent.UNKNOWN_SIZE,
+                        constructor -> ProxyGenerationEvent.UNKNOWN_SIZE), receivedParameterTypes));
+    }
+
     @SuppressWarnings("unchecked")
     private Constructor<? extends T> getConstructor(Class<? extends T> clazzToCreate,
             Class<?>[] receivedParameterTypes) {
         log.debug("Picking '{}' constructor for {} parameters.", clazzToCreate.getName(),
                 Arrays.asList(receivedParameterTypes));
         Constructor<?> firstFoundCandidate = null;
+        Constructor<?> wrapperMatchingCandidate = null;
         for (Constructor<?> constructor : clazzToCreate.getConstructors()) {
             List<TypeMeta<?>> typeMetas = executableTypeResolver.getParameterTypes(clazzToCreate, constructor);
             if (isExactMatchingParameters(typeMetas, receivedParameterTypes)) {
                 logExactMatchingConstructor(typeMetas);
                 return (Constructor<? extends T>) constructor;
             }
+            // constructor that differs only by primitive and wrapper types is preferred to other matching ones
+            if (wrapperMatchingCandidate == null && isWrapperMatchingParameters(typeMetas, receivedParameterTypes)) {
+                wrapperMatchingCandidate = constructor;
+            }
             if (firstFoundCandidate == null && isMatchingParameters(typeMetas, receivedParameterTypes)) {
                 firstFoundCandidate = constructor;
             }
         }
+        if (wrapperMatchingCandidate != null) {
+            logPickedMatchingConstructor(wrapperMatchingCandidate);
+            return (Constructor<? extends T>) wrapperMatchingCandidate;
+        }
         if (firstFoundCandidate != null) {
             logPickedMatchingConstructor(firstFoundCandidate);
             return (Constructor<? extends T>) firstFoundCandidate;
@@ -143,18 +703,16 @@ public final class ProxyFactory<T> {
 
     @SuppressWarnings("unchecked")
     private Class<? extends T> getProxyClass() {
-        if (Modifier.isFinal(clazz.getModifiers())) {
-            log.warn("'{}' class is final.", clazz.getName());
-            return clazz;
+        Class<? extends T> resolvedClass = findResolvedClass();
+        if (resolvedClass == null) {
+            resolvedClass = resolveOnce(() -> resolveProxyClass(proxyClassName));
+            proxyClass = resolvedClass;
         }
-        String proxyClassName = String.format("%s.%s", proxyClassSchema.getPackage(), proxyClassSchema.getName());
-        if (!isAlreadyCompiled(proxyClassName)) {
-            String proxyClassContent = proxyContentGenerator.generate(proxyClassSchema);
-            Class<? extends T> compiledClass = compileClass(proxyClassName, proxyClassContent);
-            Class<? extends T> resultedClass = compiledClass != null ? compiledClass : clazz;
-            RESOLVED_CLASSES.put(proxyClassName, resultedClass);
-        }
-        return (Class<? extends T>) RESOLVED_CLASSES.get(proxyClassName);
+        return resolvedClass;
+    }
+
+    private boolean hasListeners() {
+        return !GLOBAL_LISTENERS.isEmpty() || !listeners.isEmpty();
     }
 
     private boolean isAllMatchCondition(List<TypeMeta<?>> typeMetas, Class<?>[] receivedParameterTypes,
@@ -175,10 +733,26 @@ public final class ProxyFactory<T> {
                 (typeMeta, parameterType) -> !typeMeta.getType().equals(parameterType));
     }
 
+    private boolean isFinalClass() {
+        return Modifier.isFinal(clazz.getModifiers());
+    }
+
     private boolean isMatchingParameters(List<TypeMeta<?>> typeMetas, Class<?>[] receivedParameterTypes) {
         return isAllMatchCondition(typeMetas, receivedParameterTypes,
-                (typeMeta, parameterType) -> parameterType != null && !typeMeta.getType()
-                        .isAssignableFrom(parameterType));
+                (typeMeta, parameterType) -> parameterType == null ? typeMeta.getType().isPrimitive()
+                        : !ClassMemberUtil.getWrapperType(typeMeta.getType())
+                                .isAssignableFrom(ClassMemberUtil.getWrapperType(parameterType)));
+    }
+
+    private boolean isProxyClassOfThisFactory(Class<?> proxyClass) {
+        return !clazz.equals(proxyClass) && clazz.isAssignableFrom(proxyClass) && proxyClassFingerprint
+                .equals(FingerprintUtil.getFingerprint(proxyClass));
+    }
+
+    private boolean isWrapperMatchingParameters(List<TypeMeta<?>> typeMetas, Class<?>[] receivedParameterTypes) {
+        return isAllMatchCondition(typeMetas, receivedParameterTypes,
+                (typeMeta, parameterType) -> parameterType == null || !ClassMemberUtil
+                        .getWrapperType(typeMeta.getType()).equals(ClassMemberUtil.getWrapperType(parameterType)));
     }
 
     private void logExactMatchingConstructor(List<TypeMeta<?>> typeMetas) {
@@ -196,4 +770,275 @@ public final class ProxyFactory<T> {
             return String.format("Picked constructor with [%s] parameters.", parameterTypes);
         });
     }
+
+    private <R> R measurePhase(ProxyGenerationPhase phase, Supplier<R> action, ToIntFunction<R> sourceLength,
+            ToIntFunction<R> bytecodeSize) {
+        if (!hasListeners()) {
+            return action.get();
+        }
+        long startTime = System.nanoTime();
+        R result;
+        try {
+            result = action.get();
+        } catch (RuntimeException | Error ex) {
+            firePhaseEvent(phase, System.nanoTime() - startTime, ProxyGenerationEvent.UNKNOWN_SIZE,
+                    ProxyGenerationEvent.UNKNOWN_SIZE, false, ex);
+            throw ex;
+        }
+        long duration = System.nanoTime() - startTime;
+        if (result == null) {
+            firePhaseEvent(phase, duration, ProxyGenerationEvent.UNKNOWN_SIZE, ProxyGenerationEvent.UNKNOWN_SIZE,
+                    false, null);
+        } else {
+            firePhaseEvent(phase, duration, sourceLength.applyAsInt(result), bytecodeSize.applyAsInt(result), true,
+                    null);
+        }
+        return result;
+    }
+
+    private void notifyListeners(List<ProxyGenerationListener> listenersToNotify, ProxyGenerationEvent event) {
+        for (ProxyGenerationListener listener : listenersToNotify) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException ex) {
+                log.warn(String.format("Listener failed to handle '%s' event for '%s' class.", event.getPhase(),
+                        proxyClassName), ex);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends T> resolveOnce(Supplier<Class<?>> classResolver) {
+        return (Class<? extends T>) classLoader.resolveOnce(proxyClassName, () -> {
+            // class may be resolved by another thread after cache was checked
+            Class<? extends T> resolvedClass = findCachedClass();
+            if (resolvedClass == null) {
+                long loadStartTime = System.nanoTime();
+                resolvedClass = (Class<? extends T>) classResolver.get();
+                proxyClassCache.put(proxyClassName, resolvedClass, System.nanoTime() - loadStartTime);
+            }
+            return resolvedClass;
+        });
+    }
+
+    private Class<? extends T> resolveProxyClass(String proxyClassName) {
+        Class<? extends T> pregeneratedClass = findPregeneratedClass(proxyClassName);
+        if (pregeneratedClass != null) {
+            return pregeneratedClass;
+        }
+        // class may be evicted from cache but still be defined at class loader
+        Class<? extends T> definedClass = findDefinedClass(proxyClassName);
+        return definedClass != null ? definedClass : compileClass(proxyClassName);
+    }
+
+    /**
+     * Constructor picked for specific argument types with method handles that receive constructor arguments as
+     * separate <code>Object</code> parameters or as single arguments array.
+     *
+     * @param <T> type of class to create.
+     */
+    private static final class CachedConstructor<T> {
+
+        private static final MethodHandle INVOCATION_TARGET_THROWER = findInvocationTargetThrower();
+
+        private final Constructor<T> constructor;
+        private volatile ProxyInstantiator<T> instantiator;
+        private final MethodHandle methodHandle;
+        private final Class<?>[] receivedParameterTypes;
+        private final MethodHandle spreadMethodHandle;
+
+        CachedConstructor(Constructor<T> constructor, Class<?>[] receivedParameterTypes) {
+            this.constructor = constructor;
+            this.receivedParameterTypes = receivedParameterTypes;
+            this.methodHandle = toGenericMethodHandle(constructor);
+            this.spreadMethodHandle = methodHandle == null ? null
+                    : methodHandle.asSpreader(Object[].class, constructor.getParameterCount());
+        }
+
+        Constructor<T> getConstructor() {
+            return constructor;
+        }
+
+        ProxyInstantiator<T> getInstantiator() {
+            ProxyInstantiator<T> currentInstantiator = instantiator;
+            if (currentInstantiator == null) {
+                currentInstantiator = createInstantiator();
+                instantiator = currentInstantiator;
+            }
+            return currentInstantiator;
+        }
+
+        boolean isMatchingArguments(Object arg1, Object arg2, Object arg3) {
+            int count = receivedParameterTypes.length;
+            return (count < 1 || receivedParameterTypes[0] == getArgumentType(arg1)) && (count < 2
+                    || receivedParameterTypes[1] == getArgumentType(arg2)) && (count < 3
+                    || receivedParameterTypes[2] == getArgumentType(arg3));
+        }
+
+        @SuppressWarnings("unchecked")
+        T newInstance(Object[] args)
+                throws InstantiationException, IllegalAccessException, InvocationTargetException {
+            if (spreadMethodHandle == null) {
+                return constructor.newInstance(args);
+            }
+            try {
+                return (T) (Object) spreadMethodHandle.invokeExact(args);
+            } catch (InvocationTargetException itEx) {
+                throw itEx;
+            } catch (Throwable throwable) {
+                throw toArgumentMismatchException(throwable);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        T newInstance(Object arg1, Object arg2, Object arg3)
+                throws InstantiationException, IllegalAccessException, InvocationTargetException {
+            int count = receivedParameterTypes.length;
+            if (methodHandle == null) {
+                return constructor.newInstance(Arrays.copyOf(new Object[]{ arg1, arg2, arg3 }, count));
+            }
+            try {
+                // exact invocation requires call site type to match generic method type of the same arity
+                if (count == 0) {
+                    return (T) (Object) methodHandle.invokeExact();
+                }
+                if (count == 1) {
+                    return (T) (Object) methodHandle.invokeExact(arg1);
+                }
+                if (count == 2) {
+                    return (T) (Object) methodHandle.invokeExact(arg1, arg2);
+                }
+                return (T) (Object) methodHandle.invokeExact(arg1, arg2, arg3);
+            } catch (InvocationTargetException itEx) {
+                throw itEx;
+            } catch (Throwable throwable) {
+                throw toArgumentMismatchException(throwable);
+            }
+        }
+
+        private static MethodHandle findInvocationTargetThrower() {
+            try {
+                return MethodHandles.lookup().findStatic(CachedConstructor.class, "throwInvocationTargetException",
+                        MethodType.methodType(Object.class, Throwable.class));
+            } catch (NoSuchMethodException | IllegalAccessException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        private static boolean isAccessibleForInstantiator(JavaByteClassLoader classLoader, Class<?> type) {
+            if (type.isArray()) {
+                return isAccessibleForInstantiator(classLoader, type.getComponentType());
+            }
+            if (type.isPrimitive()) {
+                return true;
+            }
+            if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+            try {
+                return type.equals(Class.forName(type.getName(), false, classLoader));
+            } catch (ClassNotFoundException cnfEx) {
+                return false;
+            }
+        }
+
+        private static Object throwInvocationTargetException(Throwable throwable) throws InvocationTargetException {
+            throw new InvocationTargetException(throwable);
+        }
+
+        private static RuntimeException toArgumentMismatchException(Throwable throwable) {
+            if (throwable instanceof Error) {
+                throw (Error) throwable;
+            }
+            // exceptions thrown by constructor are wrapped by method handle so others come from arguments conversion
+            return new IllegalArgumentException("Received arguments don't match constructor parameter types.",
+                    throwable);
+        }
+
+        private static MethodHandle toGenericMethodHandle(Constructor<?> constructor) {
+            try {
+                MethodHandle constructorHandle = MethodHandles.publicLookup().unreflectConstructor(constructor)
+                        .asFixedArity();
+                MethodHandle exceptionHandler = INVOCATION_TARGET_THROWER
+                        .asType(MethodType.methodType(constructor.getDeclaringClass(), Throwable.class));
+                return MethodHandles.catchException(constructorHandle, Throwable.class, exceptionHandler)
+                        .asType(MethodType.genericMethodType(constructor.getParameterCount()));
+            } catch (IllegalAccessException iaEx) {
+                log.debug("Failed to get method handle for '{}' constructor, reflection is used instead.",
+                        constructor.getDeclaringClass().getName());
+                return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private ProxyInstantiator<T> createInstantiator() {
+            Class<T> declaringClass = constructor.getDeclaringClass();
+            JavaByteClassLoader classLoader = JavaByteClassLoader.forClassLoader(declaringClass.getClassLoader());
+            if (isAccessibleForInstantiator(classLoader, ProxyInstantiator.class) && isAccessibleForInstantiator(
+                    classLoader, declaringClass) && Arrays.stream(constructor.getParameterTypes())
+                    .allMatch(type -> isAccessibleForInstantiator(classLoader, type))) {
+                String name = declaringClass.getName() + "Instantiator" + INSTANTIATOR_COUNTER.incrementAndGet();
+                try {
+                    return (ProxyInstantiator<T>) classLoader
+                            .defineClass(name, INSTANTIATOR_COMPILER.compile(name, constructor)).getConstructor()
+                            .newInstance();
+                } catch (ReflectiveOperationException | LinkageError | SecurityException ex) {
+                    log.warn(String.format("Failed to generate instantiator for '%s' class.", declaringClass.getName()),
+                            ex);
+                }
+            }
+            log.debug("Using reflective instantiator for '{}' class.", declaringClass.getName());
+            return this::createReflectively;
+        }
+
+        private T createReflectively(Object... args) {
+            try {
+                return newInstance(args);
+            } catch (InvocationTargetException itEx) {
+                Throwable cause = itEx.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            } catch (InstantiationException | IllegalAccessException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    /**
+     * Key of cached constructor that consists of class to create and received argument types.
+     */
+    private static final class ConstructorSignature {
+
+        private final Class<?> clazz;
+        private final int hashCode;
+        private final Class<?>[] parameterTypes;
+
+        ConstructorSignature(Class<?> clazz, Class<?>[] parameterTypes) {
+            this.clazz = clazz;
+            this.parameterTypes = parameterTypes;
+            this.hashCode = 31 * clazz.hashCode() + Arrays.hashCode(parameterTypes);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ConstructorSignature)) {
+                return false;
+            }
+            ConstructorSignature other = (ConstructorSignature) obj;
+            return clazz.equals(other.clazz) && Arrays.equals(parameterTypes, other.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
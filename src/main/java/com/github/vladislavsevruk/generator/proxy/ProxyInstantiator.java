@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates instances of proxy class by single picked constructor. Generated implementations call constructor directly
+ * so neither reflection nor access checks are involved in instance creation.
+ *
+ * @param <T> type of target class.
+ */
+@FunctionalInterface
+public interface ProxyInstantiator<T> {
+
+    /**
+     * Creates new instance using received arguments.
+     *
+     * @param args arguments to be passed to the constructor call.
+     * @return new instance of proxy or initial class if proxy generation failed.
+     */
+    T create(Object... args);
+
+    /**
+     * Creates several new instances using the same received arguments.
+     *
+     * @param count number of instances to create.
+     * @param args  arguments to be passed to each constructor call.
+     * @return <code>List</code> with new instances of proxy or initial class if proxy generation failed.
+     */
+    default List<T> createMany(int count, Object... args) {
+        List<T> instances = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            instances.add(create(args));
+        }
+        return instances;
+    }
+}
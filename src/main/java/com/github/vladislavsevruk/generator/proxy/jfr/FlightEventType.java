@@ -0,0 +1,191 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.jfr;
+
+import com.github.vladislavsevruk.generator.proxy.listener.ProxyGenerationPhase;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.FlightEventBytecodeCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.loader.JavaByteClassLoader;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Generated Flight Recorder event class of single proxy creation phase with method handles for its usage. Method
+ * handles are used to keep compatibility with JVMs without <code>jdk.jfr</code> API.
+ */
+@Log4j2
+final class FlightEventType {
+
+    private static final String BYTECODE_SIZE_FIELD = "bytecodeSize";
+    private static final String DIAGNOSTIC_COUNT_FIELD = "diagnosticCount";
+    private static final String EVENT_CLASS_NAME_PREFIX = "com.github.vladislavsevruk.generator.proxy.jfr.Proxy";
+    private static final Map<String, Class<?>> EVENT_FIELDS = new LinkedHashMap<>();
+    private static final String PROXY_CLASS_NAME_FIELD = "proxyClassName";
+    private static final MethodHandle RECORDER_INITIALIZED_METHOD = findRecorderInitializedMethod();
+    private static final String SOURCE_LENGTH_FIELD = "sourceLength";
+    private static final String SUCCESSFUL_FIELD = "successful";
+    private static final String TARGET_CLASS_FIELD = "targetClass";
+
+    static {
+        EVENT_FIELDS.put(TARGET_CLASS_FIELD, Class.class);
+        EVENT_FIELDS.put(PROXY_CLASS_NAME_FIELD, String.class);
+        EVENT_FIELDS.put(SOURCE_LENGTH_FIELD, int.class);
+        EVENT_FIELDS.put(BYTECODE_SIZE_FIELD, int.class);
+        EVENT_FIELDS.put(DIAGNOSTIC_COUNT_FIELD, int.class);
+        EVENT_FIELDS.put(SUCCESSFUL_FIELD, boolean.class);
+    }
+
+    private final MethodHandle beginMethod;
+    private final MethodHandle bytecodeSizeSetter;
+    private final MethodHandle commitMethod;
+    private final MethodHandle constructor;
+    private final MethodHandle diagnosticCountSetter;
+    private final MethodHandle enabledMethod;
+    private final MethodHandle proxyClassNameSetter;
+    private final MethodHandle shouldCommitMethod;
+    private final MethodHandle sourceLengthSetter;
+    private final MethodHandle successfulSetter;
+    private final MethodHandle targetClassSetter;
+
+    private FlightEventType(Class<?> eventClass) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+        // event type is registered at Flight Recorder when it's requested first time
+        Object eventType = eventTypeClass.getMethod("getEventType", Class.class).invoke(null, eventClass);
+        this.enabledMethod = lookup.findVirtual(eventTypeClass, "isEnabled", MethodType.methodType(boolean.class))
+                .bindTo(eventType);
+        this.constructor = lookup.findConstructor(eventClass, MethodType.methodType(void.class))
+                .asType(MethodType.methodType(Object.class));
+        this.beginMethod = findEventMethod(lookup, eventClass, "begin", void.class);
+        this.commitMethod = findEventMethod(lookup, eventClass, "commit", void.class);
+        this.shouldCommitMethod = findEventMethod(lookup, eventClass, "shouldCommit", boolean.class);
+        this.targetClassSetter = findSetter(lookup, eventClass, TARGET_CLASS_FIELD);
+        this.proxyClassNameSetter = findSetter(lookup, eventClass, PROXY_CLASS_NAME_FIELD);
+        this.sourceLengthSetter = findSetter(lookup, eventClass, SOURCE_LENGTH_FIELD);
+        this.bytecodeSizeSetter = findSetter(lookup, eventClass, BYTECODE_SIZE_FIELD);
+        this.diagnosticCountSetter = findSetter(lookup, eventClass, DIAGNOSTIC_COUNT_FIELD);
+        this.successfulSetter = findSetter(lookup, eventClass, SUCCESSFUL_FIELD);
+    }
+
+    static FlightEventType create(ProxyGenerationPhase phase) throws ReflectiveOperationException {
+        String eventClassName = EVENT_CLASS_NAME_PREFIX + toCamelCase(phase) + "Event";
+        byte[] bytes = new FlightEventBytecodeCompiler().compile(eventClassName, EVENT_FIELDS).getBytes();
+        return new FlightEventType(JavaByteClassLoader.instance().defineClass(eventClassName, bytes));
+    }
+
+    static boolean isFlightRecorderAvailable() {
+        try {
+            return (boolean) Class.forName("jdk.jfr.FlightRecorder").getMethod("isAvailable").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    static boolean isFlightRecorderInitialized() {
+        if (RECORDER_INITIALIZED_METHOD == null) {
+            return false;
+        }
+        try {
+            return (boolean) RECORDER_INITIALIZED_METHOD.invokeExact();
+        } catch (Throwable th) {
+            return false;
+        }
+    }
+
+    ProxyFlightEvent begin() {
+        try {
+            Object event = (Object) constructor.invokeExact();
+            beginMethod.invokeExact(event);
+            return new ProxyFlightEvent(this, event);
+        } catch (Throwable th) {
+            log.debug("Failed to begin Flight Recorder event.", th);
+            return ProxyFlightEvent.DISABLED;
+        }
+    }
+
+    void commit(Object event, Class<?> targetClass, String proxyClassName, int sourceLength, int bytecodeSize,
+            int diagnosticCount, boolean successful) {
+        try {
+            if (!(boolean) shouldCommitMethod.invokeExact(event)) {
+                return;
+            }
+            targetClassSetter.invokeExact(event, (Object) targetClass);
+            proxyClassNameSetter.invokeExact(event, (Object) proxyClassName);
+            sourceLengthSetter.invokeExact(event, sourceLength);
+            bytecodeSizeSetter.invokeExact(event, bytecodeSize);
+            diagnosticCountSetter.invokeExact(event, diagnosticCount);
+            successfulSetter.invokeExact(event, successful);
+            commitMethod.invokeExact(event);
+        } catch (Throwable th) {
+            log.debug("Failed to commit Flight Recorder event.", th);
+        }
+    }
+
+    boolean isEnabled() {
+        try {
+            return (boolean) enabledMethod.invokeExact();
+        } catch (Throwable th) {
+            return false;
+        }
+    }
+
+    private static MethodHandle findEventMethod(MethodHandles.Lookup lookup, Class<?> eventClass, String name,
+            Class<?> returnType) throws ReflectiveOperationException {
+        return lookup.findVirtual(eventClass, name, MethodType.methodType(returnType))
+                .asType(MethodType.methodType(returnType, Object.class));
+    }
+
+    private static MethodHandle findRecorderInitializedMethod() {
+        try {
+            // unlike availability check initialization check only reads flag and doesn't initialize Flight Recorder
+            return MethodHandles.publicLookup().findStatic(Class.forName("jdk.jfr.FlightRecorder"), "isInitialized",
+                    MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            log.debug("Flight Recorder API is not available at current JVM.");
+            return null;
+        }
+    }
+
+    private static MethodHandle findSetter(MethodHandles.Lookup lookup, Class<?> eventClass, String name)
+            throws ReflectiveOperationException {
+        Class<?> fieldType = EVENT_FIELDS.get(name);
+        // reference fields are set as objects to use single method handle type for them
+        Class<?> setterType = fieldType.isPrimitive() ? fieldType : Object.class;
+        return lookup.findSetter(eventClass, name, fieldType)
+                .asType(MethodType.methodType(void.class, Object.class, setterType));
+    }
+
+    private static String toCamelCase(ProxyGenerationPhase phase) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (String word : phase.name().split("_")) {
+            stringBuilder.append(word.charAt(0)).append(word.substring(1).toLowerCase(Locale.ENGLISH));
+        }
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.jfr;
+
+/**
+ * Flight Recorder event of single proxy creation phase that was started by {@link ProxyFlightRecorder}. Thread and
+ * stack trace of event are recorded by Flight Recorder itself. Disabled events ignore all calls.
+ */
+public final class ProxyFlightEvent {
+
+    static final ProxyFlightEvent DISABLED = new ProxyFlightEvent(null, null);
+
+    private final Object event;
+    private final FlightEventType eventType;
+
+    ProxyFlightEvent(FlightEventType eventType, Object event) {
+        this.eventType = eventType;
+        this.event = event;
+    }
+
+    /**
+     * Ends event and commits it to Flight Recorder with received values if event duration exceeds configured
+     * threshold.
+     *
+     * @param targetClass     <code>Class</code> that is proxied or <code>null</code> if phase handles several
+     *                        classes.
+     * @param proxyClassName  <code>String</code> with binary names of proxy classes.
+     * @param sourceLength    length of proxy source code.
+     * @param bytecodeSize    size of proxy byte code.
+     * @param diagnosticCount number of diagnostics reported by compiler.
+     * @param successful      <code>true</code> if phase succeeded.
+     */
+    public void commit(Class<?> targetClass, String proxyClassName, int sourceLength, int bytecodeSize,
+            int diagnosticCount, boolean successful) {
+        if (eventType != null) {
+            eventType.commit(event, targetClass, proxyClassName, sourceLength, bytecodeSize, diagnosticCount,
+                    successful);
+        }
+    }
+}
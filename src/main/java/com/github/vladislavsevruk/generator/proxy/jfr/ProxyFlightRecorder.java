@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.jfr;
+
+import com.github.vladislavsevruk.generator.proxy.listener.ProxyGenerationPhase;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Emits JDK Flight Recorder events for proxy creation phases. Events are disabled and don't touch Flight Recorder API
+ * beyond initialization check until Flight Recorder is initialized, e.g. by starting recording, as registration of
+ * event types initializes Flight Recorder itself. Event classes are generated and registered once it's initialized.
+ * When there is no running recording that enables them events are disabled as well and don't allocate anything.
+ */
+@Log4j2
+public final class ProxyFlightRecorder {
+
+    private static volatile Map<ProxyGenerationPhase, FlightEventType> eventTypes;
+
+    private ProxyFlightRecorder() {
+    }
+
+    /**
+     * Starts Flight Recorder event for received proxy creation phase.
+     *
+     * @param phase <code>ProxyGenerationPhase</code> to start event for.
+     * @return started <code>ProxyFlightEvent</code> or disabled event if phase isn't recorded now.
+     */
+    public static ProxyFlightEvent begin(ProxyGenerationPhase phase) {
+        Map<ProxyGenerationPhase, FlightEventType> registeredEventTypes = eventTypes;
+        if (registeredEventTypes == null) {
+            if (!FlightEventType.isFlightRecorderInitialized()) {
+                return ProxyFlightEvent.DISABLED;
+            }
+            registeredEventTypes = registerEventTypes();
+        }
+        FlightEventType eventType = registeredEventTypes.get(phase);
+        return eventType != null && eventType.isEnabled() ? eventType.begin() : ProxyFlightEvent.DISABLED;
+    }
+
+    /**
+     * Checks if Flight Recorder events may be emitted at current JVM. Availability check initializes parts of Flight
+     * Recorder so it isn't performed on proxy creation.
+     *
+     * @return <code>true</code> if Flight Recorder is available, <code>false</code> otherwise.
+     */
+    public static boolean isAvailable() {
+        return FlightEventType.isFlightRecorderAvailable();
+    }
+
+    private static Map<ProxyGenerationPhase, FlightEventType> createEventTypes() {
+        if (!FlightEventType.isFlightRecorderAvailable()) {
+            log.debug("Flight Recorder is not available at current JVM.");
+            return Collections.emptyMap();
+        }
+        Map<ProxyGenerationPhase, FlightEventType> eventTypes = new EnumMap<>(ProxyGenerationPhase.class);
+        try {
+            for (ProxyGenerationPhase phase : ProxyGenerationPhase.values()) {
+                eventTypes.put(phase, FlightEventType.create(phase));
+            }
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+            log.warn("Failed to register Flight Recorder events.", ex);
+            return Collections.emptyMap();
+        }
+        return eventTypes;
+    }
+
+    private static synchronized Map<ProxyGenerationPhase, FlightEventType> registerEventTypes() {
+        if (eventTypes == null) {
+            eventTypes = createEventTypes();
+        }
+        return eventTypes;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.listener;
+
+import lombok.Getter;
+
+/**
+ * Immutable result of single proxy creation phase. Duration is measured in nanoseconds. Proxies that are prepared by
+ * single compilation task share duration of the whole task.
+ */
+public final class ProxyGenerationEvent {
+
+    /**
+     * Size value for source code length or byte code size that isn't known for event phase.
+     */
+    public static final int UNKNOWN_SIZE = -1;
+
+    @Getter
+    private final int bytecodeSize;
+    @Getter
+    private final long duration;
+    @Getter
+    private final Throwable failure;
+    @Getter
+    private final ProxyGenerationPhase phase;
+    @Getter
+    private final String proxyClassName;
+    @Getter
+    private final int sourceLength;
+    @Getter
+    private final boolean successful;
+    @Getter
+    private final Class<?> targetClass;
+
+    public ProxyGenerationEvent(ProxyGenerationPhase phase, Class<?> targetClass, String proxyClassName,
+            long duration, int sourceLength, int bytecodeSize, boolean successful, Throwable failure) {
+        this.phase = phase;
+        this.targetClass = targetClass;
+        this.proxyClassName = proxyClassName;
+        this.duration = duration;
+        this.sourceLength = sourceLength;
+        this.bytecodeSize = bytecodeSize;
+        this.successful = successful;
+        this.failure = failure;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ProxyGenerationEvent[phase=%s, proxyClassName=%s, duration=%dns, successful=%s]", phase,
+                proxyClassName, duration, successful);
+    }
+}
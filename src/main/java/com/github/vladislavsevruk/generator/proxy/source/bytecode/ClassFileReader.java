@@ -0,0 +1,296 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.bytecode;
+
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Modifier;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads part of class file content required for analysis of compiled classes: access flags, names of class and
+ * superclass, code size of declared methods and whether class is nested one. Other class file structures are skipped
+ * without validation. Modified copies of class file content may be produced with patched access flags or additional
+ * constant fields.
+ */
+public final class ClassFileReader {
+
+    private static final String CODE_ATTRIBUTE = "Code";
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_POOL_COUNT_OFFSET = 8;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_UTF8 = 1;
+    private static final String CONSTANT_VALUE_ATTRIBUTE = "ConstantValue";
+    private static final String INNER_CLASSES_ATTRIBUTE = "InnerClasses";
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int MAX_CONSTANT_POOL_COUNT = 0xFFFF;
+    private static final String STRING_DESCRIPTOR = "Ljava/lang/String;";
+
+    @Getter
+    private final int accessFlags;
+    private final int accessFlagsOffset;
+    private final byte[] bytes;
+    @Getter
+    private final String className;
+    private final int constantPoolCount;
+    private final int fieldsEndOffset;
+    private final int fieldsOffset;
+    @Getter
+    private final List<MethodCodeSize> methods;
+    @Getter
+    private final boolean nested;
+    @Getter
+    private final String superclassName;
+
+    public ClassFileReader(byte[] bytes) {
+        this.bytes = bytes;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Received bytes aren't class file content.");
+            }
+            // minor and major versions
+            buffer.position(buffer.position() + 4);
+            constantPoolCount = buffer.getShort() & 0xFFFF;
+            String[] utf8Constants = new String[constantPoolCount];
+            int[] classNameIndexes = new int[utf8Constants.length];
+            readConstantPool(buffer, utf8Constants, classNameIndexes);
+            accessFlagsOffset = buffer.position();
+            accessFlags = buffer.getShort() & 0xFFFF;
+            className = utf8Constants[classNameIndexes[buffer.getShort() & 0xFFFF]];
+            int superclassIndex = buffer.getShort() & 0xFFFF;
+            superclassName = superclassIndex == 0 ? null : utf8Constants[classNameIndexes[superclassIndex]];
+            int interfacesCount = buffer.getShort() & 0xFFFF;
+            buffer.position(buffer.position() + 2 * interfacesCount);
+            fieldsOffset = buffer.position();
+            skipFields(buffer);
+            fieldsEndOffset = buffer.position();
+            methods = Collections.unmodifiableList(readMethods(buffer, utf8Constants));
+            nested = isDeclaredAsInnerClass(buffer, utf8Constants, classNameIndexes);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Received class file content is malformed.", ex);
+        }
+    }
+
+    /**
+     * Returns copy of class file content with received access flags of class.
+     *
+     * @param newAccessFlags access flags to set.
+     * @return <code>byte</code> array with modified class file content.
+     */
+    public byte[] withAccessFlags(int newAccessFlags) {
+        byte[] modifiedBytes = Arrays.copyOf(bytes, bytes.length);
+        modifiedBytes[accessFlagsOffset] = (byte) (newAccessFlags >>> 8);
+        modifiedBytes[accessFlagsOffset + 1] = (byte) newAccessFlags;
+        return modifiedBytes;
+    }
+
+    /**
+     * Returns copy of class file content with additional <code>public static final</code> field of
+     * <code>String</code> type that is initialized by received constant value.
+     *
+     * @param fieldName <code>String</code> with name of field to add.
+     * @param value     <code>String</code> with constant value of field.
+     * @return <code>byte</code> array with modified class file content.
+     */
+    public byte[] withConstantField(String fieldName, String value) {
+        // new constants are appended to the end of constant pool so indexes of existing ones stay the same
+        int nameIndex = constantPoolCount;
+        int descriptorIndex = nameIndex + 1;
+        int valueIndex = nameIndex + 2;
+        int stringIndex = nameIndex + 3;
+        int attributeNameIndex = nameIndex + 4;
+        if (attributeNameIndex + 1 > MAX_CONSTANT_POOL_COUNT) {
+            throw new IllegalArgumentException("Constant pool of class file has no space for new constants.");
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length + 64 + value.length());
+        try (DataOutputStream dataOutputStream = new DataOutputStream(outputStream)) {
+            dataOutputStream.write(bytes, 0, CONSTANT_POOL_COUNT_OFFSET);
+            dataOutputStream.writeShort(attributeNameIndex + 1);
+            dataOutputStream.write(bytes, CONSTANT_POOL_COUNT_OFFSET + 2,
+                    accessFlagsOffset - CONSTANT_POOL_COUNT_OFFSET - 2);
+            writeUtf8Constant(dataOutputStream, fieldName);
+            writeUtf8Constant(dataOutputStream, STRING_DESCRIPTOR);
+            writeUtf8Constant(dataOutputStream, value);
+            dataOutputStream.writeByte(CONSTANT_STRING);
+            dataOutputStream.writeShort(valueIndex);
+            writeUtf8Constant(dataOutputStream, CONSTANT_VALUE_ATTRIBUTE);
+            dataOutputStream.write(bytes, accessFlagsOffset, fieldsOffset - accessFlagsOffset);
+            int fieldsCount = ((bytes[fieldsOffset] & 0xFF) << 8) | (bytes[fieldsOffset + 1] & 0xFF);
+            dataOutputStream.writeShort(fieldsCount + 1);
+            dataOutputStream.write(bytes, fieldsOffset + 2, fieldsEndOffset - fieldsOffset - 2);
+            dataOutputStream.writeShort(Modifier.PUBLIC | Modifier.STATIC | Modifier.FINAL);
+            dataOutputStream.writeShort(nameIndex);
+            dataOutputStream.writeShort(descriptorIndex);
+            // single constant value attribute with index of string constant
+            dataOutputStream.writeShort(1);
+            dataOutputStream.writeShort(attributeNameIndex);
+            dataOutputStream.writeInt(2);
+            dataOutputStream.writeShort(stringIndex);
+            dataOutputStream.write(bytes, fieldsEndOffset, bytes.length - fieldsEndOffset);
+        } catch (IOException ioEx) {
+            throw new UncheckedIOException(ioEx);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private int getConstantSize(int tag) {
+        switch (tag) {
+            case CONSTANT_STRING:
+            case 16:
+            case 19:
+            case 20:
+                // string, method type, module and package
+                return 2;
+            case 15:
+                // method handle
+                return 3;
+            case 3:
+            case 4:
+            case 9:
+            case 10:
+            case 11:
+            case 12:
+            case 17:
+            case 18:
+                // integer, float, references, name and type, dynamic and invoke dynamic
+                return 4;
+            case CONSTANT_LONG:
+            case CONSTANT_DOUBLE:
+                return 8;
+            default:
+                throw new IllegalArgumentException("Unknown constant pool tag: " + tag);
+        }
+    }
+
+    private boolean isDeclaredAsInnerClass(ByteBuffer buffer, String[] utf8Constants, int[] classNameIndexes) {
+        int attributesCount = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < attributesCount; ++i) {
+            String attributeName = utf8Constants[buffer.getShort() & 0xFFFF];
+            int attributeLength = buffer.getInt();
+            int attributeEnd = buffer.position() + attributeLength;
+            if (INNER_CLASSES_ATTRIBUTE.equals(attributeName)) {
+                int classesCount = buffer.getShort() & 0xFFFF;
+                for (int j = 0; j < classesCount; ++j) {
+                    // inner class, outer class and inner name indexes precede access flags of inner class
+                    int innerClassIndex = buffer.getShort(buffer.position()) & 0xFFFF;
+                    buffer.position(buffer.position() + 8);
+                    if (className.equals(utf8Constants[classNameIndexes[innerClassIndex]])) {
+                        return true;
+                    }
+                }
+            }
+            buffer.position(attributeEnd);
+        }
+        return false;
+    }
+
+    private void readConstantPool(ByteBuffer buffer, String[] utf8Constants, int[] classNameIndexes) {
+        for (int i = 1; i < utf8Constants.length; ++i) {
+            int tag = buffer.get();
+            if (tag == CONSTANT_UTF8) {
+                utf8Constants[i] = readUtf8(buffer);
+            } else if (tag == CONSTANT_CLASS) {
+                classNameIndexes[i] = buffer.getShort() & 0xFFFF;
+            } else {
+                buffer.position(buffer.position() + getConstantSize(tag));
+                // long and double constants take two entries of constant pool
+                if (tag == CONSTANT_LONG || tag == CONSTANT_DOUBLE) {
+                    ++i;
+                }
+            }
+        }
+    }
+
+    private List<MethodCodeSize> readMethods(ByteBuffer buffer, String[] utf8Constants) {
+        int methodsCount = buffer.getShort() & 0xFFFF;
+        List<MethodCodeSize> methodCodeSizes = new ArrayList<>(methodsCount);
+        for (int i = 0; i < methodsCount; ++i) {
+            int methodAccessFlags = buffer.getShort() & 0xFFFF;
+            String name = utf8Constants[buffer.getShort() & 0xFFFF];
+            String descriptor = utf8Constants[buffer.getShort() & 0xFFFF];
+            int codeLength = 0;
+            int attributesCount = buffer.getShort() & 0xFFFF;
+            for (int j = 0; j < attributesCount; ++j) {
+                String attributeName = utf8Constants[buffer.getShort() & 0xFFFF];
+                int attributeLength = buffer.getInt();
+                int attributeEnd = buffer.position() + attributeLength;
+                if (CODE_ATTRIBUTE.equals(attributeName)) {
+                    // max stack and max locals precede code length
+                    codeLength = buffer.getInt(buffer.position() + 4);
+                }
+                buffer.position(attributeEnd);
+            }
+            methodCodeSizes.add(new MethodCodeSize(name, descriptor, methodAccessFlags, codeLength));
+        }
+        return methodCodeSizes;
+    }
+
+    private String readUtf8(ByteBuffer buffer) {
+        int length = buffer.getShort(buffer.position()) & 0xFFFF;
+        // class file uses modified UTF-8 that is decoded by data input
+        DataInputStream dataInputStream = new DataInputStream(
+                new ByteArrayInputStream(bytes, buffer.position(), length + 2));
+        buffer.position(buffer.position() + length + 2);
+        try {
+            return dataInputStream.readUTF();
+        } catch (IOException ioEx) {
+            throw new UncheckedIOException(ioEx);
+        }
+    }
+
+    private void skipFields(ByteBuffer buffer) {
+        int fieldsCount = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < fieldsCount; ++i) {
+            // access flags, name and descriptor
+            buffer.position(buffer.position() + 6);
+            int attributesCount = buffer.getShort() & 0xFFFF;
+            for (int j = 0; j < attributesCount; ++j) {
+                // attribute name
+                buffer.position(buffer.position() + 2);
+                int attributeLength = buffer.getInt();
+                buffer.position(buffer.position() + attributeLength);
+            }
+        }
+    }
+
+    private void writeUtf8Constant(DataOutputStream dataOutputStream, String value) throws IOException {
+        dataOutputStream.writeByte(CONSTANT_UTF8);
+        // data output writes modified UTF-8 with length prefix as class file requires
+        dataOutputStream.writeUTF(value);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.bytecode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes class file content without any intermediate source code representation.
+ */
+public class ClassFileWriter {
+
+    /**
+     * Access flag of final classes and members.
+     */
+    public static final int ACC_FINAL = 0x0010;
+    /**
+     * Access flag of public members.
+     */
+    public static final int ACC_PUBLIC = 0x0001;
+    /**
+     * Access flag of class that treats superclass methods specially when invoked by <code>invokespecial</code>.
+     */
+    public static final int ACC_SUPER = 0x0020;
+    /**
+     * Access flag of methods with variable number of arguments.
+     */
+    public static final int ACC_VARARGS = 0x0080;
+    private static final int JAVA_8_MAJOR_VERSION = 52;
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private final int accessFlags;
+    private final ConstantPool constantPool = new ConstantPool();
+    private final List<FieldDeclaration> fields = new ArrayList<>();
+    private final List<String> interfaces = new ArrayList<>();
+    private final List<MethodWriter> methodWriters = new ArrayList<>();
+    private final String signature;
+    private final String superclass;
+    private final String thisClass;
+
+    /**
+     * Creates writer for class with received characteristics.
+     *
+     * @param accessFlags access flags of class.
+     * @param thisClass   <code>String</code> with internal name of class.
+     * @param superclass  <code>String</code> with internal name of superclass.
+     * @param signature   <code>String</code> with generic signature of class or <code>null</code> if class has no
+     *                    type variables.
+     */
+    public ClassFileWriter(int accessFlags, String thisClass, String superclass, String signature) {
+        this.accessFlags = accessFlags;
+        this.thisClass = thisClass;
+        this.superclass = superclass;
+        this.signature = signature;
+    }
+
+    /**
+     * Adds field without initial value to class.
+     *
+     * @param accessFlags access flags of field.
+     * @param name        <code>String</code> with field name.
+     * @param descriptor  <code>String</code> with field type descriptor.
+     */
+    public void addField(int accessFlags, String name, String descriptor) {
+        fields.add(new FieldDeclaration(accessFlags, name, descriptor));
+    }
+
+    /**
+     * Adds interface implemented by class.
+     *
+     * @param internalName <code>String</code> with internal name of interface.
+     */
+    public void addInterface(String internalName) {
+        interfaces.add(internalName);
+    }
+
+    /**
+     * Adds method to class.
+     *
+     * @param accessFlags    access flags of method.
+     * @param name           <code>String</code> with method name.
+     * @param descriptor     <code>String</code> with method descriptor.
+     * @param exceptions     <code>String</code> array with internal names of thrown exceptions.
+     * @param parameterSlots number of local variable slots occupied by method parameters.
+     * @return <code>MethodWriter</code> for writing method byte code.
+     */
+    public MethodWriter addMethod(int accessFlags, String name, String descriptor, String[] exceptions,
+            int parameterSlots) {
+        MethodWriter methodWriter = new MethodWriter(constantPool, accessFlags, name, descriptor, exceptions,
+                parameterSlots);
+        methodWriters.add(methodWriter);
+        return methodWriter;
+    }
+
+    /**
+     * Generates class file content.
+     *
+     * @return <code>byte[]</code> with class file content.
+     */
+    public byte[] toByteArray() {
+        try {
+            // class body is written first to fill constant pool with all necessary entries
+            ByteArrayOutputStream bodyStream = new ByteArrayOutputStream();
+            DataOutputStream body = new DataOutputStream(bodyStream);
+            body.writeShort(accessFlags);
+            body.writeShort(constantPool.addClass(thisClass));
+            body.writeShort(constantPool.addClass(superclass));
+            body.writeShort(interfaces.size());
+            for (String interfaceName : interfaces) {
+                body.writeShort(constantPool.addClass(interfaceName));
+            }
+            body.writeShort(fields.size());
+            for (FieldDeclaration field : fields) {
+                body.writeShort(field.accessFlags);
+                body.writeShort(constantPool.addUtf8(field.name));
+                body.writeShort(constantPool.addUtf8(field.descriptor));
+                // no field attributes
+                body.writeShort(0);
+            }
+            body.writeShort(methodWriters.size());
+            for (MethodWriter methodWriter : methodWriters) {
+                methodWriter.writeTo(body);
+            }
+            writeSignatureAttribute(body);
+            ByteArrayOutputStream classStream = new ByteArrayOutputStream();
+            DataOutputStream classFile = new DataOutputStream(classStream);
+            classFile.writeInt(MAGIC);
+            classFile.writeShort(0);
+            classFile.writeShort(JAVA_8_MAJOR_VERSION);
+            constantPool.writeTo(classFile);
+            bodyStream.writeTo(classFile);
+            return classStream.toByteArray();
+        } catch (IOException ioEx) {
+            throw new UncheckedIOException(ioEx);
+        }
+    }
+
+    private void writeSignatureAttribute(DataOutputStream body) throws IOException {
+        if (signature == null) {
+            body.writeShort(0);
+            return;
+        }
+        body.writeShort(1);
+        body.writeShort(constantPool.addUtf8("Signature"));
+        body.writeInt(2);
+        body.writeShort(constantPool.addUtf8(signature));
+    }
+
+    /**
+     * Field of written class.
+     */
+    private static final class FieldDeclaration {
+
+        private final int accessFlags;
+        private final String descriptor;
+        private final String name;
+
+        FieldDeclaration(int accessFlags, String name, String descriptor) {
+            this.accessFlags = accessFlags;
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.bytecode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Constant pool of class file that reuses already added entries.
+ */
+class ConstantPool {
+
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_UTF8 = 1;
+
+    private final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+    private final DataOutputStream content = new DataOutputStream(byteStream);
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private int nextIndex = 1;
+
+    /**
+     * Adds class entry for received internal class name.
+     *
+     * @param internalName <code>String</code> with internal name of class.
+     * @return index of constant pool entry.
+     */
+    int addClass(String internalName) {
+        int nameIndex = addUtf8(internalName);
+        return addEntry("C" + internalName, CONSTANT_CLASS, nameIndex);
+    }
+
+    /**
+     * Adds method reference entry.
+     *
+     * @param owner      <code>String</code> with internal name of method owner class.
+     * @param name       <code>String</code> with name of method.
+     * @param descriptor <code>String</code> with method descriptor.
+     * @return index of constant pool entry.
+     */
+    int addMethodReference(String owner, String name, String descriptor) {
+        return addMemberReference(CONSTANT_METHOD_REF, owner, name, descriptor);
+    }
+
+    /**
+     * Adds UTF8 entry for received value.
+     *
+     * @param value <code>String</code> to add.
+     * @return index of constant pool entry.
+     */
+    int addUtf8(String value) {
+        String key = "U" + value;
+        Integer index = indexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        try {
+            content.writeByte(CONSTANT_UTF8);
+            content.writeUTF(value);
+        } catch (IOException ioEx) {
+            throw new UncheckedIOException(ioEx);
+        }
+        return register(key);
+    }
+
+    /**
+     * Writes constant pool count and entries to received output.
+     *
+     * @param output <code>DataOutputStream</code> to write constant pool to.
+     * @throws IOException if writing to output fails.
+     */
+    void writeTo(DataOutputStream output) throws IOException {
+        output.writeShort(nextIndex);
+        byteStream.writeTo(output);
+    }
+
+    private int addEntry(String key, int tag, int... references) {
+        Integer index = indexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        try {
+            content.writeByte(tag);
+            for (int reference : references) {
+                content.writeShort(reference);
+            }
+        } catch (IOException ioEx) {
+            throw new UncheckedIOException(ioEx);
+        }
+        return register(key);
+    }
+
+    private int addMemberReference(int tag, String owner, String name, String descriptor) {
+        int classIndex = addClass(owner);
+        int nameAndTypeIndex = addEntry("N" + name + ":" + descriptor, CONSTANT_NAME_AND_TYPE, addUtf8(name),
+                addUtf8(descriptor));
+        return addEntry("R" + tag + owner + "." + name + ":" + descriptor, tag, classIndex, nameAndTypeIndex);
+    }
+
+    private int register(String key) {
+        int index = nextIndex++;
+        indexes.put(key, index);
+        return index;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.bytecode;
+
+import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Analyzes byte code of compiled proxy classes against inlining thresholds of HotSpot JIT compiler. Methods that are
+ * larger than <code>FreqInlineSize</code> are never inlined into callers so calls through such proxy methods always
+ * cost real invocation. Methods that are larger than <code>MaxInlineSize</code> are inlined only at hot call sites.
+ * Analyzer may also mark classes as <code>final</code> if no other class of the same compilation extends them, so class
+ * hierarchy analysis may treat their methods as not overridden. Marking is enabled only for proxy classes that aren't
+ * supposed to be extended, analysis of other classes is report-only. Nested classes are never marked as their access
+ * flags are duplicated at <code>InnerClasses</code> attribute.
+ */
+@Log4j2
+public final class InliningAnalyzer {
+
+    /**
+     * Default value of HotSpot <code>FreqInlineSize</code> option: maximum byte code size of frequently called method
+     * that may be inlined.
+     */
+    public static final int FREQ_INLINE_SIZE = 325;
+    /**
+     * Default value of HotSpot <code>MaxInlineSize</code> option: maximum byte code size of method that may be inlined
+     * regardless of call frequency.
+     */
+    public static final int MAX_INLINE_SIZE = 35;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final InliningAnalyzer FINAL_MARKING_INSTANCE = new InliningAnalyzer(MAX_INLINE_SIZE,
+            FREQ_INLINE_SIZE, true);
+    private static final InliningAnalyzer INSTANCE = new InliningAnalyzer(MAX_INLINE_SIZE, FREQ_INLINE_SIZE, false);
+    @Getter
+    private final int freqInlineSize;
+    @Getter
+    private final boolean markFinalClasses;
+    @Getter
+    private final int maxInlineSize;
+
+    public InliningAnalyzer(int maxInlineSize, int freqInlineSize, boolean markFinalClasses) {
+        if (maxInlineSize < 0 || freqInlineSize < maxInlineSize) {
+            throw new IllegalArgumentException("Inlining thresholds should be non-negative and 'FreqInlineSize' "
+                    + "shouldn't be less than 'MaxInlineSize'.");
+        }
+        this.maxInlineSize = maxInlineSize;
+        this.freqInlineSize = freqInlineSize;
+        this.markFinalClasses = markFinalClasses;
+    }
+
+    /**
+     * Returns instance of analyzer with HotSpot default thresholds that marks classes as <code>final</code>. Should be
+     * used only for proxy classes.
+     */
+    public static InliningAnalyzer finalMarkingInstance() {
+        return FINAL_MARKING_INSTANCE;
+    }
+
+    /**
+     * Returns default instance of analyzer with HotSpot default thresholds that only reports code size of methods.
+     */
+    public static InliningAnalyzer instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Analyzes classes compiled by single compilation task: reports code size of their methods and marks classes as
+     * <code>final</code> where it's safe if it's enabled.
+     *
+     * @param compiledClasses <code>Map</code> with compiled byte code mapped by binary name of the class.
+     * @return unmodifiable <code>Map</code> with byte code of analyzed classes mapped by binary name of the class.
+     */
+    public Map<String, JavaByteFileObject> analyze(Map<String, JavaByteFileObject> compiledClasses) {
+        Map<String, ClassFileReader> classFiles = new LinkedHashMap<>();
+        compiledClasses.forEach((name, byteFileObject) -> {
+            try {
+                classFiles.put(name, new ClassFileReader(byteFileObject.getBytes()));
+            } catch (IllegalArgumentException iaEx) {
+                log.debug("Skipping analysis of '{}' class: {}", name, iaEx.getMessage());
+            }
+        });
+        Set<String> superclasses = classFiles.values().stream().map(ClassFileReader::getSuperclassName)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<String, JavaByteFileObject> analyzedClasses = new LinkedHashMap<>(compiledClasses);
+        classFiles.forEach((name, classFile) -> {
+            reportMethodSizes(name, classFile);
+            if (markFinalClasses && canBeMarkedFinal(classFile, superclasses)) {
+                byte[] finalClassBytes = classFile
+                        .withAccessFlags(classFile.getAccessFlags() | ClassFileWriter.ACC_FINAL);
+                analyzedClasses.put(name, new JavaByteFileObject(name, finalClassBytes));
+            }
+        });
+        return Collections.unmodifiableMap(analyzedClasses);
+    }
+
+    /**
+     * Returns methods of received class file that are larger than <code>FreqInlineSize</code> so they can't be
+     * inlined into callers.
+     *
+     * @param classFile <code>ClassFileReader</code> with class file content.
+     * @return <code>List</code> of non-inlinable methods.
+     */
+    public List<MethodCodeSize> findNonInlinableMethods(ClassFileReader classFile) {
+        return classFile.getMethods().stream().filter(method -> method.getCodeLength() > freqInlineSize)
+                .collect(Collectors.toList());
+    }
+
+    private boolean canBeMarkedFinal(ClassFileReader classFile, Set<String> superclasses) {
+        int nonFinalFlags = ClassFileWriter.ACC_FINAL | ACC_ABSTRACT | ACC_INTERFACE;
+        return (classFile.getAccessFlags() & nonFinalFlags) == 0 && !classFile.isNested() && !superclasses
+                .contains(classFile.getClassName());
+    }
+
+    private void reportMethodSizes(String name, ClassFileReader classFile) {
+        for (MethodCodeSize method : classFile.getMethods()) {
+            int codeLength = method.getCodeLength();
+            if (codeLength > freqInlineSize) {
+                log.warn("'{}' method of '{}' class has {} bytes of byte code and can't be inlined as it exceeds {} "
+                        + "bytes.", method, name, codeLength, freqInlineSize);
+            } else if (codeLength > maxInlineSize) {
+                log.debug("'{}' method of '{}' class has {} bytes of byte code and may be inlined only at hot call "
+                        + "sites.", method, name, codeLength);
+            } else {
+                log.trace("'{}' method of '{}' class has {} bytes of byte code.", method, name, codeLength);
+            }
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.bytecode;
+
+import com.github.vladislavsevruk.generator.proxy.util.ClassMemberUtil;
+import com.github.vladislavsevruk.generator.proxy.util.DescriptorUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes straight-line byte code of single method without branches so no stack map frames are required.
+ */
+public class MethodWriter {
+
+    private static final int AALOAD = 0x32;
+    private static final int ALOAD = 0x19;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ARETURN = 0xb0;
+    private static final int BIPUSH = 0x10;
+    private static final int CHECKCAST = 0xc0;
+    private static final int DLOAD = 0x18;
+    private static final int DRETURN = 0xaf;
+    private static final int DUP = 0x59;
+    private static final int FLOAD = 0x17;
+    private static final int FRETURN = 0xae;
+    private static final int ICONST_0 = 0x03;
+    private static final int ILOAD = 0x15;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int IRETURN = 0xac;
+    private static final int LLOAD = 0x16;
+    private static final int LRETURN = 0xad;
+    private static final int NEW = 0xbb;
+    private static final int RETURN = 0xb1;
+    private static final int SIPUSH = 0x11;
+
+    private final int accessFlags;
+    private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+    private final ConstantPool constantPool;
+    private final String descriptor;
+    private final String[] exceptions;
+    private int maxLocals;
+    private int maxStack;
+    private final String name;
+    private int stackSize;
+
+    MethodWriter(ConstantPool constantPool, int accessFlags, String name, String descriptor, String[] exceptions,
+            int argumentSlots) {
+        this.constantPool = constantPool;
+        this.accessFlags = accessFlags;
+        this.name = name;
+        this.descriptor = descriptor;
+        this.exceptions = exceptions;
+        // 'this' reference occupies first slot
+        this.maxLocals = argumentSlots + 1;
+    }
+
+    /**
+     * Invokes superclass method or constructor with arguments and target from operand stack.
+     *
+     * @param owner          <code>String</code> with internal name of method owner class.
+     * @param name           <code>String</code> with method name.
+     * @param returnType     <code>Class</code> of method return type.
+     * @param parameterTypes <code>Class</code> array with method parameter types.
+     * @return this <code>MethodWriter</code>.
+     */
+    public MethodWriter invokeSpecial(String owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        int index = constantPool
+                .addMethodReference(owner, name, DescriptorUtil.getMethodDescriptor(returnType, parameterTypes));
+        code.write(INVOKESPECIAL);
+        writeShort(index);
+        int argumentSlots = 1;
+        for (Class<?> parameterType : parameterTypes) {
+            argumentSlots += DescriptorUtil.getSlotSize(parameterType);
+        }
+        stackSize -= argumentSlots;
+        pushStack(DescriptorUtil.getSlotSize(returnType));
+        return this;
+    }
+
+    /**
+     * Pushes method arguments of received types to operand stack.
+     *
+     * @param parameterTypes <code>Class</code> array with method parameter types.
+     * @return this <code>MethodWriter</code>.
+     */
+    public MethodWriter loadArguments(Class<?>... parameterTypes) {
+        int slot = 1;
+        for (Class<?> parameterType : parameterTypes) {
+            code.write(getLoadOpcode(parameterType));
+            code.write(slot);
+            int slotSize = DescriptorUtil.getSlotSize(parameterType);
+            slot += slotSize;
+            pushStack(slotSize);
+        }
+        return this;
+    }
+
+    /**
+     * Pushes elements of <code>Object</code> array from first method argument to operand stack casting them to
+     * received types. Elements for primitive types are unboxed from corresponding wrappers.
+     *
+     * @param parameterTypes <code>Class</code> array with types of array elements.
+     * @return this <code>MethodWriter</code>.
+     */
+    public MethodWriter unpackArrayArgument(Class<?>... parameterTypes) {
+        for (int i = 0; i < parameterTypes.length; ++i) {
+            code.write(ALOAD_1);
+            pushStack(1);
+            pushInt(i);
+            code.write(AALOAD);
+            stackSize -= 1;
+            castValue(parameterTypes[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Pushes 'this' reference to operand stack.
+     *
+     * @return this <code>MethodWriter</code>.
+     */
+    public MethodWriter loadThis() {
+        code.write(ALOAD_0);
+        pushStack(1);
+        return this;
+    }
+
+    /**
+     * Creates new uninitialized instance of received class and pushes two references to it to operand stack, so one
+     * of them may be consumed by constructor call.
+     *
+     * @param internalName <code>String</code> with internal name of class to create.
+     * @return this <code>MethodWriter</code>.
+     */
+    public MethodWriter newInstance(String internalName) {
+        code.write(NEW);
+        writeShort(constantPool.addClass(internalName));
+        code.write(DUP);
+        pushStack(2);
+        return this;
+    }
+
+    /**
+     * Returns value of received type from operand stack.
+     *
+     * @param returnType <code>Class</code> of method return type.
+     */
+    public void returnValue(Class<?> returnType) {
+        code.write(getReturnOpcode(returnType));
+        stackSize = 0;
+    }
+
+    void writeTo(DataOutputStream output) throws IOException {
+        output.writeShort(accessFlags);
+        output.writeShort(constantPool.addUtf8(name));
+        output.writeShort(constantPool.addUtf8(descriptor));
+        output.writeShort(exceptions.length == 0 ? 1 : 2);
+        writeCodeAttribute(output);
+        if (exceptions.length != 0) {
+            writeExceptionsAttribute(output);
+        }
+    }
+
+    private void castValue(Class<?> type) {
+        if (Object.class.equals(type)) {
+            return;
+        }
+        Class<?> wrapperType = ClassMemberUtil.getWrapperType(type);
+        code.write(CHECKCAST);
+        writeShort(constantPool.addClass(DescriptorUtil.getInternalName(wrapperType)));
+        if (type.isPrimitive()) {
+            String unboxingMethodName = type.getName() + "Value";
+            code.write(INVOKEVIRTUAL);
+            writeShort(constantPool.addMethodReference(DescriptorUtil.getInternalName(wrapperType),
+                    unboxingMethodName, DescriptorUtil.getMethodDescriptor(type)));
+            stackSize -= 1;
+            pushStack(DescriptorUtil.getSlotSize(type));
+        }
+    }
+
+    private int getLoadOpcode(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return ALOAD;
+        }
+        if (long.class.equals(type)) {
+            return LLOAD;
+        }
+        if (float.class.equals(type)) {
+            return FLOAD;
+        }
+        return double.class.equals(type) ? DLOAD : ILOAD;
+    }
+
+    private int getReturnOpcode(Class<?> type) {
+        if (void.class.equals(type)) {
+            return RETURN;
+        }
+        if (!type.isPrimitive()) {
+            return ARETURN;
+        }
+        if (long.class.equals(type)) {
+            return LRETURN;
+        }
+        if (float.class.equals(type)) {
+            return FRETURN;
+        }
+        return double.class.equals(type) ? DRETURN : IRETURN;
+    }
+
+    private void pushInt(int value) {
+        if (value <= 5) {
+            code.write(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            code.write(BIPUSH);
+            code.write(value);
+        } else {
+            code.write(SIPUSH);
+            writeShort(value);
+        }
+        pushStack(1);
+    }
+
+    private void pushStack(int slots) {
+        stackSize += slots;
+        maxStack = Math.max(maxStack, stackSize);
+    }
+
+    private void writeCodeAttribute(DataOutputStream output) throws IOException {
+        output.writeShort(constantPool.addUtf8("Code"));
+        // max stack, max locals, code length, exception table length and attributes count
+        output.writeInt(12 + code.size());
+        output.writeShort(maxStack);
+        output.writeShort(maxLocals);
+        output.writeInt(code.size());
+        code.writeTo(output);
+        output.writeShort(0);
+        output.writeShort(0);
+    }
+
+    private void writeExceptionsAttribute(DataOutputStream output) throws IOException {
+        output.writeShort(constantPool.addUtf8("Exceptions"));
+        output.writeInt(2 + 2 * exceptions.length);
+        output.writeShort(exceptions.length);
+        for (String exception : exceptions) {
+            output.writeShort(constantPool.addClass(exception));
+        }
+    }
+
+    private void writeShort(int value) {
+        code.write(value >>> 8);
+        code.write(value);
+    }
+}
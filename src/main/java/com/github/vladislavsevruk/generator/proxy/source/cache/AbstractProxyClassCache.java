@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contains base logic for proxy class caches with usage statistics tracking.
+ */
+public abstract class AbstractProxyClassCache implements ProxyClassCache {
+
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> get(String name) {
+        Class<?> cachedClass = find(name);
+        if (cachedClass != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return cachedClass;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProxyClassCacheStats getStats() {
+        return new ProxyClassCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), loadCount.sum(),
+                totalLoadTime.sum());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void put(String name, Class<?> proxyClass, long loadTime) {
+        loadCount.increment();
+        totalLoadTime.add(loadTime);
+        store(name, proxyClass);
+    }
+
+    protected abstract Class<?> find(String name);
+
+    protected void recordEviction() {
+        evictionCount.increment();
+    }
+
+    protected abstract void store(String name, Class<?> proxyClass);
+}
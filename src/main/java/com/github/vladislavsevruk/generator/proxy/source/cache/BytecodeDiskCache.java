@@ -0,0 +1,188 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.cache;
+
+import com.github.vladislavsevruk.generator.proxy.util.HashUtil;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+
+/**
+ * Persistent cache of compiled proxy classes byte code that can be shared across JVM restarts and between several JVMs
+ * on the same host. Every entry is stored at separate file named by hash of proxy class source code, delegated class
+ * byte code and java version so entries are never modified after creation. New entries are written to temporary file
+ * first and then atomically moved to target file so readers never observe partially written byte code.
+ */
+@Log4j2
+public class BytecodeDiskCache {
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+    private static final String ENTRY_EXTENSION = ".class";
+
+    private final Path directory;
+
+    public BytecodeDiskCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Generates cache key for proxy class with received source code.
+     *
+     * @param delegatedClass <code>Class</code> that is delegated by proxy.
+     * @param sourceCode     <code>CharSequence</code> with proxy class source code.
+     * @return <code>String</code> with cache key.
+     */
+    public static String generateKey(Class<?> delegatedClass, CharSequence sourceCode) {
+        MessageDigest messageDigest = HashUtil.getMessageDigest();
+        messageDigest.update(System.getProperty("java.version").getBytes(StandardCharsets.UTF_8));
+        messageDigest.update((byte) 0);
+        messageDigest.update(delegatedClass.getName().getBytes(StandardCharsets.UTF_8));
+        messageDigest.update((byte) 0);
+        messageDigest.update(readClassBytes(delegatedClass));
+        messageDigest.update((byte) 0);
+        HashUtil.update(messageDigest, sourceCode);
+        return HashUtil.toHex(messageDigest.digest());
+    }
+
+    /**
+     * Returns cached byte code for received key.
+     *
+     * @param key <code>String</code> with cache key.
+     * @return <code>byte[]</code> with cached byte code or <code>null</code> if there is no valid entry for received
+     * key.
+     */
+    public byte[] get(String key) {
+        Path entry = directory.resolve(key + ENTRY_EXTENSION);
+        try {
+            byte[] bytes = Files.readAllBytes(entry);
+            if (isClassFile(bytes)) {
+                log.debug("Found cached byte code at '{}'.", entry);
+                return bytes;
+            }
+            log.warn("Cached byte code at '{}' is corrupted.", entry);
+            remove(key);
+        } catch (NoSuchFileException nsfEx) {
+            log.debug("There is no cached byte code at '{}'.", entry);
+        } catch (IOException ioEx) {
+            log.warn(String.format("Failed to read cached byte code from '%s'.", entry), ioEx);
+        }
+        return null;
+    }
+
+    /**
+     * Stores received byte code for received key.
+     *
+     * @param key   <code>String</code> with cache key.
+     * @param bytes <code>byte[]</code> with compiled byte code.
+     */
+    public void put(String key, byte[] bytes) {
+        Path entry = directory.resolve(key + ENTRY_EXTENSION);
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temporaryFile, bytes);
+            moveAtomically(temporaryFile, entry);
+            log.debug("Stored byte code at '{}'.", entry);
+        } catch (IOException ioEx) {
+            log.warn(String.format("Failed to store byte code at '%s'.", entry), ioEx);
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    /**
+     * Removes cached byte code for received key, e.g. if it turned out to be corrupted or stale on class definition.
+     *
+     * @param key <code>String</code> with cache key.
+     */
+    public void remove(String key) {
+        Path entry = directory.resolve(key + ENTRY_EXTENSION);
+        try {
+            if (Files.deleteIfExists(entry)) {
+                log.debug("Removed cached byte code at '{}'.", entry);
+            }
+        } catch (IOException ioEx) {
+            log.warn(String.format("Failed to remove cached byte code at '%s'.", entry), ioEx);
+        }
+    }
+
+    private static byte[] readClassBytes(Class<?> clazz) {
+        String className = clazz.getName();
+        String classFileName = className.substring(className.lastIndexOf('.') + 1) + ENTRY_EXTENSION;
+        try (InputStream inputStream = clazz.getResourceAsStream(classFileName)) {
+            if (inputStream == null) {
+                log.debug("Class file of '{}' is not available.", className);
+                return new byte[0];
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return outputStream.toByteArray();
+        } catch (IOException ioEx) {
+            log.warn(String.format("Failed to read class file of '%s'.", className), ioEx);
+            return new byte[0];
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ioEx) {
+            log.debug("Failed to delete temporary file '{}'.", file);
+        }
+    }
+
+    private boolean isClassFile(byte[] bytes) {
+        if (bytes.length < 4) {
+            return false;
+        }
+        int magic = ((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) | ((bytes[2] & 0xFF) << 8) | (bytes[3]
+                & 0xFF);
+        return magic == CLASS_FILE_MAGIC;
+    }
+
+    private void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException amnsEx) {
+            log.debug("Atomic move is not supported at '{}'.", directory);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
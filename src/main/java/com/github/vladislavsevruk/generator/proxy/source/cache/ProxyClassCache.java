@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.cache;
+
+/**
+ * Cache of resolved proxy classes mapped by proxy class binary names.
+ */
+public interface ProxyClassCache {
+
+    /**
+     * Returns cached class for received name.
+     *
+     * @param name <code>String</code> with binary name of proxy class.
+     * @return cached <code>Class</code> or <code>null</code> if there is no cached class for received name.
+     */
+    Class<?> get(String name);
+
+    /**
+     * Returns statistics of this cache usage.
+     *
+     * @return <code>ProxyClassCacheStats</code> with current statistics.
+     */
+    ProxyClassCacheStats getStats();
+
+    /**
+     * Checks if this cache may evict classes while they're still requested. Proxy factories define classes resolved for
+     * such caches at separate class loaders, so evicted classes are unloaded as soon as they become unreachable.
+     *
+     * @return <code>true</code> if cache may evict classes, <code>false</code> otherwise.
+     */
+    default boolean isEvicting() {
+        return false;
+    }
+
+    /**
+     * Puts resolved class to cache.
+     *
+     * @param name       <code>String</code> with binary name of proxy class.
+     * @param proxyClass resolved <code>Class</code>.
+     * @param loadTime   time spent on class resolution in nanoseconds.
+     */
+    void put(String name, Class<?> proxyClass, long loadTime);
+
+    /**
+     * Returns number of currently cached classes.
+     */
+    int size();
+}
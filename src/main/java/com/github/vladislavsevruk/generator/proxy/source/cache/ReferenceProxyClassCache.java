@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.cache;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proxy class cache that references classes weakly or softly so they are removed from cache as soon as they become
+ * unreachable or when memory is low. Classes removed by garbage collector are counted as evictions. Proxy factories
+ * define classes for this cache at separate class loaders, so other proxy classes don't keep them reachable.
+ */
+public final class ReferenceProxyClassCache extends AbstractProxyClassCache {
+
+    private final Map<String, Reference<Class<?>>> classes = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Class<?>> referenceQueue = new ReferenceQueue<>();
+    private final boolean softValues;
+
+    private ReferenceProxyClassCache(boolean softValues) {
+        this.softValues = softValues;
+    }
+
+    /**
+     * Creates cache that references classes softly so they are kept until memory is low.
+     *
+     * @return <code>ReferenceProxyClassCache</code> with soft values.
+     */
+    public static ReferenceProxyClassCache softValues() {
+        return new ReferenceProxyClassCache(true);
+    }
+
+    /**
+     * Creates cache that references classes weakly so they are kept while they are reachable outside of cache.
+     *
+     * @return <code>ReferenceProxyClassCache</code> with weak values.
+     */
+    public static ReferenceProxyClassCache weakValues() {
+        return new ReferenceProxyClassCache(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEvicting() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        removeCollectedClasses();
+        return classes.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Class<?> find(String name) {
+        removeCollectedClasses();
+        Reference<Class<?>> classReference = classes.get(name);
+        return classReference != null ? classReference.get() : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void store(String name, Class<?> proxyClass) {
+        removeCollectedClasses();
+        classes.put(name, softValues ? new SoftClassReference(name, proxyClass, referenceQueue)
+                : new WeakClassReference(name, proxyClass, referenceQueue));
+    }
+
+    private void removeCollectedClasses() {
+        Reference<? extends Class<?>> collectedReference;
+        while ((collectedReference = referenceQueue.poll()) != null) {
+            String name = ((ClassReference) collectedReference).getName();
+            if (classes.remove(name, collectedReference)) {
+                recordEviction();
+            }
+        }
+    }
+
+    /**
+     * Reference to cached class that knows name it's mapped by.
+     */
+    private interface ClassReference {
+
+        String getName();
+    }
+
+    /**
+     * Soft reference to cached class.
+     */
+    private static final class SoftClassReference extends SoftReference<Class<?>> implements ClassReference {
+
+        private final String name;
+
+        SoftClassReference(String name, Class<?> referent, ReferenceQueue<Class<?>> queue) {
+            super(referent, queue);
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Weak reference to cached class.
+     */
+    private static final class WeakClassReference extends WeakReference<Class<?>> implements ClassReference {
+
+        private final String name;
+
+        WeakClassReference(String name, Class<?> referent, ReferenceQueue<Class<?>> queue) {
+            super(referent, queue);
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
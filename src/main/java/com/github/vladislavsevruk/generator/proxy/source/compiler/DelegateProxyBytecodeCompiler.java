@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.compiler;
+
+import com.github.vladislavsevruk.generator.proxy.source.bytecode.ClassFileWriter;
+import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
+import com.github.vladislavsevruk.generator.proxy.source.matcher.MethodMatcher;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+import com.github.vladislavsevruk.generator.proxy.util.ClassMemberUtil;
+import com.github.vladislavsevruk.generator.proxy.util.DescriptorUtil;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes byte code of proxy classes directly without source code generation and compilation, so system java compiler
+ * isn't required. Generated proxy class has constructors matching non-private constructors of delegated class and
+ * overrides public non-final, non-static and non-<code>Object</code> methods accepted by {@link MethodMatcher} with
+ * simple delegation to superclass.
+ */
+@Log4j2
+public class DelegateProxyBytecodeCompiler implements ProxyClassCompiler {
+
+    private final MethodMatcher methodMatcher;
+
+    public DelegateProxyBytecodeCompiler() {
+        this(MethodMatcher.any());
+    }
+
+    public DelegateProxyBytecodeCompiler(MethodMatcher methodMatcher) {
+        this.methodMatcher = methodMatcher;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JavaByteFileObject compile(String name, ProxyClassSchema schemaObject) {
+        log.debug("Writing byte code for '{}' class.", name);
+        Class<?> delegatedClass = schemaObject.delegatedClass();
+        List<Constructor<?>> nonPrivateConstructors = ClassMemberUtil.getProxyableConstructors(delegatedClass);
+        if (nonPrivateConstructors.isEmpty()) {
+            log.info("There is no any non-private constructor for {}.", delegatedClass.getName());
+            return null;
+        }
+        List<Method> proxyMethods = ClassMemberUtil.getProxyableMethods(delegatedClass, false).stream()
+                .filter(method -> !method.isBridge()).collect(Collectors.toList());
+        if (proxyMethods.stream().anyMatch(method -> Modifier.isAbstract(method.getModifiers()))) {
+            log.info("Cannot delegate abstract methods of {} to superclass.", delegatedClass.getName());
+            return null;
+        }
+        String superclass = DescriptorUtil.getInternalName(delegatedClass);
+        // proxy class isn't extended so it's final to let class hierarchy analysis of JIT compiler rely on it
+        ClassFileWriter classFileWriter = new ClassFileWriter(
+                ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER,
+                DescriptorUtil.getInternalName(name), superclass,
+                DescriptorUtil.generateSubclassSignature(delegatedClass));
+        nonPrivateConstructors.forEach(constructor -> addConstructor(classFileWriter, superclass, constructor));
+        proxyMethods.stream().filter(methodMatcher::matches)
+                .forEach(method -> addMethod(classFileWriter, superclass, method));
+        JavaByteFileObject javaByteFileObject = new JavaByteFileObject(name, classFileWriter.toByteArray());
+        log.debug("Successfully wrote byte code for '{}' class.", name);
+        return javaByteFileObject;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getFingerprint() {
+        String methodMatcherFingerprint = methodMatcher.getFingerprint();
+        return methodMatcherFingerprint == null ? null
+                : String.format("%s[%s]", getClass().getName(), methodMatcherFingerprint);
+    }
+
+    private void addConstructor(ClassFileWriter classFileWriter, String superclass, Constructor<?> constructor) {
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        classFileWriter.addMethod(getAccessFlags(constructor), "<init>",
+                DescriptorUtil.getMethodDescriptor(void.class, parameterTypes), getExceptions(constructor),
+                getParameterSlots(parameterTypes)).loadThis().loadArguments(parameterTypes)
+                .invokeSpecial(superclass, "<init>", void.class, parameterTypes).returnValue(void.class);
+    }
+
+    private void addMethod(ClassFileWriter classFileWriter, String superclass, Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Class<?> returnType = method.getReturnType();
+        classFileWriter.addMethod(getAccessFlags(method), method.getName(),
+                DescriptorUtil.getMethodDescriptor(returnType, parameterTypes), getExceptions(method),
+                getParameterSlots(parameterTypes)).loadThis().loadArguments(parameterTypes)
+                .invokeSpecial(superclass, method.getName(), returnType, parameterTypes).returnValue(returnType);
+    }
+
+    private int getAccessFlags(Executable executable) {
+        return executable.isVarArgs() ? ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_VARARGS
+                : ClassFileWriter.ACC_PUBLIC;
+    }
+
+    private String[] getExceptions(Executable executable) {
+        return Arrays.stream(executable.getExceptionTypes()).map(DescriptorUtil::getInternalName)
+                .toArray(String[]::new);
+    }
+
+    private int getParameterSlots(Class<?>[] parameterTypes) {
+        return Arrays.stream(parameterTypes).mapToInt(DescriptorUtil::getSlotSize).sum();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.compiler;
+
+import com.github.vladislavsevruk.generator.proxy.source.bytecode.ClassFileWriter;
+import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
+import com.github.vladislavsevruk.generator.proxy.util.DescriptorUtil;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.Map;
+
+/**
+ * Writes byte code of JDK Flight Recorder event classes with public fields of received types. Event classes are
+ * written on runtime as <code>jdk.jfr</code> API may be unavailable at java versions supported by library.
+ */
+@Log4j2
+public class FlightEventBytecodeCompiler {
+
+    private static final String EVENT_CLASS = "jdk/jfr/Event";
+
+    /**
+     * Writes byte code of <code>jdk.jfr.Event</code> subclass with received fields.
+     *
+     * @param name   <code>String</code> with binary name of event class.
+     * @param fields <code>Map</code> with types of event fields mapped by field names.
+     * @return <code>JavaByteFileObject</code> with compiled event class.
+     */
+    public JavaByteFileObject compile(String name, Map<String, Class<?>> fields) {
+        log.debug("Writing byte code for '{}' class.", name);
+        ClassFileWriter classFileWriter = new ClassFileWriter(
+                ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER,
+                DescriptorUtil.getInternalName(name), EVENT_CLASS, null);
+        fields.forEach((fieldName, fieldType) -> classFileWriter
+                .addField(ClassFileWriter.ACC_PUBLIC, fieldName, DescriptorUtil.getDescriptor(fieldType)));
+        classFileWriter.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", DescriptorUtil.getMethodDescriptor(void.class),
+                new String[0], 0).loadThis().invokeSpecial(EVENT_CLASS, "<init>", void.class).returnValue(void.class);
+        return new JavaByteFileObject(name, classFileWriter.toByteArray());
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.compiler;
+
+import lombok.extern.log4j.Log4j2;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Long-lived compilation session that looks up system java compiler once and reuses standard file managers across
+ * compilations so platform and class path listings cached by file manager survive between compilation tasks. Every
+ * concurrent compilation uses its own file manager from pool. File managers that weren't used during idle timeout are
+ * closed to release their caches.
+ */
+@Log4j2
+public final class JavaCompilerSession {
+
+    private static final long DEFAULT_IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final JavaCompilerSession INSTANCE = new JavaCompilerSession();
+
+    private final ScheduledThreadPoolExecutor cleanupExecutor;
+    private final AtomicBoolean cleanupScheduled = new AtomicBoolean();
+    private final JavaCompiler compiler;
+    private final Deque<PooledFileManager> idleFileManagers = new ConcurrentLinkedDeque<>();
+    private volatile long idleTimeoutNanos = DEFAULT_IDLE_TIMEOUT_NANOS;
+
+    JavaCompilerSession() {
+        compiler = ToolProvider.getSystemJavaCompiler();
+        cleanupExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "java-compiler-session-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleanupExecutor.setKeepAliveTime(1, TimeUnit.SECONDS);
+        cleanupExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns instance of <code>JavaCompilerSession</code>.
+     */
+    public static JavaCompilerSession instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns system java compiler.
+     *
+     * @return <code>JavaCompiler</code> or <code>null</code> if there is no system java compiler at current
+     * environment.
+     */
+    public JavaCompiler getCompiler() {
+        return compiler;
+    }
+
+    /**
+     * Closes all idle file managers releasing their caches.
+     */
+    public void release() {
+        PooledFileManager pooledFileManager;
+        while ((pooledFileManager = idleFileManagers.pollLast()) != null) {
+            close(pooledFileManager);
+        }
+    }
+
+    /**
+     * Sets period after which unused file managers are closed.
+     *
+     * @param idleTimeout idle timeout value.
+     * @param timeUnit    <code>TimeUnit</code> of idle timeout value.
+     */
+    public void setIdleTimeout(long idleTimeout, TimeUnit timeUnit) {
+        idleTimeoutNanos = timeUnit.toNanos(idleTimeout);
+    }
+
+    /**
+     * Performs received action with file manager exclusively borrowed from pool and returns it back after action is
+     * completed. If action fails file manager is closed instead as it may be left in inconsistent state.
+     *
+     * @param action <code>Function</code> to perform with file manager.
+     * @param <R>    type of action result.
+     * @return action result.
+     * @throws IllegalStateException if there is no system java compiler at current environment.
+     */
+    public <R> R withFileManager(Function<StandardJavaFileManager, R> action) {
+        if (compiler == null) {
+            throw new IllegalStateException("There is no system java compiler at current environment.");
+        }
+        PooledFileManager pooledFileManager = idleFileManagers.pollFirst();
+        if (pooledFileManager == null) {
+            log.debug("Creating new standard file manager.");
+            pooledFileManager = new PooledFileManager(compiler.getStandardFileManager(null, null, null));
+        }
+        R result;
+        try {
+            result = action.apply(pooledFileManager.fileManager);
+        } catch (RuntimeException | Error ex) {
+            close(pooledFileManager);
+            throw ex;
+        }
+        pooledFileManager.lastUsageTime = System.nanoTime();
+        idleFileManagers.offerFirst(pooledFileManager);
+        scheduleCleanup();
+        return result;
+    }
+
+    int getIdleFileManagersCount() {
+        return idleFileManagers.size();
+    }
+
+    private void cleanup() {
+        cleanupScheduled.set(false);
+        long now = System.nanoTime();
+        PooledFileManager pooledFileManager;
+        // least recently used file managers are at the end of deque
+        while ((pooledFileManager = idleFileManagers.pollLast()) != null) {
+            if (now - pooledFileManager.lastUsageTime < idleTimeoutNanos) {
+                idleFileManagers.offerLast(pooledFileManager);
+                break;
+            }
+            close(pooledFileManager);
+        }
+        if (!idleFileManagers.isEmpty()) {
+            scheduleCleanup();
+        }
+    }
+
+    private void close(PooledFileManager pooledFileManager) {
+        log.debug("Closing standard file manager.");
+        try {
+            pooledFileManager.fileManager.close();
+        } catch (IOException ioEx) {
+            log.warn(ioEx);
+        }
+    }
+
+    private void scheduleCleanup() {
+        if (cleanupScheduled.compareAndSet(false, true)) {
+            cleanupExecutor.schedule(this::cleanup, idleTimeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class PooledFileManager {
+
+        private final StandardJavaFileManager fileManager;
+        private volatile long lastUsageTime;
+
+        private PooledFileManager(StandardJavaFileManager fileManager) {
+            this.fileManager = fileManager;
+        }
+    }
+}
@@ -24,6 +24,10 @@
  */
 package com.github.vladislavsevruk.generator.proxy.source.compiler;
 
+import com.github.vladislavsevruk.generator.proxy.jfr.ProxyFlightEvent;
+import com.github.vladislavsevruk.generator.proxy.jfr.ProxyFlightRecorder;
+import com.github.vladislavsevruk.generator.proxy.listener.ProxyGenerationPhase;
+import com.github.vladislavsevruk.generator.proxy.source.bytecode.InliningAnalyzer;
 import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileManager;
 import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
 import com.github.vladislavsevruk.generator.proxy.source.file.JavaSourceFileObject;
@@ -34,13 +38,16 @@ import javax.tools.JavaCompiler;
 import javax.tools.JavaCompiler.CompilationTask;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
-import javax.tools.ToolProvider;
-import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
- * Compiles source code and defines compiled classes on runtime for further interaction.
+ * Compiles source code and defines compiled classes on runtime for further interaction. Compiled byte code is analyzed
+ * by {@link InliningAnalyzer} that reports methods which are too big to be inlined by JIT compiler. Compiled classes
+ * are modified only if received analyzer marks them as <code>final</code>, default analyzer is report-only.
  */
 @Log4j2
 public final class JavaSourceCompiler {
@@ -52,35 +59,90 @@ public final class JavaSourceCompiler {
      * Compiles received class source code and defines compiled classes on runtime for further interaction.
      *
      * @param name    <code>String</code> with expected binary name of the class.
-     * @param content <code>String</code> with class source code.
+     * @param content <code>CharSequence</code> with class source code.
      * @return <code>JavaByteFileObject</code> with compiled byte code.
      */
-    public static JavaByteFileObject compile(String name, String content) {
-        log.debug("Compiling '{}' class.", name);
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    public static JavaByteFileObject compile(String name, CharSequence content) {
+        return compile(Collections.singletonMap(name, content)).get(name);
+    }
+
+    /**
+     * Compiles received classes source code by single compilation task.
+     *
+     * @param contents <code>Map</code> with class source code mapped by expected binary name of the class.
+     * @return <code>Map</code> with compiled byte code mapped by binary name of the class or empty map if compilation
+     * failed.
+     */
+    public static Map<String, JavaByteFileObject> compile(Map<String, ? extends CharSequence> contents) {
+        return compile(contents, InliningAnalyzer.instance());
+    }
+
+    /**
+     * Compiles received classes source code by single compilation task and analyzes compiled byte code by received
+     * analyzer.
+     *
+     * @param contents         <code>Map</code> with class source code mapped by expected binary name of the class.
+     * @param inliningAnalyzer <code>InliningAnalyzer</code> to analyze compiled byte code with.
+     * @return <code>Map</code> with compiled byte code mapped by binary name of the class or empty map if compilation
+     * failed.
+     */
+    public static Map<String, JavaByteFileObject> compile(Map<String, ? extends CharSequence> contents,
+            InliningAnalyzer inliningAnalyzer) {
+        if (contents.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        log.debug("Compiling {} classes.", contents.keySet());
+        JavaCompilerSession compilerSession = JavaCompilerSession.instance();
+        JavaCompiler compiler = compilerSession.getCompiler();
+        if (compiler == null) {
+            log.warn("There is no system java compiler available to compile {} classes.", contents.keySet());
+            return Collections.emptyMap();
+        }
+        return compilerSession
+                .withFileManager(fileManager -> compile(compiler, fileManager, contents, inliningAnalyzer));
+    }
+
+    private static Map<String, JavaByteFileObject> compile(JavaCompiler compiler, StandardJavaFileManager fileManager,
+            Map<String, ? extends CharSequence> contents, InliningAnalyzer inliningAnalyzer) {
         DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
-        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
-            JavaFileObject javaFileObject = new JavaSourceFileObject(name, content);
-            JavaByteFileObject javaByteFileObject = new JavaByteFileObject(name);
-            JavaByteFileManager javaByteFileManager = new JavaByteFileManager(fileManager, javaByteFileObject);
-            CompilationTask compilationTask = compiler.getTask(null, javaByteFileManager, diagnostics, null, null,
-                    Collections.singletonList(javaFileObject));
+        List<JavaSourceFileObject> javaFileObjects = contents.entrySet().stream()
+                .map(entry -> new JavaSourceFileObject(entry.getKey(), entry.getValue())).collect(Collectors.toList());
+        // byte code file manager isn't closed as it would close reused standard file manager
+        JavaByteFileManager javaByteFileManager = new JavaByteFileManager(fileManager);
+        CompilationTask compilationTask = compiler.getTask(null, javaByteFileManager, diagnostics, null, null,
+                javaFileObjects);
+        ProxyFlightEvent flightEvent = ProxyFlightRecorder.begin(ProxyGenerationPhase.COMPILATION);
+        Map<String, JavaByteFileObject> compiledClasses = Collections.emptyMap();
+        try {
             if (Boolean.TRUE.equals(compilationTask.call())) {
-                log.debug("Successfully compiled '{}' class.", name);
-                return javaByteFileObject;
-            } else {
-                log.debug("Failed to compile '{}' class.", name);
-                logCompileErrors(diagnostics);
+                log.debug("Successfully compiled {} classes.", contents.keySet());
+                compiledClasses = inliningAnalyzer.analyze(javaByteFileManager.getCompiledClasses());
+                return compiledClasses;
             }
-        } catch (IOException ioEx) {
-            log.warn(ioEx);
+            log.debug("Failed to compile {} classes.", contents.keySet());
+            logCompileErrors(diagnostics);
+            return compiledClasses;
+        } finally {
+            flightEvent.commit(null, String.join(", ", contents.keySet()), getTotalLength(contents),
+                    getTotalBytecodeSize(compiledClasses), diagnostics.getDiagnostics().size(),
+                    !compiledClasses.isEmpty());
+            // compiler structures referenced by diagnostics shouldn't retain source code after compilation
+            javaFileObjects.forEach(JavaSourceFileObject::release);
         }
-        return null;
+    }
+
+    private static int getTotalBytecodeSize(Map<String, JavaByteFileObject> compiledClasses) {
+        return compiledClasses.values().stream().mapToInt(byteFileObject -> byteFileObject.getBytes().length).sum();
+    }
+
+    private static int getTotalLength(Map<String, ? extends CharSequence> contents) {
+        return contents.values().stream().mapToInt(CharSequence::length).sum();
     }
 
     private static void logCompileErrors(DiagnosticCollector<JavaFileObject> diagnostics) {
-        diagnostics.getDiagnostics().forEach(diagnostic -> log
-                .warn("{} at {} ({}, {}): {}.", diagnostic.getKind(), diagnostic.getSource().getName(),
-                        diagnostic.getLineNumber(), diagnostic.getColumnNumber(), diagnostic.getMessage(Locale.US)));
+        // notes about whole compilation like unchecked operations usage have no source
+        diagnostics.getDiagnostics().forEach(diagnostic -> log.warn("{} at {} ({}, {}): {}.", diagnostic.getKind(),
+                diagnostic.getSource() != null ? diagnostic.getSource().getName() : "compilation",
+                diagnostic.getLineNumber(), diagnostic.getColumnNumber(), diagnostic.getMessage(Locale.US)));
     }
 }
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.compiler;
+
+import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+import com.github.vladislavsevruk.generator.proxy.util.HashUtil;
+
+/**
+ * Produces byte code of dynamic proxy classes.
+ */
+public interface ProxyClassCompiler {
+
+    /**
+     * Produces byte code of proxy class for received schema object.
+     *
+     * @param name         <code>String</code> with expected binary name of the class.
+     * @param schemaObject <code>ProxyClassSchema</code> to produce proxy class byte code for.
+     * @return <code>JavaByteFileObject</code> with compiled byte code or <code>null</code> if compilation failed.
+     */
+    JavaByteFileObject compile(String name, ProxyClassSchema schemaObject);
+
+    /**
+     * Returns fingerprint that identifies byte code produced by this compiler. Proxy classes of compilers with equal
+     * fingerprints are shared by factories while ones of compilers with different fingerprints get different names, so
+     * compilers that produce different byte code depending on their configuration should include it to fingerprint.
+     * Compilers that cannot derive fingerprint from their configuration may return <code>null</code>, so fingerprint
+     * of proxy class is derived from its byte code by {@link #getFingerprint(ProxyClassSchema)}.
+     *
+     * @return <code>String</code> with fingerprint of this compiler or <code>null</code> if compiler has no
+     * fingerprint.
+     */
+    default String getFingerprint() {
+        return getClass().getName();
+    }
+
+    /**
+     * Returns fingerprint that identifies byte code produced by this compiler for received schema object. Fingerprint
+     * of compiler is used if it's present, otherwise proxy class is compiled to derive fingerprint from hash of its
+     * byte code.
+     *
+     * @param schemaObject <code>ProxyClassSchema</code> to get proxy class fingerprint for.
+     * @return <code>String</code> with fingerprint of proxy class produced by this compiler.
+     */
+    default String getFingerprint(ProxyClassSchema schemaObject) {
+        String fingerprint = getFingerprint();
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+        JavaByteFileObject byteFileObject = compile(schemaObject.getBinaryName(), schemaObject);
+        return byteFileObject == null ? getClass().getName()
+                : String.format("%s[%s]", getClass().getName(), HashUtil.hash(byteFileObject.getBytes()));
+    }
+}
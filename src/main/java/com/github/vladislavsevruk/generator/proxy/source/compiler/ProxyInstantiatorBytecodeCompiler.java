@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.compiler;
+
+import com.github.vladislavsevruk.generator.proxy.ProxyInstantiator;
+import com.github.vladislavsevruk.generator.proxy.source.bytecode.ClassFileWriter;
+import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
+import com.github.vladislavsevruk.generator.proxy.util.DescriptorUtil;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Writes byte code of {@link ProxyInstantiator} implementations that unpack received arguments array and call picked
+ * constructor directly, so instances are created without reflection.
+ */
+@Log4j2
+public class ProxyInstantiatorBytecodeCompiler {
+
+    /**
+     * Writes byte code of <code>ProxyInstantiator</code> implementation for received constructor.
+     *
+     * @param name        <code>String</code> with binary name of instantiator class.
+     * @param constructor <code>Constructor</code> to call at instantiator.
+     * @return <code>JavaByteFileObject</code> with compiled instantiator class.
+     */
+    public JavaByteFileObject compile(String name, Constructor<?> constructor) {
+        log.debug("Writing byte code for '{}' class.", name);
+        String object = DescriptorUtil.getInternalName(Object.class);
+        ClassFileWriter classFileWriter = new ClassFileWriter(
+                ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER,
+                DescriptorUtil.getInternalName(name), object, null);
+        classFileWriter.addInterface(DescriptorUtil.getInternalName(ProxyInstantiator.class));
+        classFileWriter.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", DescriptorUtil.getMethodDescriptor(void.class),
+                new String[0], 0).loadThis().invokeSpecial(object, "<init>", void.class).returnValue(void.class);
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        String createdClass = DescriptorUtil.getInternalName(constructor.getDeclaringClass());
+        classFileWriter.addMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_VARARGS, "create",
+                DescriptorUtil.getMethodDescriptor(Object.class, Object[].class), new String[0], 1)
+                .newInstance(createdClass).unpackArrayArgument(parameterTypes)
+                .invokeSpecial(createdClass, "<init>", void.class, parameterTypes).returnValue(Object.class);
+        return new JavaByteFileObject(name, classFileWriter.toByteArray());
+    }
+}
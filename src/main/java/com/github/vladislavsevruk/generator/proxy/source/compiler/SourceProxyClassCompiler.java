@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.compiler;
+
+import com.github.vladislavsevruk.generator.proxy.source.bytecode.InliningAnalyzer;
+import com.github.vladislavsevruk.generator.proxy.source.cache.BytecodeDiskCache;
+import com.github.vladislavsevruk.generator.proxy.source.file.ChunkedSourceCode;
+import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
+import com.github.vladislavsevruk.generator.proxy.source.generator.ProxySourceCodeGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+import com.github.vladislavsevruk.generator.proxy.util.HashUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+
+/**
+ * Compiles proxy classes from source code produced by received source code generator using system java compiler.
+ * Compiled byte code may be stored at persistent cache so compilation is skipped if the same proxy is requested again
+ * even after JVM restart.
+ *
+ * @see JavaSourceCompiler
+ * @see ProxySourceCodeGenerator
+ * @see BytecodeDiskCache
+ */
+public class SourceProxyClassCompiler implements ProxyClassCompiler {
+
+    private final BytecodeDiskCache bytecodeDiskCache;
+    private final ProxySourceCodeGenerator proxySourceCodeGenerator;
+
+    public SourceProxyClassCompiler(ProxySourceCodeGenerator proxySourceCodeGenerator) {
+        this(proxySourceCodeGenerator, null);
+    }
+
+    public SourceProxyClassCompiler(ProxySourceCodeGenerator proxySourceCodeGenerator,
+            BytecodeDiskCache bytecodeDiskCache) {
+        this.proxySourceCodeGenerator = proxySourceCodeGenerator;
+        this.bytecodeDiskCache = bytecodeDiskCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JavaByteFileObject compile(String name, ProxyClassSchema schemaObject) {
+        return compile(name, schemaObject, generateSource(schemaObject));
+    }
+
+    /**
+     * Compiles byte code of proxy class from already generated source code or picks it from persistent cache.
+     *
+     * @param name         <code>String</code> with expected binary name of the class.
+     * @param schemaObject <code>ProxyClassSchema</code> that was used for source code generation.
+     * @param sourceCode   <code>CharSequence</code> with proxy class source code.
+     * @return <code>JavaByteFileObject</code> with compiled byte code or <code>null</code> if compilation failed.
+     */
+    public JavaByteFileObject compile(String name, ProxyClassSchema schemaObject, CharSequence sourceCode) {
+        JavaByteFileObject cachedByteFileObject = findCachedClass(name, schemaObject, sourceCode);
+        return cachedByteFileObject != null ? cachedByteFileObject : compileAndStore(name, schemaObject, sourceCode);
+    }
+
+    /**
+     * Compiles byte code of proxy class from already generated source code without looking for it at persistent cache
+     * and stores it there if cache is enabled.
+     *
+     * @param name         <code>String</code> with expected binary name of the class.
+     * @param schemaObject <code>ProxyClassSchema</code> that was used for source code generation.
+     * @param sourceCode   <code>CharSequence</code> with proxy class source code.
+     * @return <code>JavaByteFileObject</code> with compiled byte code or <code>null</code> if compilation failed.
+     */
+    public JavaByteFileObject compileAndStore(String name, ProxyClassSchema schemaObject, CharSequence sourceCode) {
+        JavaByteFileObject compiledByteFileObject = recompileIfRequired(name, schemaObject,
+                compileSource(name, sourceCode));
+        storeCompiledClass(schemaObject, sourceCode, compiledByteFileObject);
+        return compiledByteFileObject;
+    }
+
+    /**
+     * Removes byte code of proxy class with received source code from persistent cache if cache is enabled, e.g. if
+     * cached byte code cannot be defined.
+     *
+     * @param schemaObject <code>ProxyClassSchema</code> that was used for source code generation.
+     * @param sourceCode   <code>CharSequence</code> with proxy class source code.
+     */
+    public void evictCachedClass(ProxyClassSchema schemaObject, CharSequence sourceCode) {
+        if (bytecodeDiskCache != null) {
+            bytecodeDiskCache.remove(BytecodeDiskCache.generateKey(schemaObject.delegatedClass(), sourceCode));
+        }
+    }
+
+    /**
+     * Looks for previously compiled byte code of proxy class with received source code at persistent cache.
+     *
+     * @param name         <code>String</code> with expected binary name of the class.
+     * @param schemaObject <code>ProxyClassSchema</code> that was used for source code generation.
+     * @param sourceCode   <code>CharSequence</code> with proxy class source code.
+     * @return <code>JavaByteFileObject</code> with cached byte code or <code>null</code> if cache is disabled or has
+     * no matching entry.
+     */
+    public JavaByteFileObject findCachedClass(String name, ProxyClassSchema schemaObject, CharSequence sourceCode) {
+        if (bytecodeDiskCache == null) {
+            return null;
+        }
+        byte[] bytes = bytecodeDiskCache.get(BytecodeDiskCache.generateKey(schemaObject.delegatedClass(), sourceCode));
+        return bytes != null ? new JavaByteFileObject(name, bytes) : null;
+    }
+
+    /**
+     * Generates source code of proxy class for received schema object.
+     *
+     * @param schemaObject <code>ProxyClassSchema</code> to generate proxy source code for.
+     * @return <code>ChunkedSourceCode</code> with generated source code.
+     */
+    public ChunkedSourceCode generateSource(ProxyClassSchema schemaObject) {
+        ChunkedSourceCode sourceCode = new ChunkedSourceCode();
+        try {
+            proxySourceCodeGenerator.generate(schemaObject, sourceCode);
+        } catch (IOException ioEx) {
+            throw new UncheckedIOException(ioEx);
+        }
+        return sourceCode;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getFingerprint() {
+        return proxySourceCodeGenerator.getFingerprint();
+    }
+
+    /**
+     * Returns fingerprint of source code generator if it's present, otherwise fingerprint is derived from hash of
+     * source code generated for received schema object, so proxy class isn't compiled just to get fingerprint.
+     *
+     * @param schemaObject <code>ProxyClassSchema</code> to get proxy class fingerprint for.
+     * @return <code>String</code> with fingerprint of proxy class produced by this compiler.
+     */
+    @Override
+    public String getFingerprint(ProxyClassSchema schemaObject) {
+        String fingerprint = getFingerprint();
+        return fingerprint != null ? fingerprint : String.format("%s[%s]",
+                proxySourceCodeGenerator.getClass().getName(), HashUtil.hash(generateSource(schemaObject)));
+    }
+
+    /**
+     * Recompiles proxy class from source code that source code generator produces again for already compiled byte
+     * code, e.g. when real code length of compiled methods should be reduced. Compiled byte code is kept as is if
+     * generator doesn't require recompilation or recompilation fails.
+     *
+     * @param name                   <code>String</code> with expected binary name of the class.
+     * @param schemaObject           <code>ProxyClassSchema</code> that was used for source code generation.
+     * @param compiledByteFileObject <code>JavaByteFileObject</code> with compiled byte code.
+     * @return <code>JavaByteFileObject</code> with recompiled or received byte code.
+     * @see ProxySourceCodeGenerator#regenerate(ProxyClassSchema, JavaByteFileObject)
+     */
+    public JavaByteFileObject recompileIfRequired(String name, ProxyClassSchema schemaObject,
+            JavaByteFileObject compiledByteFileObject) {
+        if (compiledByteFileObject == null) {
+            return null;
+        }
+        String regeneratedSourceCode = proxySourceCodeGenerator.regenerate(schemaObject, compiledByteFileObject);
+        if (regeneratedSourceCode == null) {
+            return compiledByteFileObject;
+        }
+        JavaByteFileObject recompiledByteFileObject = compileSource(name, regeneratedSourceCode);
+        return recompiledByteFileObject != null ? recompiledByteFileObject : compiledByteFileObject;
+    }
+
+    /**
+     * Stores compiled byte code of proxy class with received source code at persistent cache if cache is enabled.
+     *
+     * @param schemaObject           <code>ProxyClassSchema</code> that was used for source code generation.
+     * @param sourceCode             <code>CharSequence</code> with proxy class source code.
+     * @param compiledByteFileObject <code>JavaByteFileObject</code> with compiled byte code.
+     */
+    public void storeCompiledClass(ProxyClassSchema schemaObject, CharSequence sourceCode,
+            JavaByteFileObject compiledByteFileObject) {
+        if (bytecodeDiskCache == null || compiledByteFileObject == null) {
+            return;
+        }
+        bytecodeDiskCache.put(BytecodeDiskCache.generateKey(schemaObject.delegatedClass(), sourceCode),
+                compiledByteFileObject.getBytes());
+    }
+
+    private JavaByteFileObject compileSource(String name, CharSequence sourceCode) {
+        // proxy classes aren't supposed to be extended so they're marked as final to help class hierarchy analysis
+        return JavaSourceCompiler
+                .compile(Collections.singletonMap(name, sourceCode), InliningAnalyzer.finalMarkingInstance()).get(name);
+    }
+}
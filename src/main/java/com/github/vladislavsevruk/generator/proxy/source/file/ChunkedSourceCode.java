@@ -0,0 +1,210 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.file;
+
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Appendable source code sink that keeps appended content as list of chunks instead of concatenating it into single
+ * string. Short appended values are collected into pending chunk so char-by-char writing doesn't produce a lot of
+ * chunks. Content may be read by {@link #openReader()} or copied once into {@link #toCharBuffer()} without building
+ * intermediate string. Instances aren't thread-safe.
+ */
+public final class ChunkedSourceCode implements Appendable, CharSequence {
+
+    private static final int MAX_PENDING_CHUNK_LENGTH = 8192;
+    private static final int MIN_STANDALONE_CHUNK_LENGTH = 256;
+    private int[] chunkOffsets = new int[16];
+    private final List<String> chunks = new ArrayList<>();
+    private int lastAccessedChunk;
+    private int length;
+    private final StringBuilder pendingChunk = new StringBuilder();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ChunkedSourceCode append(CharSequence csq) {
+        String value = String.valueOf(csq);
+        if (value.length() < MIN_STANDALONE_CHUNK_LENGTH) {
+            pendingChunk.append(value);
+            if (pendingChunk.length() >= MAX_PENDING_CHUNK_LENGTH) {
+                flushPendingChunk();
+            }
+        } else {
+            flushPendingChunk();
+            addChunk(value);
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ChunkedSourceCode append(CharSequence csq, int start, int end) {
+        return append(String.valueOf(csq).subSequence(start, end));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ChunkedSourceCode append(char c) {
+        pendingChunk.append(c);
+        if (pendingChunk.length() >= MAX_PENDING_CHUNK_LENGTH) {
+            flushPendingChunk();
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char charAt(int index) {
+        flushPendingChunk();
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+        }
+        // sequential reading mostly hits the same or the next chunk so binary search is rarely needed
+        int chunkIndex = lastAccessedChunk;
+        if (index < chunkOffsets[chunkIndex] || index >= chunkOffsets[chunkIndex] + chunks.get(chunkIndex).length()) {
+            chunkIndex = findChunk(index);
+            lastAccessedChunk = chunkIndex;
+        }
+        return chunks.get(chunkIndex).charAt(index - chunkOffsets[chunkIndex]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int length() {
+        return length + pendingChunk.length();
+    }
+
+    /**
+     * Opens reader that reads content chunk by chunk.
+     *
+     * @return <code>Reader</code> for content of this source code.
+     */
+    public Reader openReader() {
+        flushPendingChunk();
+        return new ChunkReader();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toCharBuffer().subSequence(start, end);
+    }
+
+    /**
+     * Copies content into new array-backed char buffer.
+     *
+     * @return <code>CharBuffer</code> with content of this source code.
+     */
+    public CharBuffer toCharBuffer() {
+        flushPendingChunk();
+        char[] content = new char[length];
+        for (int i = 0; i < chunks.size(); ++i) {
+            String chunk = chunks.get(i);
+            chunk.getChars(0, chunk.length(), content, chunkOffsets[i]);
+        }
+        return CharBuffer.wrap(content);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toCharBuffer().toString();
+    }
+
+    private void addChunk(String chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        if (chunks.size() == chunkOffsets.length) {
+            chunkOffsets = Arrays.copyOf(chunkOffsets, chunkOffsets.length * 2);
+        }
+        chunkOffsets[chunks.size()] = length;
+        chunks.add(chunk);
+        length += chunk.length();
+    }
+
+    private int findChunk(int index) {
+        int chunkIndex = Arrays.binarySearch(chunkOffsets, 0, chunks.size(), index);
+        // insertion point follows chunk that contains received index
+        return chunkIndex >= 0 ? chunkIndex : -chunkIndex - 2;
+    }
+
+    private void flushPendingChunk() {
+        if (pendingChunk.length() > 0) {
+            addChunk(pendingChunk.toString());
+            pendingChunk.setLength(0);
+        }
+    }
+
+    /**
+     * Reader that copies chars directly from chunks.
+     */
+    private final class ChunkReader extends Reader {
+
+        private int chunkIndex;
+        private int position;
+
+        @Override
+        public void close() {
+            chunkIndex = chunks.size();
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int count) {
+            if (count == 0) {
+                return 0;
+            }
+            if (chunkIndex >= chunks.size()) {
+                return -1;
+            }
+            String chunk = chunks.get(chunkIndex);
+            int readCount = Math.min(count, chunk.length() - position);
+            chunk.getChars(position, position + readCount, buffer, offset);
+            position += readCount;
+            if (position == chunk.length()) {
+                ++chunkIndex;
+                position = 0;
+            }
+            return readCount;
+        }
+    }
+}
@@ -28,25 +28,44 @@ import javax.tools.FileObject;
 import javax.tools.ForwardingJavaFileManager;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
- * File manager that uses certain byte code file for compilation output.
+ * File manager that uses certain byte code file for compilation output or collects byte code files for every compiled
+ * class if no certain file was received.
  */
 public class JavaByteFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
 
+    private final Map<String, JavaByteFileObject> compiledClasses = new LinkedHashMap<>();
     private JavaByteFileObject javaByteFileObject;
 
+    public JavaByteFileManager(StandardJavaFileManager fileManager) {
+        super(fileManager);
+    }
+
     public JavaByteFileManager(StandardJavaFileManager fileManager, JavaByteFileObject javaByteFileObject) {
         super(fileManager);
         this.javaByteFileObject = javaByteFileObject;
     }
 
+    /**
+     * Returns byte code files of compiled classes mapped by their binary names.
+     */
+    public Map<String, JavaByteFileObject> getCompiledClasses() {
+        return Collections.unmodifiableMap(compiledClasses);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
             FileObject sibling) {
-        return javaByteFileObject;
+        if (javaByteFileObject != null) {
+            return javaByteFileObject;
+        }
+        return compiledClasses.computeIfAbsent(className, JavaByteFileObject::new);
     }
 }
@@ -41,6 +41,11 @@ public class JavaByteFileObject extends SimpleJavaFileObject {
         outputStream = new ByteArrayOutputStream();
     }
 
+    public JavaByteFileObject(String name, byte[] bytes) {
+        this(name);
+        outputStream.write(bytes, 0, bytes.length);
+    }
+
     public byte[] getBytes() {
         return outputStream.toByteArray();
     }
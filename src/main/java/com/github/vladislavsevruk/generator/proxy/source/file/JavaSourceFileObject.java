@@ -25,16 +25,25 @@
 package com.github.vladislavsevruk.generator.proxy.source.file;
 
 import javax.tools.SimpleJavaFileObject;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.URI;
+import java.nio.CharBuffer;
 
 /**
- * Represents source file object coming from a string.
+ * Represents source file object coming from a string or {@link ChunkedSourceCode}. Chunked source code is served
+ * without concatenating it into single string and is copied into char buffer once per file object, so repeated
+ * requests of char content by compiler reuse the same buffer. This only saves memory for generators that write
+ * source code by parts, as source code generated as single string is copied into buffer anyway. Source code may be
+ * released when compilation is finished so it isn't retained by compiler structures that still reference this file
+ * object.
  */
 public class JavaSourceFileObject extends SimpleJavaFileObject {
 
-    private final String sourceCode;
+    private volatile CharBuffer charContent;
+    private volatile CharSequence sourceCode;
 
-    public JavaSourceFileObject(String name, String sourceCode) {
+    public JavaSourceFileObject(String name, CharSequence sourceCode) {
         super(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
         this.sourceCode = sourceCode;
     }
@@ -44,6 +53,44 @@ public class JavaSourceFileObject extends SimpleJavaFileObject {
      */
     @Override
     public CharSequence getCharContent(boolean ignoreEncodingErrors) {
-        return sourceCode;
+        CharSequence content = getSourceCode();
+        if (!(content instanceof ChunkedSourceCode)) {
+            return content;
+        }
+        CharBuffer buffer = charContent;
+        if (buffer == null) {
+            // array-backed buffer is read by compiler directly without copying it into string
+            buffer = ((ChunkedSourceCode) content).toCharBuffer();
+            charContent = buffer;
+        }
+        // duplicate shares content but keeps position of cached buffer intact
+        return buffer.duplicate();
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Reader openReader(boolean ignoreEncodingErrors) {
+        CharSequence content = getSourceCode();
+        return content instanceof ChunkedSourceCode ? ((ChunkedSourceCode) content).openReader()
+                : new StringReader(content.toString());
+    }
+
+    /**
+     * Releases source code and its cached char buffer so they can be garbage collected even if this file object is
+     * still referenced.
+     */
+    public void release() {
+        sourceCode = null;
+        charContent = null;
+    }
+
+    private CharSequence getSourceCode() {
+        CharSequence content = sourceCode;
+        if (content == null) {
+            throw new IllegalStateException(String.format("Source code of '%s' was already released.", toUri()));
+        }
+        return content;
+    }
+}
@@ -29,6 +29,10 @@ import com.github.vladislavsevruk.generator.java.context.ClassGenerationContextM
 import com.github.vladislavsevruk.generator.java.generator.ClassElementCollectionGenerator;
 import com.github.vladislavsevruk.generator.java.generator.ClassElementGenerator;
 import com.github.vladislavsevruk.generator.java.provider.JavaClassContentGeneratorProvider;
+import com.github.vladislavsevruk.generator.proxy.jfr.ProxyFlightEvent;
+import com.github.vladislavsevruk.generator.proxy.jfr.ProxyFlightRecorder;
+import com.github.vladislavsevruk.generator.proxy.listener.ProxyGenerationEvent;
+import com.github.vladislavsevruk.generator.proxy.listener.ProxyGenerationPhase;
 import com.github.vladislavsevruk.generator.proxy.source.generator.constructor.ProxyClassConstructorGenerator;
 import com.github.vladislavsevruk.generator.proxy.source.generator.provider.ClonedJavaClassContentGeneratorProvider;
 import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
@@ -49,12 +53,25 @@ public abstract class BaseProxySourceCodeGenerator implements ProxySourceCodeGen
     @Override
     public String generate(ProxyClassSchema proxyClassSchemaObject) {
         log.debug("Generating source code for '{}' class.", proxyClassSchemaObject.getName());
-        JavaClassContentGeneratorProvider classContentGeneratorProvider = ClassGenerationContextManager.getContext()
-                .getClassContentGeneratorPicker().pickClassContentGeneratorProvider(proxyClassSchemaObject);
-        JavaClassContentGeneratorProvider localContentGeneratorProvider = getLocalContentGeneratorProvider(
-                classContentGeneratorProvider, proxyClassSchemaObject.delegatedClass());
-        return new JavaClassContentGenerator(localContentGeneratorProvider)
-                .generate(setupJavaClassGeneratorConfig(), proxyClassSchemaObject);
+        Collection<Class<?>> interfaces = getInterfacesDeclaration(proxyClassSchemaObject.delegatedClass());
+        ProxyClassSchema schemaObject = interfaces.isEmpty() ? proxyClassSchemaObject
+                : proxyClassSchemaObject.withInterfaces(interfaces);
+        ProxyFlightEvent flightEvent = ProxyFlightRecorder.begin(ProxyGenerationPhase.SOURCE_GENERATION);
+        String sourceCode = null;
+        try {
+            JavaClassContentGeneratorProvider classContentGeneratorProvider = ClassGenerationContextManager
+                    .getContext().getClassContentGeneratorPicker()
+                    .pickClassContentGeneratorProvider(schemaObject);
+            JavaClassContentGeneratorProvider localContentGeneratorProvider = getLocalContentGeneratorProvider(
+                    classContentGeneratorProvider, proxyClassSchemaObject.delegatedClass());
+            sourceCode = new JavaClassContentGenerator(localContentGeneratorProvider)
+                    .generate(setupJavaClassGeneratorConfig(), schemaObject);
+            return sourceCode;
+        } finally {
+            flightEvent.commit(proxyClassSchemaObject.delegatedClass(), proxyClassSchemaObject.getBinaryName(),
+                    sourceCode != null ? sourceCode.length() : ProxyGenerationEvent.UNKNOWN_SIZE,
+                    ProxyGenerationEvent.UNKNOWN_SIZE, 0, sourceCode != null);
+        }
     }
 
     protected Collection<ClassElementGenerator> getConstructorsDeclaration(Class<?> clazz) {
@@ -73,6 +90,12 @@ public abstract class BaseProxySourceCodeGenerator implements ProxySourceCodeGen
         return Collections.emptyList();
     }
 
+    @SuppressWarnings("unused")
+    protected Collection<Class<?>> getInterfacesDeclaration(Class<?> clazz) {
+        // no implemented interfaces by default
+        return Collections.emptyList();
+    }
+
     protected JavaClassContentGeneratorProvider getLocalContentGeneratorProvider(
             JavaClassContentGeneratorProvider classContentGeneratorProvider, Class<?> clazz) {
         JavaClassContentGeneratorProvider localContentGeneratorProvider = new ClonedJavaClassContentGeneratorProvider(
@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.generator;
+
+import com.github.vladislavsevruk.generator.java.generator.ClassElementCollectionGenerator;
+import com.github.vladislavsevruk.generator.java.generator.ClassElementGenerator;
+import com.github.vladislavsevruk.generator.proxy.IndexedInvocationHandler;
+import com.github.vladislavsevruk.generator.proxy.IndexedProxy;
+import com.github.vladislavsevruk.generator.proxy.source.bytecode.ClassFileReader;
+import com.github.vladislavsevruk.generator.proxy.source.bytecode.MethodCodeSize;
+import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
+import com.github.vladislavsevruk.generator.proxy.source.generator.method.IndexedInvocationProxyMethodGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.matcher.MethodMatcher;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+import com.github.vladislavsevruk.generator.proxy.util.DescriptorUtil;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates source code of proxy classes that implement {@link IndexedProxy} and pass calls of overridden methods to
+ * {@link IndexedInvocationHandler}. Proxy methods call original methods directly until handler is set. Only methods
+ * accepted by {@link MethodMatcher} are intercepted, other ones are inherited from delegated class as is. If byte code
+ * size limit is received, real code length of proxy methods is measured at compiled proxy class and source code is
+ * generated again with handler call moved out to separate method only if some proxy methods exceed limit, so they're
+ * kept inlinable.
+ *
+ * @see IndexedInvocationProxyMethodGenerator
+ */
+@Log4j2
+public class IndexedInvocationProxySourceGenerator extends BaseProxySourceCodeGenerator {
+
+    private static final int ACC_BRIDGE = 0x0040;
+    private static final int ACC_SYNTHETIC = 0x1000;
+    private final int maxProxyMethodSize;
+    private final MethodMatcher methodMatcher;
+    private final Collection<Method> outlinedMethods;
+    private final boolean overrideNonPublicMethods;
+
+    public IndexedInvocationProxySourceGenerator() {
+        this(false);
+    }
+
+    public IndexedInvocationProxySourceGenerator(MethodMatcher methodMatcher) {
+        this(false, methodMatcher);
+    }
+
+    public IndexedInvocationProxySourceGenerator(boolean overrideNonPublicMethods) {
+        this(overrideNonPublicMethods, MethodMatcher.any());
+    }
+
+    public IndexedInvocationProxySourceGenerator(boolean overrideNonPublicMethods, MethodMatcher methodMatcher) {
+        this(overrideNonPublicMethods, methodMatcher, Integer.MAX_VALUE);
+    }
+
+    public IndexedInvocationProxySourceGenerator(boolean overrideNonPublicMethods, MethodMatcher methodMatcher,
+            int maxProxyMethodSize) {
+        this(overrideNonPublicMethods, methodMatcher, maxProxyMethodSize, null);
+    }
+
+    private IndexedInvocationProxySourceGenerator(boolean overrideNonPublicMethods, MethodMatcher methodMatcher,
+            int maxProxyMethodSize, Collection<Method> outlinedMethods) {
+        this.methodMatcher = methodMatcher;
+        this.maxProxyMethodSize = maxProxyMethodSize;
+        this.outlinedMethods = outlinedMethods;
+        this.overrideNonPublicMethods = overrideNonPublicMethods;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getFingerprint() {
+        String methodMatcherFingerprint = methodMatcher.getFingerprint();
+        return methodMatcherFingerprint == null ? null : String.format("%s[%s,%s,%s]", getClass().getName(),
+                overrideNonPublicMethods, maxProxyMethodSize, methodMatcherFingerprint);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String regenerate(ProxyClassSchema schemaObject, JavaByteFileObject compiledByteFileObject) {
+        if (outlinedMethods != null || maxProxyMethodSize == Integer.MAX_VALUE) {
+            return null;
+        }
+        Collection<Method> oversizedMethods = findOversizedMethods(schemaObject.delegatedClass(),
+                new ClassFileReader(compiledByteFileObject.getBytes()));
+        log.debug("{} proxy methods of '{}' class exceed {} bytes of byte code.", oversizedMethods.size(),
+                schemaObject.getName(), maxProxyMethodSize);
+        return oversizedMethods.isEmpty() ? null : withOutlinedMethods(oversizedMethods).generate(schemaObject);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Collection<ClassElementCollectionGenerator> getFieldsDeclaration(Class<?> clazz) {
+        return Collections.singletonList((config, schemaObject) -> Collections.singletonList(String
+                .format("%sprivate %s %s;%n%n", config.getIndent().value(), IndexedInvocationHandler.class.getName(),
+                        IndexedInvocationProxyMethodGenerator.INVOCATION_HANDLER_FIELD)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Collection<Class<?>> getInterfacesDeclaration(Class<?> clazz) {
+        return Collections.singletonList(IndexedProxy.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Collection<ClassElementGenerator> getMethodsDeclaration(Class<?> clazz) {
+        return Collections.singletonList(new IndexedInvocationProxyMethodGenerator(clazz, overrideNonPublicMethods,
+                methodMatcher, outlinedMethods != null ? outlinedMethods : Collections.emptySet()));
+    }
+
+    private Collection<Method> findOversizedMethods(Class<?> clazz, ClassFileReader classFile) {
+        Map<String, List<MethodCodeSize>> compiledMethods = classFile.getMethods().stream()
+                .filter(method -> (method.getAccessFlags() & (ACC_BRIDGE | ACC_SYNTHETIC)) == 0)
+                .collect(Collectors.groupingBy(method -> method.getName() + getParametersCount(method)));
+        Set<Method> oversizedMethods = new HashSet<>();
+        for (Method method : new IndexedInvocationProxyMethodGenerator(clazz, overrideNonPublicMethods, methodMatcher)
+                .getIndexedMethods()) {
+            List<MethodCodeSize> candidates = compiledMethods
+                    .getOrDefault(method.getName() + method.getParameterCount(), Collections.emptyList());
+            String descriptor = DescriptorUtil.getMethodDescriptor(method.getReturnType(), method.getParameterTypes());
+            List<MethodCodeSize> exactMatches = candidates.stream()
+                    .filter(candidate -> descriptor.equals(candidate.getDescriptor())).collect(Collectors.toList());
+            // proxy method declared with resolved type variables has other descriptor so the largest overload is used
+            int codeLength = (exactMatches.isEmpty() ? candidates : exactMatches).stream()
+                    .mapToInt(MethodCodeSize::getCodeLength).max().orElse(0);
+            if (codeLength > maxProxyMethodSize) {
+                oversizedMethods.add(method);
+            }
+        }
+        return oversizedMethods;
+    }
+
+    private int getParametersCount(MethodCodeSize method) {
+        String descriptor = method.getDescriptor();
+        int parametersCount = 0;
+        int i = 1;
+        while (descriptor.charAt(i) != ')') {
+            while (descriptor.charAt(i) == '[') {
+                ++i;
+            }
+            i = descriptor.charAt(i) == 'L' ? descriptor.indexOf(';', i) + 1 : i + 1;
+            ++parametersCount;
+        }
+        return parametersCount;
+    }
+
+    private IndexedInvocationProxySourceGenerator withOutlinedMethods(Collection<Method> methods) {
+        return new IndexedInvocationProxySourceGenerator(overrideNonPublicMethods, methodMatcher, maxProxyMethodSize,
+                methods);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.generator;
+
+import com.github.vladislavsevruk.generator.java.generator.ClassElementCollectionGenerator;
+import com.github.vladislavsevruk.generator.java.generator.ClassElementGenerator;
+import com.github.vladislavsevruk.generator.java.type.SchemaEntity;
+import com.github.vladislavsevruk.generator.proxy.source.generator.constructor.InterfaceDelegationConstructorGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.generator.method.InterfaceDelegationMethodGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generates source code of proxy classes for interfaces that delegate calls to target instance received by
+ * constructor. Unlike {@link java.lang.reflect.Proxy} each method calls target method directly via field typed as
+ * declaring interface, so calls don't require arguments boxing, reflective invocation or exceptions unwrapping and
+ * may be inlined by JIT compiler. Delegated class of received schema should be an interface, additional interfaces may
+ * be set via {@link ProxyClassSchema#ProxyClassSchema(Class, String, Collection)}.
+ *
+ * @see InterfaceDelegationConstructorGenerator
+ * @see InterfaceDelegationMethodGenerator
+ */
+public class InterfaceDelegationProxySourceGenerator extends BaseProxySourceCodeGenerator {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String generate(ProxyClassSchema proxyClassSchemaObject) {
+        if (!proxyClassSchemaObject.delegatedClass().isInterface()) {
+            throw new IllegalArgumentException(proxyClassSchemaObject.delegatedClass().getName()
+                    + " is not an interface.");
+        }
+        return super.generate(proxyClassSchemaObject);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getFingerprint() {
+        // generator has no configuration so all its instances produce the same source code
+        return getClass().getName();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Collection<ClassElementGenerator> getConstructorsDeclaration(Class<?> clazz) {
+        return Collections.singletonList(new InterfaceDelegationConstructorGenerator());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Collection<ClassElementCollectionGenerator> getFieldsDeclaration(Class<?> clazz) {
+        return Collections.singletonList((config, schemaObject) -> {
+            List<SchemaEntity> interfaces = schemaObject.getInterfaces();
+            List<String> fields = new ArrayList<>(interfaces.size());
+            for (int i = 0; i < interfaces.size(); ++i) {
+                fields.add(String.format("%sprivate final %s %s;%n%n", config.getIndent().value(),
+                        interfaces.get(i).getParameterizedDeclaration(),
+                        InterfaceDelegationMethodGenerator.getTargetFieldName(i)));
+            }
+            return fields;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Collection<ClassElementGenerator> getMethodsDeclaration(Class<?> clazz) {
+        return Collections.singletonList(new InterfaceDelegationMethodGenerator());
+    }
+}
@@ -23,8 +23,11 @@
  */
 package com.github.vladislavsevruk.generator.proxy.source.generator;
 
+import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
 import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
 
+import java.io.IOException;
+
 /**
  * Generates source code for dynamic proxy.
  */
@@ -38,4 +41,45 @@ public interface ProxySourceCodeGenerator {
      * @return <code>String</code> with generated source code.
      */
     String generate(ProxyClassSchema schemaObject);
+
+    /**
+     * Generates source code for proxying received schema object writing it to received sink. Generators that produce
+     * source code by parts may override this method to write parts directly without concatenating them into single
+     * string.
+     *
+     * @param schemaObject <code>ProxyClassSchema</code> to generate proxy source code for.
+     * @param sourceCode   <code>Appendable</code> to write generated source code to.
+     * @throws IOException if sink fails to append source code.
+     */
+    default void generate(ProxyClassSchema schemaObject, Appendable sourceCode) throws IOException {
+        sourceCode.append(generate(schemaObject));
+    }
+
+    /**
+     * Returns fingerprint that identifies source code produced by this generator. Generators that produce different
+     * source code depending on their configuration should derive fingerprint from it. Generators have no fingerprint
+     * by default, so fingerprint of proxy class is derived from hash of its generated source code.
+     *
+     * @return <code>String</code> with fingerprint of this generator or <code>null</code> if generator has no
+     * fingerprint.
+     * @see com.github.vladislavsevruk.generator.proxy.source.compiler.ProxyClassCompiler#getFingerprint()
+     */
+    default String getFingerprint() {
+        return null;
+    }
+
+    /**
+     * Generates source code for proxying received schema object again after it was compiled, so generators may adjust
+     * source code to compiled byte code, e.g. to real code length of methods. Compiled byte code is kept as is if
+     * <code>null</code> is returned.
+     *
+     * @param schemaObject           <code>ProxyClassSchema</code> to generate proxy source code for.
+     * @param compiledByteFileObject <code>JavaByteFileObject</code> with byte code compiled from source code generated
+     *                               for received schema object.
+     * @return <code>String</code> with source code to compile proxy class from or <code>null</code> if compiled byte
+     * code doesn't require recompilation.
+     */
+    default String regenerate(ProxyClassSchema schemaObject, JavaByteFileObject compiledByteFileObject) {
+        return null;
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.generator.constructor;
+
+import com.github.vladislavsevruk.generator.java.config.JavaClassGeneratorConfig;
+import com.github.vladislavsevruk.generator.java.generator.method.BaseMethodGenerator;
+import com.github.vladislavsevruk.generator.java.type.SchemaEntity;
+import com.github.vladislavsevruk.generator.java.type.SchemaObject;
+import com.github.vladislavsevruk.generator.proxy.source.generator.method.InterfaceDelegationMethodGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.List;
+
+/**
+ * Generates proxy class constructor that receives target instance and stores it to typed field for each interface
+ * implemented by proxy class. Target instance is checked against each interface once at construction.
+ *
+ * @see InterfaceDelegationMethodGenerator
+ */
+@Log4j2
+public class InterfaceDelegationConstructorGenerator extends BaseMethodGenerator {
+
+    private static final String TARGET_PARAMETER = "target";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String generate(JavaClassGeneratorConfig config, SchemaObject schemaObject) {
+        log.debug("Generating delegating constructor for {} class.", schemaObject.getName());
+        List<SchemaEntity> interfaces = ((ProxyClassSchema) schemaObject).getInterfaces();
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append(config.getIndent().value()).append("public ").append(schemaObject.getName())
+                .append("(java.lang.Object ").append(TARGET_PARAMETER).append(") {\n");
+        doubleIndents(stringBuilder, config).append("java.util.Objects.requireNonNull(").append(TARGET_PARAMETER)
+                .append(", \"Target instance should not be null.\");\n");
+        for (int i = 0; i < interfaces.size(); ++i) {
+            doubleIndents(stringBuilder, config).append("this.")
+                    .append(InterfaceDelegationMethodGenerator.getTargetFieldName(i)).append(" = (")
+                    .append(interfaces.get(i).getParameterizedDeclaration()).append(") ").append(TARGET_PARAMETER)
+                    .append(";\n");
+        }
+        closeMethod(stringBuilder, config);
+        return stringBuilder.toString();
+    }
+}
@@ -26,14 +26,13 @@ package com.github.vladislavsevruk.generator.proxy.source.generator.constructor;
 import com.github.vladislavsevruk.generator.java.config.JavaClassGeneratorConfig;
 import com.github.vladislavsevruk.generator.java.generator.method.BaseMethodGenerator;
 import com.github.vladislavsevruk.generator.java.type.SchemaObject;
+import com.github.vladislavsevruk.generator.proxy.source.generator.signature.ExecutableSignature;
+import com.github.vladislavsevruk.generator.proxy.source.generator.signature.ExecutableSignatureCache;
 import com.github.vladislavsevruk.generator.proxy.util.ClassMemberUtil;
 import lombok.extern.log4j.Log4j2;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Parameter;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Generates proxy class constructors that simply delegate call to superclass.
@@ -53,8 +52,7 @@ public class ProxyClassConstructorGenerator extends BaseMethodGenerator {
     @Override
     public String generate(JavaClassGeneratorConfig config, SchemaObject schemaObject) {
         log.debug("Generating proxy constructors for {} class.", schemaObject.getName());
-        List<Constructor<?>> nonPrivateConstructors = Arrays.stream(delegatedClass.getConstructors())
-                .filter(ClassMemberUtil::isNonPrivate).collect(Collectors.toList());
+        List<Constructor<?>> nonPrivateConstructors = ClassMemberUtil.getProxyableConstructors(delegatedClass);
         if (nonPrivateConstructors.isEmpty()) {
             log.info("There is no any non-private constructor for {}.", delegatedClass.getName());
             return "";
@@ -67,14 +65,12 @@ public class ProxyClassConstructorGenerator extends BaseMethodGenerator {
 
     private void appendMatchingConstructor(StringBuilder stringBuilder, JavaClassGeneratorConfig config,
             SchemaObject schemaObject, Constructor<?> constructor) {
-        String parameters = Arrays.stream(constructor.getParameters()).map(Parameter::toString)
-                .collect(Collectors.joining(", "));
-        String parameterNames = Arrays.stream(constructor.getParameters()).map(Parameter::getName)
-                .collect(Collectors.joining(", "));
+        ExecutableSignature signature = ExecutableSignatureCache.instance()
+                .getConstructorSignature(delegatedClass, constructor);
         String indent = config.getIndent().value();
-        stringBuilder.append(indent).append("public ").append(schemaObject.getName()).append("(").append(parameters)
-                .append(") {\n");
-        doubleIndents(stringBuilder, config).append("super(").append(parameterNames).append(");\n");
+        stringBuilder.append(indent).append("public ").append(schemaObject.getName()).append("(")
+                .append(signature.getParametersDeclaration()).append(") {\n");
+        doubleIndents(stringBuilder, config).append("super(").append(signature.getParameterNames()).append(");\n");
         closeMethod(stringBuilder, config);
     }
 }
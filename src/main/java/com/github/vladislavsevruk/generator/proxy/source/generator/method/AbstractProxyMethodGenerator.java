@@ -26,35 +26,69 @@ package com.github.vladislavsevruk.generator.proxy.source.generator.method;
 import com.github.vladislavsevruk.generator.java.config.JavaClassGeneratorConfig;
 import com.github.vladislavsevruk.generator.java.generator.method.BaseMethodGenerator;
 import com.github.vladislavsevruk.generator.java.type.SchemaObject;
+import com.github.vladislavsevruk.generator.proxy.source.generator.signature.ExecutableSignature;
+import com.github.vladislavsevruk.generator.proxy.source.generator.signature.ExecutableSignatureCache;
+import com.github.vladislavsevruk.generator.proxy.source.matcher.MethodMatcher;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
 import com.github.vladislavsevruk.generator.proxy.util.ClassMemberUtil;
 import com.github.vladislavsevruk.resolver.resolver.executable.BaseExecutableTypeResolver;
 import com.github.vladislavsevruk.resolver.resolver.executable.ExecutableStringRepresentationResolver;
 import lombok.extern.log4j.Log4j2;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Contains base logic for generating proxy methods with ability to delegate call to initial class.
+ * Contains base logic for generating proxy methods with ability to delegate call to initial class. Non-public methods
+ * may be overridden as well keeping their visibility. Please note that package-private methods can be overridden
+ * only if proxy class is guaranteed to be defined at the same runtime package as initial class, e.g. as hidden class,
+ * otherwise generation fails with <code>IllegalStateException</code>. Overridden methods may be restricted by
+ * {@link MethodMatcher} while abstract methods are always overridden.
  */
 @Log4j2
 public abstract class AbstractProxyMethodGenerator extends BaseMethodGenerator {
 
     private Class<?> delegatedClass;
     private BaseExecutableTypeResolver<String> executableResolver;
+    private MethodMatcher methodMatcher;
+    private boolean overrideNonPublicMethods;
 
     protected AbstractProxyMethodGenerator(Class<?> delegatedClass) {
-        this(delegatedClass, new ExecutableStringRepresentationResolver());
+        this(delegatedClass, false);
+    }
+
+    protected AbstractProxyMethodGenerator(Class<?> delegatedClass, MethodMatcher methodMatcher) {
+        this(delegatedClass, false, methodMatcher);
+    }
+
+    protected AbstractProxyMethodGenerator(Class<?> delegatedClass, boolean overrideNonPublicMethods) {
+        this(delegatedClass, overrideNonPublicMethods, MethodMatcher.any());
+    }
+
+    protected AbstractProxyMethodGenerator(Class<?> delegatedClass, boolean overrideNonPublicMethods,
+            MethodMatcher methodMatcher) {
+        this(delegatedClass, new ExecutableStringRepresentationResolver(), overrideNonPublicMethods, methodMatcher);
     }
 
     protected AbstractProxyMethodGenerator(Class<?> delegatedClass,
             BaseExecutableTypeResolver<String> executableResolver) {
+        this(delegatedClass, executableResolver, false);
+    }
+
+    protected AbstractProxyMethodGenerator(Class<?> delegatedClass,
+            BaseExecutableTypeResolver<String> executableResolver, boolean overrideNonPublicMethods) {
+        this(delegatedClass, executableResolver, overrideNonPublicMethods, MethodMatcher.any());
+    }
+
+    protected AbstractProxyMethodGenerator(Class<?> delegatedClass,
+            BaseExecutableTypeResolver<String> executableResolver, boolean overrideNonPublicMethods,
+            MethodMatcher methodMatcher) {
         this.delegatedClass = delegatedClass;
         this.executableResolver = executableResolver;
+        this.methodMatcher = methodMatcher;
+        this.overrideNonPublicMethods = overrideNonPublicMethods;
     }
 
     /**
@@ -63,13 +97,32 @@ public abstract class AbstractProxyMethodGenerator extends BaseMethodGenerator {
     @Override
     public String generate(JavaClassGeneratorConfig config, SchemaObject schemaObject) {
         log.debug("Generating proxy methods for {} class.", schemaObject.getName());
+        List<Method> proxiedMethods = getProxiedMethods();
+        if (!isAtTargetRuntimePackage(schemaObject)) {
+            proxiedMethods.stream().filter(this::isPackagePrivate).findAny().ifPresent(method -> {
+                throw new IllegalStateException(String.format(
+                        "Package-private '%s' method cannot be overridden as '%s' class isn't guaranteed to be "
+                                + "defined at runtime package of '%s' class.", method.getName(),
+                        schemaObject.getName(), delegatedClass.getName()));
+            });
+        }
         StringBuilder stringBuilder = new StringBuilder();
-        Arrays.stream(delegatedClass.getMethods()).filter(ClassMemberUtil::isNonObjectMethod)
-                .filter(ClassMemberUtil::isNonStatic).filter(ClassMemberUtil::isNonFinal)
-                .forEach(method -> appendMethod(config, stringBuilder, method));
+        proxiedMethods.forEach(method -> appendMethod(config, stringBuilder, method));
         return stringBuilder.toString();
     }
 
+    /**
+     * Returns methods of initial class that are overridden by proxy: abstract ones and ones accepted by
+     * <code>MethodMatcher</code>.
+     *
+     * @return <code>List</code> of <code>Method</code> to override.
+     */
+    protected List<Method> getProxiedMethods() {
+        return ClassMemberUtil.getProxyableMethods(delegatedClass, overrideNonPublicMethods).stream()
+                .filter(method -> Modifier.isAbstract(method.getModifiers()) || methodMatcher.matches(method))
+                .collect(Collectors.toList());
+    }
+
     protected abstract String getProxyMethodBodyContent(JavaClassGeneratorConfig config, Method originalMethod,
             String delegateCall);
 
@@ -78,45 +131,44 @@ public abstract class AbstractProxyMethodGenerator extends BaseMethodGenerator {
         return hasReturnType ? "" : "return ";
     }
 
+    /**
+     * Returns signature of received method resolved for initial class.
+     *
+     * @param originalMethod <code>Method</code> to get signature for.
+     * @return cached <code>ExecutableSignature</code> of method.
+     */
+    protected ExecutableSignature getSignature(Method originalMethod) {
+        return ExecutableSignatureCache.instance().getMethodSignature(delegatedClass, originalMethod,
+                executableResolver);
+    }
+
     private void appendMethod(JavaClassGeneratorConfig config, StringBuilder stringBuilder, Method originalMethod) {
-        String parameterNames = Arrays.stream(originalMethod.getParameters()).map(Parameter::getName)
-                .collect(Collectors.joining(", "));
-        String parameters = generateParameters(originalMethod, originalMethod.getParameters());
-        String typeVariablesDeclaration = getTypeVariables(originalMethod);
-        String throwsClause = generateThrowClause(originalMethod);
+        ExecutableSignature signature = getSignature(originalMethod);
         String indent = config.getIndent().value();
         addOverrideAnnotation(stringBuilder, config);
-        String returnTypeDeclaration = executableResolver.getReturnType(delegatedClass, originalMethod);
-        stringBuilder.append(indent).append("public ").append(typeVariablesDeclaration).append(returnTypeDeclaration)
-                .append(" ").append(originalMethod.getName()).append("(").append(parameters).append(") ")
-                .append(throwsClause).append("{\n");
-        String delegateCall = String.format("super.%s(%s)", originalMethod.getName(), parameterNames);
+        stringBuilder.append(indent).append(getVisibilityModifier(originalMethod))
+                .append(signature.getTypeVariablesDeclaration()).append(signature.getReturnType()).append(" ")
+                .append(originalMethod.getName()).append("(").append(signature.getParametersDeclaration())
+                .append(") ").append(signature.getThrowsClause()).append("{\n");
+        String delegateCall = String.format("super.%s(%s)", originalMethod.getName(), signature.getParameterNames());
         doubleIndents(stringBuilder, config).append(getProxyMethodBodyContent(config, originalMethod, delegateCall))
                 .append("\n");
         closeMethod(stringBuilder, config);
     }
 
-    private String generateParameters(Method originalMethod, Parameter[] parameters) {
-        List<String> parameterTypes = executableResolver.getParameterTypes(delegatedClass, originalMethod);
-        List<String> stringRepresentations = new ArrayList<>(parameters.length);
-        for (int i = 0; i < parameters.length; ++i) {
-            Parameter parameter = parameters[i];
-            String parameterType = parameter.isVarArgs() ? parameterTypes.get(i).replaceFirst("\\[]$", "...")
-                    : parameterTypes.get(i);
-            String stringRepresentation = parameterType + " " + parameter.getName();
-            stringRepresentations.add(stringRepresentation);
+    private String getVisibilityModifier(Method method) {
+        int modifiers = method.getModifiers();
+        if (Modifier.isPublic(modifiers)) {
+            return "public ";
         }
-        return String.join(", ", stringRepresentations);
+        return Modifier.isProtected(modifiers) ? "protected " : "";
     }
 
-    private String generateThrowClause(Method originalMethod) {
-        List<String> exceptionTypes = executableResolver.getExceptionTypes(delegatedClass, originalMethod);
-        String exceptions = String.join(", ", exceptionTypes);
-        return exceptions.isEmpty() ? exceptions : String.format("throws %s ", exceptions);
+    private boolean isAtTargetRuntimePackage(SchemaObject schemaObject) {
+        return schemaObject instanceof ProxyClassSchema && ((ProxyClassSchema) schemaObject).isAtTargetRuntimePackage();
     }
 
-    private String getTypeVariables(Method method) {
-        String typeVariablesDeclaration = ClassMemberUtil.generateBoundedTypeVariablesDeclaration(method);
-        return typeVariablesDeclaration.isEmpty() ? typeVariablesDeclaration : typeVariablesDeclaration + " ";
+    private boolean isPackagePrivate(Method method) {
+        return (method.getModifiers() & (Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE)) == 0;
     }
 }
@@ -0,0 +1,380 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.generator.method;
+
+import com.github.vladislavsevruk.generator.java.config.JavaClassGeneratorConfig;
+import com.github.vladislavsevruk.generator.java.type.SchemaObject;
+import com.github.vladislavsevruk.generator.proxy.IndexedInvocationHandler;
+import com.github.vladislavsevruk.generator.proxy.IndexedProxy;
+import com.github.vladislavsevruk.generator.proxy.source.bytecode.InliningAnalyzer;
+import com.github.vladislavsevruk.generator.proxy.source.generator.signature.ExecutableSignature;
+import com.github.vladislavsevruk.generator.proxy.source.matcher.MethodMatcher;
+import com.github.vladislavsevruk.generator.proxy.util.ClassMemberUtil;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates proxy methods that pass calls to {@link IndexedInvocationHandler} with index of called method. Also
+ * generates methods of {@link IndexedProxy} interface where original methods are called via <code>switch</code> over
+ * method index, so neither proxy methods nor handler require reflection for calling original methods. Methods are
+ * indexed in order of {@link #getIndexedMethods()} that depends only on method names and parameter types, so indexes
+ * are the same for proxy classes generated at different runs. Proxy class should declare
+ * <code>invocationHandler</code> field of {@link IndexedInvocationHandler} type and implement {@link IndexedProxy}
+ * interface. Abstract methods throw <code>AbstractMethodError</code> if there is no handler or original method is
+ * called via {@link IndexedProxy#invokeSuper(int, Object[])}. Handler call of received outlined methods is moved out
+ * to separate private method, so proxy method stays small enough to be inlined by JIT compiler, e.g. when its compiled
+ * byte code exceeds {@link InliningAnalyzer#MAX_INLINE_SIZE}.
+ *
+ * @see IndexedInvocationHandler
+ * @see IndexedProxy
+ */
+public class IndexedInvocationProxyMethodGenerator extends AbstractProxyMethodGenerator {
+
+    /**
+     * Suffix of names of private methods that call {@link IndexedInvocationHandler} for proxy methods which
+     * interception part was moved out of proxy method.
+     */
+    public static final String INTERCEPTION_METHOD_SUFFIX = "$interception";
+    /**
+     * Name of field with {@link IndexedInvocationHandler} that should be declared by proxy class.
+     */
+    public static final String INVOCATION_HANDLER_FIELD = "invocationHandler";
+    private static final String CAUGHT_EXCEPTION_VARIABLE = "ex$";
+    private static final String INDEXED_METHODS_FIELD = "indexedMethods";
+    private List<Method> indexedMethods;
+    private Map<Method, Integer> methodIndexes;
+    private final Collection<Method> outlinedMethods;
+
+    public IndexedInvocationProxyMethodGenerator(Class<?> delegatedClass) {
+        this(delegatedClass, false);
+    }
+
+    public IndexedInvocationProxyMethodGenerator(Class<?> delegatedClass, boolean overrideNonPublicMethods) {
+        this(delegatedClass, overrideNonPublicMethods, MethodMatcher.any());
+    }
+
+    public IndexedInvocationProxyMethodGenerator(Class<?> delegatedClass, boolean overrideNonPublicMethods,
+            MethodMatcher methodMatcher) {
+        this(delegatedClass, overrideNonPublicMethods, methodMatcher, Collections.emptySet());
+    }
+
+    public IndexedInvocationProxyMethodGenerator(Class<?> delegatedClass, boolean overrideNonPublicMethods,
+            MethodMatcher methodMatcher, Collection<Method> outlinedMethods) {
+        super(delegatedClass, overrideNonPublicMethods, methodMatcher);
+        this.outlinedMethods = outlinedMethods;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String generate(JavaClassGeneratorConfig config, SchemaObject schemaObject) {
+        StringBuilder stringBuilder = new StringBuilder(super.generate(config, schemaObject));
+        getIndexedMethods().stream().filter(this::isInterceptionMovedOut)
+                .forEach(method -> appendInterceptionMethod(config, stringBuilder, method));
+        appendGetIndexedMethodsMethod(config, stringBuilder, schemaObject);
+        appendInvokeSuperMethod(config, stringBuilder);
+        appendSetInvocationHandlerMethod(config, stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Returns methods overridden by proxy where position of each method is index passed to
+     * {@link IndexedInvocationHandler} and {@link IndexedProxy#invokeSuper(int, Object[])}.
+     *
+     * @return unmodifiable <code>List</code> of proxied methods.
+     */
+    public List<Method> getIndexedMethods() {
+        if (indexedMethods == null) {
+            List<Method> methods = new ArrayList<>(super.getProxiedMethods());
+            methods.sort(Comparator.comparing(Method::getName)
+                    .thenComparing(method -> Arrays.toString(method.getParameterTypes())));
+            Map<Method, Integer> indexes = new HashMap<>();
+            for (int i = 0; i < methods.size(); ++i) {
+                indexes.put(methods.get(i), i);
+            }
+            methodIndexes = indexes;
+            indexedMethods = Collections.unmodifiableList(methods);
+        }
+        return indexedMethods;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected List<Method> getProxiedMethods() {
+        return getIndexedMethods();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String getProxyMethodBodyContent(JavaClassGeneratorConfig config, Method originalMethod,
+            String delegateCall) {
+        String indent = config.getIndent().value();
+        String bodyIndent = indent + indent;
+        String returnKeyWord = getReturnKeyWordIfRequired(originalMethod);
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("if (this.").append(INVOCATION_HANDLER_FIELD).append(" == null) {\n").append(bodyIndent)
+                .append(indent);
+        if (isAbstract(originalMethod)) {
+            // abstract method cannot be called via 'super' so there is nothing to delegate to without handler
+            stringBuilder.append(generateAbstractMethodErrorThrow(originalMethod)).append(";\n");
+        } else {
+            stringBuilder.append(returnKeyWord).append(delegateCall).append(";\n");
+            if (returnKeyWord.isEmpty()) {
+                stringBuilder.append(bodyIndent).append(indent).append("return;\n");
+            }
+        }
+        stringBuilder.append(bodyIndent).append("}\n").append(bodyIndent);
+        if (isInterceptionMovedOut(originalMethod)) {
+            // handler call with arguments packing and exceptions translation is moved out to keep method inlinable
+            return stringBuilder.append(returnKeyWord).append("this.").append(originalMethod.getName())
+                    .append(INTERCEPTION_METHOD_SUFFIX).append("(")
+                    .append(getSignature(originalMethod).getParameterNames()).append(");").toString();
+        }
+        appendInterception(stringBuilder, bodyIndent, indent, originalMethod);
+        return stringBuilder.append(bodyIndent).append("}").toString();
+    }
+
+    private void appendCatchClauses(StringBuilder stringBuilder, String bodyIndent, String indent,
+            Method originalMethod) {
+        stringBuilder.append(bodyIndent).append("} catch (java.lang.RuntimeException | java.lang.Error ")
+                .append(CAUGHT_EXCEPTION_VARIABLE).append(") {\n");
+        appendRethrow(stringBuilder, bodyIndent, indent);
+        List<Class<?>> declaredExceptions = getDeclaredCheckedExceptions(originalMethod);
+        for (Class<?> declaredException : declaredExceptions) {
+            stringBuilder.append(bodyIndent).append("} catch (").append(declaredException.getCanonicalName())
+                    .append(" ").append(CAUGHT_EXCEPTION_VARIABLE).append(") {\n");
+            appendRethrow(stringBuilder, bodyIndent, indent);
+        }
+        if (!declaredExceptions.contains(Throwable.class)) {
+            stringBuilder.append(bodyIndent).append("} catch (java.lang.Throwable ").append(CAUGHT_EXCEPTION_VARIABLE)
+                    .append(") {\n").append(bodyIndent).append(indent)
+                    .append("throw new java.lang.reflect.UndeclaredThrowableException(")
+                    .append(CAUGHT_EXCEPTION_VARIABLE).append(");\n");
+        }
+    }
+
+    private void appendGetIndexedMethodsMethod(JavaClassGeneratorConfig config, StringBuilder stringBuilder,
+            SchemaObject schemaObject) {
+        String indent = config.getIndent().value();
+        String bodyIndent = indent + indent;
+        String listType = "java.util.List<java.lang.reflect.Method>";
+        // methods are resolved by keys as generated class cannot refer to Method instances of generator
+        String methodKeys = getIndexedMethods().stream().map(ClassMemberUtil::generateMethodKey)
+                .map(methodKey -> '"' + methodKey + '"').collect(Collectors.joining(", "));
+        stringBuilder.append(indent).append("private static volatile ").append(listType).append(" ")
+                .append(INDEXED_METHODS_FIELD).append(";\n\n");
+        addOverrideAnnotation(stringBuilder, config);
+        stringBuilder.append(indent).append("public ").append(listType).append(" getIndexedMethods() {\n")
+                .append(bodyIndent).append(listType).append(" methods = ").append(INDEXED_METHODS_FIELD)
+                .append(";\n").append(bodyIndent).append("if (methods == null) {\n").append(bodyIndent)
+                .append(indent).append("methods = ").append(ClassMemberUtil.class.getName())
+                .append(".resolveMethods(").append(schemaObject.getName())
+                .append(".class.getSuperclass(), new java.lang.String[]{ ").append(methodKeys).append(" });\n")
+                .append(bodyIndent).append(indent).append(INDEXED_METHODS_FIELD).append(" = methods;\n")
+                .append(bodyIndent).append("}\n").append(bodyIndent).append("return methods;\n");
+        closeMethod(stringBuilder, config);
+    }
+
+    private void appendInterception(StringBuilder stringBuilder, String bodyIndent, String indent,
+            Method originalMethod) {
+        stringBuilder.append("try {\n").append(bodyIndent).append(indent)
+                .append(getReturnKeyWordIfRequired(originalMethod)).append(getReturnValueCast(originalMethod))
+                .append("this.").append(INVOCATION_HANDLER_FIELD).append(".invoke(this, ")
+                .append(getMethodIndex(originalMethod)).append(", ")
+                .append(generateArgumentsArray(originalMethod)).append(");\n");
+        appendCatchClauses(stringBuilder, bodyIndent, indent, originalMethod);
+    }
+
+    private void appendInterceptionMethod(JavaClassGeneratorConfig config, StringBuilder stringBuilder,
+            Method originalMethod) {
+        ExecutableSignature signature = getSignature(originalMethod);
+        String indent = config.getIndent().value();
+        String bodyIndent = indent + indent;
+        stringBuilder.append(indent).append("private ").append(signature.getTypeVariablesDeclaration())
+                .append(signature.getReturnType()).append(" ").append(originalMethod.getName())
+                .append(INTERCEPTION_METHOD_SUFFIX).append("(").append(signature.getParametersDeclaration())
+                .append(") ").append(signature.getThrowsClause()).append("{\n").append(bodyIndent);
+        appendInterception(stringBuilder, bodyIndent, indent, originalMethod);
+        stringBuilder.append(bodyIndent).append("}\n");
+        closeMethod(stringBuilder, config);
+    }
+
+    private void appendInvokeSuperMethod(JavaClassGeneratorConfig config, StringBuilder stringBuilder) {
+        String indent = config.getIndent().value();
+        String caseIndent = indent + indent + indent;
+        addOverrideAnnotation(stringBuilder, config);
+        stringBuilder.append(indent).append("public java.lang.Object invokeSuper(int methodIndex, ")
+                .append("java.lang.Object[] args) throws java.lang.Throwable {\n");
+        doubleIndents(stringBuilder, config).append("switch (methodIndex) {\n");
+        List<Method> methods = getIndexedMethods();
+        for (int i = 0; i < methods.size(); ++i) {
+            Method method = methods.get(i);
+            String superCall = String.format("super.%s(%s)", method.getName(), generateCastArguments(method));
+            stringBuilder.append(caseIndent).append("case ").append(i).append(":\n").append(caseIndent)
+                    .append(indent);
+            if (isAbstract(method)) {
+                stringBuilder.append(generateAbstractMethodErrorThrow(method)).append(";\n");
+            } else if (void.class.equals(method.getReturnType())) {
+                stringBuilder.append(superCall).append(";\n").append(caseIndent).append(indent)
+                        .append("return null;\n");
+            } else {
+                stringBuilder.append("return ").append(superCall).append(";\n");
+            }
+        }
+        stringBuilder.append(caseIndent).append("default:\n").append(caseIndent).append(indent)
+                .append("throw new java.lang.IllegalArgumentException(\"Unknown method index: \" + methodIndex);\n");
+        doubleIndents(stringBuilder, config).append("}\n");
+        closeMethod(stringBuilder, config);
+    }
+
+    private void appendRethrow(StringBuilder stringBuilder, String bodyIndent, String indent) {
+        stringBuilder.append(bodyIndent).append(indent).append("throw ").append(CAUGHT_EXCEPTION_VARIABLE)
+                .append(";\n");
+    }
+
+    private void appendSetInvocationHandlerMethod(JavaClassGeneratorConfig config, StringBuilder stringBuilder) {
+        String indent = config.getIndent().value();
+        addOverrideAnnotation(stringBuilder, config);
+        stringBuilder.append(indent).append("public void setInvocationHandler(")
+                .append(IndexedInvocationHandler.class.getName()).append(" invocationHandler) {\n");
+        doubleIndents(stringBuilder, config).append("this.").append(INVOCATION_HANDLER_FIELD)
+                .append(" = invocationHandler;\n");
+        closeMethod(stringBuilder, config);
+    }
+
+    private String generateAbstractMethodErrorThrow(Method method) {
+        return String.format("throw new java.lang.AbstractMethodError(\"%s.%s\")", method.getDeclaringClass().getName(),
+                ClassMemberUtil.generateMethodKey(method));
+    }
+
+    private String generateArgumentsArray(Method originalMethod) {
+        // no arguments are passed as null like at java.lang.reflect.Proxy
+        if (originalMethod.getParameterCount() == 0) {
+            return "null";
+        }
+        return String.format("new java.lang.Object[]{ %s }", getSignature(originalMethod).getParameterNames());
+    }
+
+    private String generateCastArguments(Method method) {
+        List<String> parameterTypes = getSignature(method).getParameterTypes();
+        Class<?>[] parameterClasses = method.getParameterTypes();
+        Type[] genericParameterTypes = method.getGenericParameterTypes();
+        List<String> castArguments = new ArrayList<>(parameterClasses.length);
+        for (int i = 0; i < parameterClasses.length; ++i) {
+            String castType = getCastType(method, genericParameterTypes[i], parameterClasses[i],
+                    parameterTypes.get(i));
+            castArguments.add(String.format("(%s) args[%d]", castType, i));
+        }
+        return String.join(", ", castArguments);
+    }
+
+    private String getCastType(Method method, Type genericType, Class<?> erasure, String resolvedType) {
+        if (erasure.isPrimitive()) {
+            return ClassMemberUtil.getWrapperType(erasure).getName();
+        }
+        // method type variables aren't visible at 'invokeSuper' so erasure is used for types that refer them
+        return refersMethodTypeVariable(method, genericType) ? erasure.getCanonicalName() : resolvedType;
+    }
+
+    private List<Class<?>> getDeclaredCheckedExceptions(Method originalMethod) {
+        // type variables can't be caught so such exceptions are wrapped as undeclared ones
+        List<Class<?>> checkedExceptions = Arrays.stream(originalMethod.getGenericExceptionTypes())
+                .filter(Class.class::isInstance).map(type -> (Class<?>) type).filter(this::isCheckedException)
+                .distinct().collect(Collectors.toList());
+        // multi-catch alternatives and subsequent catch clauses can't be subclasses of caught ones
+        return checkedExceptions.stream().filter(exception -> checkedExceptions.stream()
+                .noneMatch(other -> other != exception && other.isAssignableFrom(exception)))
+                .collect(Collectors.toList());
+    }
+
+    private int getMethodIndex(Method method) {
+        getIndexedMethods();
+        return methodIndexes.get(method);
+    }
+
+    private String getReturnValueCast(Method originalMethod) {
+        Class<?> returnType = originalMethod.getReturnType();
+        if (void.class.equals(returnType)) {
+            return "";
+        }
+        if (returnType.isPrimitive()) {
+            return String.format("(%s) ", ClassMemberUtil.getWrapperType(returnType).getName());
+        }
+        return String.format("(%s) ", getSignature(originalMethod).getReturnType());
+    }
+
+    private boolean isAbstract(Method method) {
+        return Modifier.isAbstract(method.getModifiers());
+    }
+
+    private boolean isCheckedException(Class<?> exceptionClass) {
+        return !RuntimeException.class.isAssignableFrom(exceptionClass) && !Error.class
+                .isAssignableFrom(exceptionClass);
+    }
+
+    private boolean isInterceptionMovedOut(Method originalMethod) {
+        return outlinedMethods.contains(originalMethod);
+    }
+
+    private boolean refersMethodTypeVariable(Method method, Type type) {
+        if (type instanceof TypeVariable) {
+            return method.equals(((TypeVariable<?>) type).getGenericDeclaration());
+        }
+        if (type instanceof ParameterizedType) {
+            return Arrays.stream(((ParameterizedType) type).getActualTypeArguments())
+                    .anyMatch(typeArgument -> refersMethodTypeVariable(method, typeArgument));
+        }
+        if (type instanceof GenericArrayType) {
+            return refersMethodTypeVariable(method, ((GenericArrayType) type).getGenericComponentType());
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            return Stream.concat(Arrays.stream(wildcardType.getUpperBounds()),
+                    Arrays.stream(wildcardType.getLowerBounds()))
+                    .anyMatch(bound -> refersMethodTypeVariable(method, bound));
+        }
+        return false;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.generator.method;
+
+import com.github.vladislavsevruk.generator.java.config.JavaClassGeneratorConfig;
+import com.github.vladislavsevruk.generator.java.generator.method.BaseMethodGenerator;
+import com.github.vladislavsevruk.generator.java.type.SchemaObject;
+import com.github.vladislavsevruk.generator.proxy.source.generator.signature.ExecutableSignature;
+import com.github.vladislavsevruk.generator.proxy.source.generator.signature.ExecutableSignatureCache;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+import com.github.vladislavsevruk.generator.proxy.util.ClassMemberUtil;
+import com.github.vladislavsevruk.resolver.resolver.executable.BaseExecutableTypeResolver;
+import com.github.vladislavsevruk.resolver.resolver.executable.ExecutableStringRepresentationResolver;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates methods of interfaces implemented by proxy class that call same methods of target instance directly via
+ * typed field, so neither reflection nor {@link java.lang.reflect.InvocationHandler} is involved. Proxy class should
+ * declare field with name that consists of {@link #TARGET_FIELD_PREFIX} and index of interface at
+ * {@link ProxyClassSchema#getImplementedInterfaces()} for each implemented interface. Methods with same signature
+ * declared by several interfaces are generated once with the most specific return type.
+ */
+@Log4j2
+public class InterfaceDelegationMethodGenerator extends BaseMethodGenerator {
+
+    /**
+     * Prefix of names of fields with target instance typed as corresponding implemented interface.
+     */
+    public static final String TARGET_FIELD_PREFIX = "target";
+    private BaseExecutableTypeResolver<String> executableResolver;
+
+    public InterfaceDelegationMethodGenerator() {
+        this(new ExecutableStringRepresentationResolver());
+    }
+
+    public InterfaceDelegationMethodGenerator(BaseExecutableTypeResolver<String> executableResolver) {
+        this.executableResolver = executableResolver;
+    }
+
+    /**
+     * Returns name of field with target instance typed as implemented interface with received index.
+     *
+     * @param interfaceIndex index of interface at {@link ProxyClassSchema#getImplementedInterfaces()}.
+     * @return <code>String</code> with field name.
+     */
+    public static String getTargetFieldName(int interfaceIndex) {
+        return TARGET_FIELD_PREFIX + interfaceIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String generate(JavaClassGeneratorConfig config, SchemaObject schemaObject) {
+        log.debug("Generating delegating methods for {} class.", schemaObject.getName());
+        List<Class<?>> interfaces = ((ProxyClassSchema) schemaObject).getImplementedInterfaces();
+        Map<String, Method> methods = new LinkedHashMap<>();
+        interfaces.forEach(interfaceClass -> ClassMemberUtil.getProxyableMethods(interfaceClass, false)
+                .forEach(method -> methods.merge(getMethodKey(method), method, this::pickMostSpecificMethod)));
+        StringBuilder stringBuilder = new StringBuilder();
+        methods.values().forEach(method -> appendMethod(config, stringBuilder, interfaces, method));
+        return stringBuilder.toString();
+    }
+
+    private void appendMethod(JavaClassGeneratorConfig config, StringBuilder stringBuilder,
+            List<Class<?>> interfaces, Method method) {
+        int interfaceIndex = getImplementingInterfaceIndex(interfaces, method);
+        ExecutableSignature signature = ExecutableSignatureCache.instance()
+                .getMethodSignature(interfaces.get(interfaceIndex), method, executableResolver);
+        String indent = config.getIndent().value();
+        String returnKeyWord = void.class.equals(method.getReturnType()) ? "" : "return ";
+        addOverrideAnnotation(stringBuilder, config);
+        stringBuilder.append(indent).append("public ").append(signature.getTypeVariablesDeclaration())
+                .append(signature.getReturnType()).append(" ").append(method.getName()).append("(")
+                .append(signature.getParametersDeclaration()).append(") ").append(signature.getThrowsClause())
+                .append("{\n");
+        doubleIndents(stringBuilder, config).append(returnKeyWord).append("this.")
+                .append(getTargetFieldName(interfaceIndex)).append(".").append(method.getName()).append("(")
+                .append(signature.getParameterNames()).append(");\n");
+        closeMethod(stringBuilder, config);
+    }
+
+    private int getImplementingInterfaceIndex(List<Class<?>> interfaces, Method method) {
+        for (int i = 0; i < interfaces.size(); ++i) {
+            if (method.getDeclaringClass().isAssignableFrom(interfaces.get(i))) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(method + " isn't declared by any of implemented interfaces.");
+    }
+
+    private String getMethodKey(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    private Method pickMostSpecificMethod(Method method, Method otherMethod) {
+        return method.getReturnType().isAssignableFrom(otherMethod.getReturnType()) ? otherMethod : method;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.generator.signature;
+
+import com.github.vladislavsevruk.generator.proxy.util.ClassMemberUtil;
+import com.github.vladislavsevruk.resolver.resolver.executable.BaseExecutableTypeResolver;
+import lombok.Getter;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Contains source code fragments of method or constructor signature resolved for delegated class.
+ *
+ * @see ExecutableSignatureCache
+ */
+public final class ExecutableSignature {
+
+    @Getter
+    private final List<String> exceptionTypes;
+    @Getter
+    private final String parameterNames;
+    @Getter
+    private final List<String> parameterTypes;
+    @Getter
+    private final String parametersDeclaration;
+    @Getter
+    private final String returnType;
+    @Getter
+    private final String throwsClause;
+    @Getter
+    private final String typeVariablesDeclaration;
+
+    private ExecutableSignature(List<String> parameterTypes, String parametersDeclaration, String parameterNames,
+            List<String> exceptionTypes, String returnType, String typeVariablesDeclaration) {
+        this.exceptionTypes = Collections.unmodifiableList(exceptionTypes);
+        this.parameterNames = parameterNames;
+        this.parameterTypes = Collections.unmodifiableList(parameterTypes);
+        this.parametersDeclaration = parametersDeclaration;
+        this.returnType = returnType;
+        String exceptions = String.join(", ", exceptionTypes);
+        this.throwsClause = exceptions.isEmpty() ? exceptions : String.format("throws %s ", exceptions);
+        this.typeVariablesDeclaration = typeVariablesDeclaration;
+    }
+
+    /**
+     * Resolves signature of received constructor. Parameter types are declared as they are at constructor.
+     *
+     * @param constructor <code>Constructor</code> to resolve signature for.
+     * @return resolved <code>ExecutableSignature</code>.
+     */
+    public static ExecutableSignature ofConstructor(Constructor<?> constructor) {
+        List<String> parameterTypes = Arrays.stream(constructor.getParameters())
+                .map(parameter -> parameter.getParameterizedType().getTypeName()).collect(Collectors.toList());
+        String parametersDeclaration = Arrays.stream(constructor.getParameters()).map(Parameter::toString)
+                .collect(Collectors.joining(", "));
+        List<String> exceptionTypes = Arrays.stream(constructor.getGenericExceptionTypes()).map(Type::getTypeName)
+                .collect(Collectors.toList());
+        // constructors have no return type
+        return new ExecutableSignature(parameterTypes, parametersDeclaration,
+                getParameterNames(constructor.getParameters()), exceptionTypes, null, "");
+    }
+
+    /**
+     * Resolves signature of received method with type variables resolved for delegated class.
+     *
+     * @param delegatedClass     <code>Class</code> that is proxied.
+     * @param method             <code>Method</code> to resolve signature for.
+     * @param executableResolver resolver of string representation of method types.
+     * @return resolved <code>ExecutableSignature</code>.
+     */
+    public static ExecutableSignature ofMethod(Class<?> delegatedClass, Method method,
+            BaseExecutableTypeResolver<String> executableResolver) {
+        List<String> parameterTypes = executableResolver.getParameterTypes(delegatedClass, method);
+        Parameter[] parameters = method.getParameters();
+        List<String> parameterDeclarations = new ArrayList<>(parameters.length);
+        for (int i = 0; i < parameters.length; ++i) {
+            Parameter parameter = parameters[i];
+            String parameterType = parameter.isVarArgs() ? parameterTypes.get(i).replaceFirst("\\[]$", "...")
+                    : parameterTypes.get(i);
+            parameterDeclarations.add(parameterType + " " + parameter.getName());
+        }
+        String typeVariablesDeclaration = ClassMemberUtil.generateBoundedTypeVariablesDeclaration(method);
+        return new ExecutableSignature(parameterTypes, String.join(", ", parameterDeclarations),
+                getParameterNames(parameters), executableResolver.getExceptionTypes(delegatedClass, method),
+                executableResolver.getReturnType(delegatedClass, method),
+                typeVariablesDeclaration.isEmpty() ? typeVariablesDeclaration : typeVariablesDeclaration + " ");
+    }
+
+    private static String getParameterNames(Parameter[] parameters) {
+        return Arrays.stream(parameters).map(Parameter::getName).collect(Collectors.joining(", "));
+    }
+}
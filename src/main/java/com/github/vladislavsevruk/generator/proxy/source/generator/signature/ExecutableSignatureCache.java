@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.generator.signature;
+
+import com.github.vladislavsevruk.resolver.resolver.executable.BaseExecutableTypeResolver;
+import com.github.vladislavsevruk.resolver.resolver.executable.ExecutableStringRepresentationResolver;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Shared cache of resolved method and constructor signatures, so proxies of the same class generated with different
+ * prefixes or generators don't resolve the same types again. Signatures are held per delegated class by
+ * <code>ClassValue</code>, so cache doesn't prevent delegated class from unloading together with its class loader.
+ * Method signatures are also keyed by type resolver: signatures resolved by default
+ * <code>ExecutableStringRepresentationResolver</code> are shared by all its instances while signatures resolved by
+ * other resolvers are weakly keyed by resolver instance.
+ */
+public final class ExecutableSignatureCache {
+
+    // constructor signatures don't depend on type resolver
+    private static final Object CONSTRUCTOR_RESOLVER_KEY = new Object();
+    private static final ExecutableSignatureCache INSTANCE = new ExecutableSignatureCache();
+
+    private final ClassValue<ClassSignatures> classSignatures = new ClassValue<ClassSignatures>() {
+
+        @Override
+        protected ClassSignatures computeValue(Class<?> type) {
+            return new ClassSignatures();
+        }
+    };
+
+    private ExecutableSignatureCache() {
+    }
+
+    /**
+     * Returns shared instance of <code>ExecutableSignatureCache</code>.
+     */
+    public static ExecutableSignatureCache instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Removes all cached signatures of received delegated class.
+     *
+     * @param delegatedClass <code>Class</code> that is proxied.
+     */
+    public void clear(Class<?> delegatedClass) {
+        classSignatures.remove(delegatedClass);
+    }
+
+    /**
+     * Returns signature of received constructor resolving it if it's absent at cache.
+     *
+     * @param delegatedClass <code>Class</code> that is proxied.
+     * @param constructor    <code>Constructor</code> to get signature for.
+     * @return <code>ExecutableSignature</code> of constructor.
+     */
+    public ExecutableSignature getConstructorSignature(Class<?> delegatedClass, Constructor<?> constructor) {
+        return getSignature(delegatedClass, CONSTRUCTOR_RESOLVER_KEY, constructor,
+                () -> ExecutableSignature.ofConstructor(constructor));
+    }
+
+    /**
+     * Returns signature of received method with type variables resolved for delegated class resolving it if it's
+     * absent at cache.
+     *
+     * @param delegatedClass     <code>Class</code> that is proxied.
+     * @param method             <code>Method</code> to get signature for.
+     * @param executableResolver resolver of string representation of method types.
+     * @return <code>ExecutableSignature</code> of method.
+     */
+    public ExecutableSignature getMethodSignature(Class<?> delegatedClass, Method method,
+            BaseExecutableTypeResolver<String> executableResolver) {
+        return getSignature(delegatedClass, getResolverKey(executableResolver), method,
+                () -> ExecutableSignature.ofMethod(delegatedClass, method, executableResolver));
+    }
+
+    /**
+     * Returns number of cached signatures of received delegated class.
+     *
+     * @param delegatedClass <code>Class</code> that is proxied.
+     * @return number of cached signatures.
+     */
+    public int size(Class<?> delegatedClass) {
+        return classSignatures.get(delegatedClass).size();
+    }
+
+    private static Object getResolverKey(BaseExecutableTypeResolver<String> executableResolver) {
+        // default resolver has no own state so all its instances give equal results
+        return ExecutableStringRepresentationResolver.class.equals(executableResolver.getClass())
+                ? ExecutableStringRepresentationResolver.class : executableResolver;
+    }
+
+    private ExecutableSignature getSignature(Class<?> delegatedClass, Object resolverKey, Executable executable,
+            Supplier<ExecutableSignature> signatureSupplier) {
+        ClassSignatures signatures = classSignatures.get(delegatedClass);
+        ExecutableSignature signature = signatures.get(resolverKey, executable);
+        if (signature != null) {
+            return signature;
+        }
+        // signature is resolved outside of lock as concurrent resolutions of the same signature give equal results
+        return signatures.putIfAbsent(resolverKey, executable, signatureSupplier.get());
+    }
+
+    /**
+     * Signatures of executables of single delegated class grouped by type resolver key.
+     */
+    private static final class ClassSignatures {
+
+        private final Map<Object, Map<Executable, ExecutableSignature>> resolverSignatures = new WeakHashMap<>();
+
+        synchronized ExecutableSignature get(Object resolverKey, Executable executable) {
+            Map<Executable, ExecutableSignature> signatures = resolverSignatures.get(resolverKey);
+            return signatures != null ? signatures.get(executable) : null;
+        }
+
+        synchronized ExecutableSignature putIfAbsent(Object resolverKey, Executable executable,
+                ExecutableSignature signature) {
+            ExecutableSignature existingSignature = resolverSignatures
+                    .computeIfAbsent(resolverKey, key -> new HashMap<>()).putIfAbsent(executable, signature);
+            return existingSignature != null ? existingSignature : signature;
+        }
+
+        synchronized int size() {
+            return resolverSignatures.values().stream().mapToInt(Map::size).sum();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.loader;
+
+/**
+ * Defines proxy classes at {@link JavaByteClassLoader} scoped to class loader of target class. Proxy classes with
+ * fingerprint are defined at namespace loader of this fingerprint, isolated proxy classes are defined at separate
+ * loaders of their own.
+ */
+public class ClassLoaderProxyClassDefiner implements ProxyClassDefiner {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> define(Class<?> targetClass, String name, byte[] bytes) {
+        return JavaByteClassLoader.forClassLoader(targetClass.getClassLoader()).defineClass(name, bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> define(Class<?> targetClass, String name, String fingerprint, byte[] bytes) {
+        return JavaByteClassLoader.forClassLoader(targetClass.getClassLoader()).forFingerprint(fingerprint)
+                .defineClass(name, bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> defineIsolated(Class<?> targetClass, String name, String fingerprint, byte[] bytes) {
+        return JavaByteClassLoader.forClassLoader(targetClass.getClassLoader()).createIsolatedLoader()
+                .defineClass(name, bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> findDefined(Class<?> targetClass, String name) {
+        return JavaByteClassLoader.forClassLoader(targetClass.getClassLoader()).findDefinedClass(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> findDefined(Class<?> targetClass, String name, String fingerprint) {
+        return JavaByteClassLoader.forClassLoader(targetClass.getClassLoader()).forFingerprint(fingerprint)
+                .findDefinedClass(name);
+    }
+}
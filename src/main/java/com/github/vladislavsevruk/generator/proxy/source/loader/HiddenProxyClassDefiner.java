@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.loader;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Defines proxy classes as hidden nestmates of target class using <code>MethodHandles.Lookup.defineHiddenClass</code>
+ * that is available since java 15. Hidden classes are defined at the same runtime package as target class, so they
+ * can override package-private methods, and are unloaded as soon as they become unreachable. Proxy classes are defined
+ * by fallback definer if hidden classes aren't supported by current java version or target class doesn't allow full
+ * privilege access to its lookup.
+ */
+@Log4j2
+public class HiddenProxyClassDefiner implements ProxyClassDefiner {
+
+    private static final Method DEFINE_HIDDEN_CLASS_METHOD;
+    private static final Method HAS_FULL_PRIVILEGE_ACCESS_METHOD;
+    private static final Object HIDDEN_CLASS_OPTIONS;
+    private static final Method PRIVATE_LOOKUP_IN_METHOD;
+
+    static {
+        Method defineHiddenClassMethod = null;
+        Method hasFullPrivilegeAccessMethod = null;
+        Object hiddenClassOptions = null;
+        Method privateLookupInMethod = null;
+        try {
+            // reflection is used to keep compatibility with java 8
+            Class<?> classOptionClass = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            hiddenClassOptions = Array.newInstance(classOptionClass, 1);
+            Array.set(hiddenClassOptions, 0, classOptionClass.getField("NESTMATE").get(null));
+            defineHiddenClassMethod = MethodHandles.Lookup.class
+                    .getMethod("defineHiddenClass", byte[].class, boolean.class, hiddenClassOptions.getClass());
+            hasFullPrivilegeAccessMethod = MethodHandles.Lookup.class.getMethod("hasFullPrivilegeAccess");
+            privateLookupInMethod = MethodHandles.class
+                    .getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+        } catch (ReflectiveOperationException roEx) {
+            log.debug("Hidden classes are not supported by current java version.");
+        }
+        DEFINE_HIDDEN_CLASS_METHOD = defineHiddenClassMethod;
+        HAS_FULL_PRIVILEGE_ACCESS_METHOD = hasFullPrivilegeAccessMethod;
+        HIDDEN_CLASS_OPTIONS = hiddenClassOptions;
+        PRIVATE_LOOKUP_IN_METHOD = privateLookupInMethod;
+    }
+
+    private final ProxyClassDefiner fallbackDefiner;
+
+    public HiddenProxyClassDefiner() {
+        this(new ClassLoaderProxyClassDefiner());
+    }
+
+    public HiddenProxyClassDefiner(ProxyClassDefiner fallbackDefiner) {
+        this.fallbackDefiner = fallbackDefiner;
+    }
+
+    /**
+     * Checks if hidden classes are supported by current java version.
+     *
+     * @return <code>true</code> if hidden classes are supported, <code>false</code> otherwise.
+     */
+    public static boolean isSupported() {
+        return DEFINE_HIDDEN_CLASS_METHOD != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> define(Class<?> targetClass, String name, byte[] bytes) {
+        Object targetLookup = findTargetLookup(targetClass);
+        return targetLookup != null ? defineHidden(targetLookup, name, bytes)
+                : fallbackDefiner.define(targetClass, name, bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> define(Class<?> targetClass, String name, String fingerprint, byte[] bytes) {
+        // hidden classes have unique names so they never collide
+        Object targetLookup = findTargetLookup(targetClass);
+        return targetLookup != null ? defineHidden(targetLookup, name, bytes)
+                : fallbackDefiner.define(targetClass, name, fingerprint, bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> defineIsolated(Class<?> targetClass, String name, String fingerprint, byte[] bytes) {
+        // hidden classes are unloaded as soon as they become unreachable so they're isolated already
+        Object targetLookup = findTargetLookup(targetClass);
+        return targetLookup != null ? defineHidden(targetLookup, name, bytes)
+                : fallbackDefiner.defineIsolated(targetClass, name, fingerprint, bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> findDefined(Class<?> targetClass, String name) {
+        // hidden classes cannot be found by name but class may be defined by fallback definer
+        return fallbackDefiner.findDefined(targetClass, name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> findDefined(Class<?> targetClass, String name, String fingerprint) {
+        return fallbackDefiner.findDefined(targetClass, name, fingerprint);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTargetRuntimePackageGuaranteed(Class<?> targetClass) {
+        return findTargetLookup(targetClass) != null || fallbackDefiner.isTargetRuntimePackageGuaranteed(targetClass);
+    }
+
+    private Class<?> defineHidden(Object targetLookup, String name, byte[] bytes) {
+        try {
+            Object hiddenClassLookup = DEFINE_HIDDEN_CLASS_METHOD
+                    .invoke(targetLookup, bytes, true, HIDDEN_CLASS_OPTIONS);
+            Class<?> hiddenClass = ((MethodHandles.Lookup) hiddenClassLookup).lookupClass();
+            log.debug("Defined '{}' hidden class.", hiddenClass.getName());
+            return hiddenClass;
+        } catch (IllegalAccessException iaEx) {
+            throw new IllegalStateException(String.format("Failed to define '%s' as hidden class.", name), iaEx);
+        } catch (InvocationTargetException itEx) {
+            // proxy may override package-private methods so it cannot be defined by fallback definer at this point
+            Throwable cause = itEx.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+
+    private Object findTargetLookup(Class<?> targetClass) {
+        if (!isSupported()) {
+            return null;
+        }
+        try {
+            Object targetLookup = PRIVATE_LOOKUP_IN_METHOD.invoke(null, targetClass, MethodHandles.lookup());
+            // hidden classes can be defined only by lookup with full privilege access
+            if ((Boolean) HAS_FULL_PRIVILEGE_ACCESS_METHOD.invoke(targetLookup)) {
+                return targetLookup;
+            }
+            log.debug("Lookup of '{}' class has no full privilege access.", targetClass.getName());
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            log.debug(String.format("Failed to get private lookup of '%s' class.", targetClass.getName()), ex);
+        }
+        return null;
+    }
+}
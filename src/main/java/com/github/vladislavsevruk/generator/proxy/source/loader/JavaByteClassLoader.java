@@ -23,18 +23,73 @@
  */
 package com.github.vladislavsevruk.generator.proxy.source.loader;
 
+import com.github.vladislavsevruk.generator.proxy.source.cache.ProxyClassCache;
+import com.github.vladislavsevruk.generator.proxy.source.cache.UnboundedProxyClassCache;
 import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
- * Class loader that is able to load and define dynamically compiled classes on runtime.
+ * Class loader that is able to load and define dynamically compiled classes on runtime. Classes for targets loaded by
+ * custom class loaders are defined at separate loaders that use target class loader as parent, so generated classes
+ * can be unloaded together with target class loader. Proxy classes are defined at child namespace loaders of such
+ * loaders, one per proxy class fingerprint, so proxy classes keep the same names regardless of creation order while
+ * proxy classes with the same name but different fingerprints don't collide. Namespace loaders are weakly held, so
+ * they're unloaded together with their proxy classes once nothing references them.
  */
+@Log4j2
 public class JavaByteClassLoader extends ClassLoader {
 
     private static final JavaByteClassLoader INSTANCE = new JavaByteClassLoader();
+    // values are weak as scoped loader strongly references target class loader that is used as key
+    private static final Map<ClassLoader, WeakReference<JavaByteClassLoader>> SCOPED_LOADERS = new WeakHashMap<>();
+
+    // values are weak so namespace loader is unloaded once neither factories nor its classes reference it
+    private final Map<String, WeakReference<JavaByteClassLoader>> fingerprintLoaders = new HashMap<>();
+    private final Map<String, CompletableFuture<Class<?>>> pendingClasses = new ConcurrentHashMap<>();
+    private final ProxyClassCache proxyClassCache = new UnboundedProxyClassCache();
 
     private JavaByteClassLoader() {
     }
 
+    private JavaByteClassLoader(ClassLoader parent) {
+        super(parent);
+    }
+
+    /**
+     * Returns <code>JavaByteClassLoader</code> for classes that should be generated for targets loaded by received
+     * class loader. Shared instance is returned for bootstrap and system class loaders.
+     *
+     * @param classLoader <code>ClassLoader</code> of target class.
+     * @return <code>JavaByteClassLoader</code> that uses received class loader as parent or received class loader
+     * itself if it's <code>JavaByteClassLoader</code>.
+     */
+    public static JavaByteClassLoader forClassLoader(ClassLoader classLoader) {
+        if (classLoader == null || classLoader == INSTANCE.getParent()) {
+            return INSTANCE;
+        }
+        if (classLoader instanceof JavaByteClassLoader) {
+            return (JavaByteClassLoader) classLoader;
+        }
+        synchronized (SCOPED_LOADERS) {
+            WeakReference<JavaByteClassLoader> loaderReference = SCOPED_LOADERS.get(classLoader);
+            JavaByteClassLoader scopedLoader = loaderReference != null ? loaderReference.get() : null;
+            if (scopedLoader == null) {
+                scopedLoader = new JavaByteClassLoader(classLoader);
+                SCOPED_LOADERS.put(classLoader, new WeakReference<>(scopedLoader));
+            }
+            return scopedLoader;
+        }
+    }
+
     /**
      * Returns instance of <code>JavaByteClassLoader</code>.
      */
@@ -42,6 +97,16 @@ public class JavaByteClassLoader extends ClassLoader {
         return INSTANCE;
     }
 
+    /**
+     * Creates loader for single proxy class that uses this loader as parent. Created loader isn't held by this loader,
+     * so it's unloaded together with its class as soon as class becomes unreachable.
+     *
+     * @return new <code>JavaByteClassLoader</code> for single proxy class.
+     */
+    public JavaByteClassLoader createIsolatedLoader() {
+        return new JavaByteClassLoader(this);
+    }
+
     /**
      * Defines and resolves dynamically compiled class on runtime so class will be available at class path of this class
      * loader for further interaction.
@@ -67,4 +132,99 @@ public class JavaByteClassLoader extends ClassLoader {
         resolveClass(definedClass);
         return definedClass;
     }
+
+    /**
+     * Returns class with received binary name that was already defined by this class loader.
+     *
+     * @param name <code>String</code> with binary name of the class.
+     * @return defined <code>Class</code> or <code>null</code> if class with such name wasn't defined yet.
+     */
+    public Class<?> findDefinedClass(String name) {
+        return findLoadedClass(name);
+    }
+
+    /**
+     * Returns class with received binary name that is available at class path of parent class loader, e.g. proxy class
+     * exported to jar by {@link ProxyClassArchive}. Such classes are loaded by parent class loader, so they may be
+     * served from class data sharing archive.
+     *
+     * @param name <code>String</code> with binary name of the class.
+     * @return found <code>Class</code> or <code>null</code> if parent class loader cannot find class with such name.
+     */
+    public Class<?> findPregeneratedClass(String name) {
+        try {
+            return Class.forName(name, false, getParent());
+        } catch (ClassNotFoundException cnfEx) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns namespace loader for proxy classes with received fingerprint. Namespace loader uses this loader as parent
+     * and is weakly held by it, so it's unloaded as soon as neither proxy factories nor classes defined by it are
+     * reachable.
+     *
+     * @param fingerprint <code>String</code> with fingerprint of proxy classes.
+     * @return <code>JavaByteClassLoader</code> for proxy classes with received fingerprint.
+     */
+    public JavaByteClassLoader forFingerprint(String fingerprint) {
+        synchronized (fingerprintLoaders) {
+            WeakReference<JavaByteClassLoader> loaderReference = fingerprintLoaders.get(fingerprint);
+            JavaByteClassLoader namespaceLoader = loaderReference != null ? loaderReference.get() : null;
+            if (namespaceLoader == null) {
+                // entries of unloaded namespaces are pruned when new namespace is created so map doesn't grow unbounded
+                fingerprintLoaders.values().removeIf(reference -> reference.get() == null);
+                namespaceLoader = new JavaByteClassLoader(this);
+                fingerprintLoaders.put(fingerprint, new WeakReference<>(namespaceLoader));
+            }
+            return namespaceLoader;
+        }
+    }
+
+    /**
+     * Returns default cache of classes resolved for targets of this loader scope. Cache is held by class loader so
+     * resolved classes don't prevent it from unloading.
+     */
+    public ProxyClassCache getProxyClassCache() {
+        return proxyClassCache;
+    }
+
+    /**
+     * Resolves class with received binary name by received resolver unless it's already resolving by another thread
+     * for targets of this loader scope. In such case waits for resolution by another thread and returns its result.
+     *
+     * @param name          <code>String</code> with expected binary name of the class.
+     * @param classResolver <code>Supplier</code> that resolves class.
+     * @return resolved <code>Class</code>.
+     */
+    public Class<?> resolveOnce(String name, Supplier<Class<?>> classResolver) {
+        CompletableFuture<Class<?>> resolution = new CompletableFuture<>();
+        CompletableFuture<Class<?>> pendingResolution = pendingClasses.putIfAbsent(name, resolution);
+        if (pendingResolution != null) {
+            log.debug("Waiting for '{}' class resolution by another thread.", name);
+            return waitForResolution(pendingResolution);
+        }
+        try {
+            Class<?> resolvedClass = classResolver.get();
+            resolution.complete(resolvedClass);
+            return resolvedClass;
+        } catch (RuntimeException | Error ex) {
+            resolution.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            pendingClasses.remove(name, resolution);
+        }
+    }
+
+    private static Class<?> waitForResolution(CompletableFuture<Class<?>> pendingResolution) {
+        try {
+            return pendingResolution.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : ex;
+        }
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.loader;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * Collects byte code of generated classes and writes it to jar file together with class list that HotSpot class data
+ * sharing accepts via <code>-XX:SharedClassListFile</code> option. Classes defined from byte arrays at runtime cannot
+ * be archived, so jar should be added to class path at next runs: {@link JavaByteClassLoader} finds proxy classes there
+ * instead of generating them and class data sharing archive created by <code>-Xshare:dump</code> or
+ * <code>-XX:ArchiveClassesAtExit</code> options includes them as any other application class.
+ */
+@Log4j2
+public class ProxyClassArchive {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private final Path classListFile;
+    private final Path jarFile;
+    private final Map<String, byte[]> recordedClasses = new LinkedHashMap<>();
+
+    public ProxyClassArchive(Path jarFile, Path classListFile) {
+        this.jarFile = jarFile;
+        this.classListFile = classListFile;
+    }
+
+    /**
+     * Returns binary names of recorded classes in order of their recording.
+     */
+    public synchronized List<String> getClassNames() {
+        return new ArrayList<>(recordedClasses.keySet());
+    }
+
+    /**
+     * Records byte code of class so it will be written to archive.
+     *
+     * @param name  <code>String</code> with binary name of the class.
+     * @param bytes <code>byte[]</code> with compiled byte code.
+     */
+    public synchronized void record(String name, byte[] bytes) {
+        recordedClasses.put(name, bytes);
+    }
+
+    /**
+     * Writes all recorded classes to jar file and their names to class list file. Classes are listed in order of their
+     * recording so superclasses generated in the same run precede their subclasses.
+     */
+    public synchronized void write() {
+        try {
+            createParentDirectories(jarFile);
+            createParentDirectories(classListFile);
+            writeJar();
+            writeClassList();
+        } catch (IOException ioEx) {
+            throw new UncheckedIOException(ioEx);
+        }
+        log.debug("Wrote {} classes to '{}' archive.", recordedClasses.size(), jarFile);
+    }
+
+    private static void createParentDirectories(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    private static String toInternalName(String name) {
+        return name.replace('.', '/');
+    }
+
+    private void writeClassList() throws IOException {
+        try (Writer writer = Files.newBufferedWriter(classListFile, StandardCharsets.UTF_8)) {
+            for (String name : recordedClasses.keySet()) {
+                // class list uses internal names of classes
+                writer.write(toInternalName(name));
+                writer.write('\n');
+            }
+        }
+    }
+
+    private void writeJar() throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        try (OutputStream outputStream = Files.newOutputStream(jarFile);
+                JarOutputStream jarOutputStream = new JarOutputStream(outputStream, manifest)) {
+            for (Map.Entry<String, byte[]> entry : recordedClasses.entrySet()) {
+                jarOutputStream.putNextEntry(new JarEntry(toInternalName(entry.getKey()) + CLASS_FILE_EXTENSION));
+                jarOutputStream.write(entry.getValue());
+                jarOutputStream.closeEntry();
+            }
+        }
+    }
+}
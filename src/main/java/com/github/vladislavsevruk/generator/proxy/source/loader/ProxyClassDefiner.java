@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.loader;
+
+/**
+ * Defines classes from compiled byte code of proxy classes.
+ */
+@FunctionalInterface
+public interface ProxyClassDefiner {
+
+    /**
+     * Defines proxy class from received byte code.
+     *
+     * @param targetClass <code>Class</code> that is proxied by defined class.
+     * @param name        <code>String</code> with expected binary name of proxy class.
+     * @param bytes       <code>byte[]</code> with compiled byte code of proxy class.
+     * @return defined proxy <code>Class</code>.
+     */
+    Class<?> define(Class<?> targetClass, String name, byte[] bytes);
+
+    /**
+     * Defines proxy class from received byte code at namespace of received fingerprint, so proxy classes with the same
+     * name but different fingerprints may be defined for the same target class. Definers that cannot separate
+     * namespaces define class by {@link #define(Class, String, byte[])}.
+     *
+     * @param targetClass <code>Class</code> that is proxied by defined class.
+     * @param name        <code>String</code> with expected binary name of proxy class.
+     * @param fingerprint <code>String</code> with fingerprint of proxy class.
+     * @param bytes       <code>byte[]</code> with compiled byte code of proxy class.
+     * @return defined proxy <code>Class</code>.
+     */
+    default Class<?> define(Class<?> targetClass, String name, String fingerprint, byte[] bytes) {
+        return define(targetClass, name, bytes);
+    }
+
+    /**
+     * Defines proxy class from received byte code so it's unloaded as soon as it becomes unreachable even if other
+     * proxy classes of the same target class are still used, e.g. for caches that evict classes. Such classes aren't
+     * found by {@link #findDefined(Class, String, String)}. Definers that cannot isolate classes define class by
+     * {@link #define(Class, String, String, byte[])}.
+     *
+     * @param targetClass <code>Class</code> that is proxied by defined class.
+     * @param name        <code>String</code> with expected binary name of proxy class.
+     * @param fingerprint <code>String</code> with fingerprint of proxy class.
+     * @param bytes       <code>byte[]</code> with compiled byte code of proxy class.
+     * @return defined proxy <code>Class</code>.
+     */
+    default Class<?> defineIsolated(Class<?> targetClass, String name, String fingerprint, byte[] bytes) {
+        return define(targetClass, name, fingerprint, bytes);
+    }
+
+    /**
+     * Returns proxy class with received name that was already defined by this definer, so it can be reused instead of
+     * defining class with the same name again, e.g. after it was evicted from cache.
+     *
+     * @param targetClass <code>Class</code> that is proxied by defined class.
+     * @param name        <code>String</code> with expected binary name of proxy class.
+     * @return defined proxy <code>Class</code> or <code>null</code> if there is no such class.
+     */
+    default Class<?> findDefined(Class<?> targetClass, String name) {
+        // classes with the same name may be defined several times by default
+        return null;
+    }
+
+    /**
+     * Returns proxy class with received name that was already defined by this definer at namespace of received
+     * fingerprint. Definers that cannot separate namespaces look for class by {@link #findDefined(Class, String)}.
+     *
+     * @param targetClass <code>Class</code> that is proxied by defined class.
+     * @param name        <code>String</code> with expected binary name of proxy class.
+     * @param fingerprint <code>String</code> with fingerprint of proxy class.
+     * @return defined proxy <code>Class</code> or <code>null</code> if there is no such class.
+     */
+    default Class<?> findDefined(Class<?> targetClass, String name, String fingerprint) {
+        return findDefined(targetClass, name);
+    }
+
+    /**
+     * Checks if proxy classes for received target class are guaranteed to be defined at the same runtime package as
+     * target class, so they may override its package-private methods.
+     *
+     * @param targetClass <code>Class</code> that is proxied by defined class.
+     * @return <code>true</code> if proxy class is defined at runtime package of target class, <code>false</code>
+     * otherwise.
+     */
+    default boolean isTargetRuntimePackageGuaranteed(Class<?> targetClass) {
+        // proxy classes are defined at separate class loader by default
+        return false;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.matcher;
+
+import java.lang.reflect.Method;
+
+/**
+ * Matcher with fingerprint derived from its parameters, so equal matchers created separately produce the same
+ * fingerprint and generators that use them share proxy classes. Fingerprint is <code>null</code> if matcher combines
+ * custom matchers without fingerprint.
+ */
+final class FingerprintedMethodMatcher implements MethodMatcher {
+
+    private final MethodMatcher delegate;
+    private final String fingerprint;
+
+    FingerprintedMethodMatcher(String fingerprint, MethodMatcher delegate) {
+        this.fingerprint = fingerprint;
+        this.delegate = delegate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matches(Method method) {
+        return delegate.matches(method);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.valueOf(fingerprint);
+    }
+
+    static String combine(String operation, MethodMatcher... methodMatchers) {
+        StringBuilder fingerprint = new StringBuilder(operation).append('(');
+        for (int i = 0; i < methodMatchers.length; ++i) {
+            String matcherFingerprint = methodMatchers[i].getFingerprint();
+            if (matcherFingerprint == null) {
+                // combination cannot be identified by parameters if any of its parts cannot
+                return null;
+            }
+            fingerprint.append(i > 0 ? "," : "").append(matcherFingerprint);
+        }
+        return fingerprint.append(')').toString();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.matcher;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Decides which methods of delegated class are overridden by proxy. Methods that don't match aren't generated so they
+ * stay inherited from delegated class and are called without additional hop through proxy method. Matchers may be
+ * combined via {@link #and(MethodMatcher)}, {@link #or(MethodMatcher)} and {@link #negate()}. Fingerprints of built-in
+ * matchers and their combinations are derived from their parameters, so equal matchers created separately share proxy
+ * classes. Combinations with custom matchers that have no fingerprint have no fingerprint as well.
+ */
+@FunctionalInterface
+public interface MethodMatcher {
+
+    /**
+     * Creates matcher that accepts methods with received annotation.
+     *
+     * @param annotationClass <code>Class</code> of annotation to check.
+     * @return <code>MethodMatcher</code> that accepts annotated methods.
+     */
+    static MethodMatcher annotatedWith(Class<? extends Annotation> annotationClass) {
+        return new FingerprintedMethodMatcher(String.format("annotatedWith(%s)", annotationClass.getName()),
+                method -> method.isAnnotationPresent(annotationClass));
+    }
+
+    /**
+     * Creates matcher that accepts all methods.
+     *
+     * @return <code>MethodMatcher</code> that accepts any method.
+     */
+    static MethodMatcher any() {
+        return new FingerprintedMethodMatcher("any", method -> true);
+    }
+
+    /**
+     * Creates matcher that accepts methods declared by received class.
+     *
+     * @param declaringClass <code>Class</code> that should declare method.
+     * @return <code>MethodMatcher</code> that accepts methods declared by received class.
+     */
+    static MethodMatcher declaredBy(Class<?> declaringClass) {
+        return new FingerprintedMethodMatcher(String.format("declaredBy(%s)", declaringClass.getName()),
+                method -> declaringClass.equals(method.getDeclaringClass()));
+    }
+
+    /**
+     * Creates matcher that accepts methods with one of received names.
+     *
+     * @param names <code>String</code> array with method names.
+     * @return <code>MethodMatcher</code> that accepts methods with received names.
+     */
+    static MethodMatcher named(String... names) {
+        Set<String> methodNames = new TreeSet<>(Arrays.asList(names));
+        // names are sorted so fingerprint doesn't depend on their order
+        return new FingerprintedMethodMatcher(String.format("named(%s)", String.join(",", methodNames)),
+                method -> methodNames.contains(method.getName()));
+    }
+
+    /**
+     * Creates matcher that accepts methods which return type is assignable to received type.
+     *
+     * @param returnType <code>Class</code> of expected return type.
+     * @return <code>MethodMatcher</code> that accepts methods with matching return type.
+     */
+    static MethodMatcher returning(Class<?> returnType) {
+        return new FingerprintedMethodMatcher(String.format("returning(%s)", returnType.getName()),
+                method -> returnType.isAssignableFrom(method.getReturnType()));
+    }
+
+    /**
+     * Combines this matcher with received one so method should be accepted by both of them.
+     *
+     * @param other <code>MethodMatcher</code> to combine with.
+     * @return composed <code>MethodMatcher</code>.
+     */
+    default MethodMatcher and(MethodMatcher other) {
+        return new FingerprintedMethodMatcher(FingerprintedMethodMatcher.combine("and", this, other),
+                method -> matches(method) && other.matches(method));
+    }
+
+    /**
+     * Returns fingerprint that is included to fingerprint of proxy generator using this matcher. Custom matchers have
+     * no fingerprint by default, so fingerprint of proxy class is derived from hash of its generated source code or
+     * byte code. Custom matchers that are created repeatedly may override this method with fingerprint derived from
+     * their parameters, so proxy source code isn't generated just to pick proxy class.
+     *
+     * @return <code>String</code> with fingerprint of this matcher or <code>null</code> if matcher has no fingerprint.
+     */
+    default String getFingerprint() {
+        return null;
+    }
+
+    /**
+     * Checks if received method should be overridden by proxy.
+     *
+     * @param method <code>Method</code> to check.
+     * @return <code>true</code> if method should be overridden, <code>false</code> otherwise.
+     */
+    boolean matches(Method method);
+
+    /**
+     * Creates matcher that accepts methods rejected by this one.
+     *
+     * @return negated <code>MethodMatcher</code>.
+     */
+    default MethodMatcher negate() {
+        return new FingerprintedMethodMatcher(FingerprintedMethodMatcher.combine("negate", this),
+                method -> !matches(method));
+    }
+
+    /**
+     * Combines this matcher with received one so method should be accepted by any of them.
+     *
+     * @param other <code>MethodMatcher</code> to combine with.
+     * @return composed <code>MethodMatcher</code>.
+     */
+    default MethodMatcher or(MethodMatcher other) {
+        return new FingerprintedMethodMatcher(FingerprintedMethodMatcher.combine("or", this, other),
+                method -> matches(method) || other.matches(method));
+    }
+}
@@ -28,24 +28,66 @@ import com.github.vladislavsevruk.generator.java.type.SchemaField;
 import com.github.vladislavsevruk.generator.java.type.SchemaObject;
 import com.github.vladislavsevruk.generator.proxy.util.ClassMemberUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * Schema object for generating proxy class.
+ * Schema object for generating proxy class. If delegated class is an interface proxy class extends <code>Object</code>
+ * and implements delegated interface together with additional interfaces instead.
  *
  * @see SchemaObject
  * @see DelegatedClassSchema
  */
 public class ProxyClassSchema extends DelegatedClassSchema implements SchemaObject {
 
+    private static final DelegatedClassSchema OBJECT_CLASS_SCHEMA = new DelegatedClassSchema(Object.class);
     private final DelegatedClassSchema delegatedClassSchema;
+    private final List<Class<?>> implementedInterfaces;
+    private final List<SchemaEntity> interfaces;
     private final String proxyClassName;
+    private final boolean targetRuntimePackage;
 
     public ProxyClassSchema(Class<?> delegatedClass, String proxyClassPrefix) {
+        this(delegatedClass, proxyClassPrefix, Collections.emptyList());
+    }
+
+    public ProxyClassSchema(Class<?> delegatedClass, String proxyClassPrefix,
+            Collection<Class<?>> additionalInterfaces) {
         super(delegatedClass);
         delegatedClassSchema = new DelegatedClassSchema(delegatedClass);
-        proxyClassName = getProxyClassName(delegatedClass, proxyClassPrefix);
+        List<Class<?>> interfaceClasses = new ArrayList<>();
+        if (delegatedClass.isInterface()) {
+            interfaceClasses.add(delegatedClass);
+        }
+        interfaceClasses.addAll(additionalInterfaces);
+        implementedInterfaces = Collections.unmodifiableList(interfaceClasses);
+        interfaces = Collections.unmodifiableList(
+                interfaceClasses.stream().map(ImplementedInterfaceSchema::new).collect(Collectors.toList()));
+        String additionalInterfacesNames = additionalInterfaces.stream().map(Class::getSimpleName)
+                .collect(Collectors.joining());
+        proxyClassName = getProxyClassName(delegatedClass, proxyClassPrefix + additionalInterfacesNames);
+        targetRuntimePackage = false;
+    }
+
+    private ProxyClassSchema(ProxyClassSchema proxyClassSchema, List<Class<?>> implementedInterfaces,
+            List<SchemaEntity> interfaces, String proxyClassName, boolean targetRuntimePackage) {
+        super(proxyClassSchema.delegatedClass());
+        delegatedClassSchema = proxyClassSchema.delegatedClassSchema;
+        this.implementedInterfaces = implementedInterfaces;
+        this.interfaces = interfaces;
+        this.proxyClassName = proxyClassName;
+        this.targetRuntimePackage = targetRuntimePackage;
+    }
+
+    /**
+     * Returns binary name of proxy class.
+     */
+    public String getBinaryName() {
+        return String.format("%s.%s", getPackage(), getName());
     }
 
     /**
@@ -57,13 +99,19 @@ public class ProxyClassSchema extends DelegatedClassSchema implements SchemaObje
         return Collections.emptyList();
     }
 
+    /**
+     * Returns interfaces implemented by proxy class in order of declaration.
+     */
+    public List<Class<?>> getImplementedInterfaces() {
+        return implementedInterfaces;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<SchemaEntity> getInterfaces() {
-        // no interfaces by default
-        return Collections.emptyList();
+        return interfaces;
     }
 
     /**
@@ -79,7 +127,13 @@ public class ProxyClassSchema extends DelegatedClassSchema implements SchemaObje
      */
     @Override
     public String getParameterizedDeclaration() {
-        return getName() + ClassMemberUtil.generateBoundedTypeVariablesDeclaration(delegatedClass());
+        String typeVariablesDeclaration = Stream.concat(Stream.of(delegatedClass()), implementedInterfaces.stream())
+                .distinct().map(ClassMemberUtil::generateBoundedTypeVariablesDeclaration)
+                .filter(declaration -> !declaration.isEmpty())
+                .map(declaration -> declaration.substring(1, declaration.length() - 1))
+                .collect(Collectors.joining(", "));
+        return typeVariablesDeclaration.isEmpty() ? getName()
+                : String.format("%s<%s>", getName(), typeVariablesDeclaration);
     }
 
     /**
@@ -87,7 +141,41 @@ public class ProxyClassSchema extends DelegatedClassSchema implements SchemaObje
      */
     @Override
     public SchemaEntity getSuperclass() {
-        return delegatedClassSchema;
+        return delegatedClass().isInterface() ? OBJECT_CLASS_SCHEMA : delegatedClassSchema;
+    }
+
+    /**
+     * Checks if proxy class is guaranteed to be defined at the same runtime package as delegated class, so it may
+     * override package-private methods of delegated class.
+     */
+    public boolean isAtTargetRuntimePackage() {
+        return targetRuntimePackage;
+    }
+
+    /**
+     * Returns copy of this schema for proxy class that additionally implements received interfaces.
+     *
+     * @param interfaceClasses <code>Collection</code> of interfaces to implement.
+     * @return new <code>ProxyClassSchema</code> with same name and superclass.
+     */
+    public ProxyClassSchema withInterfaces(Collection<Class<?>> interfaceClasses) {
+        List<Class<?>> allInterfaceClasses = new ArrayList<>(implementedInterfaces);
+        allInterfaceClasses.addAll(interfaceClasses);
+        List<SchemaEntity> allInterfaces = interfaceClasses.stream().map(ImplementedInterfaceSchema::new)
+                .collect(Collectors.toList());
+        allInterfaces.addAll(0, interfaces);
+        return new ProxyClassSchema(this, Collections.unmodifiableList(allInterfaceClasses),
+                Collections.unmodifiableList(allInterfaces), proxyClassName, targetRuntimePackage);
+    }
+
+    /**
+     * Returns copy of this schema for proxy class that is guaranteed to be defined at the same runtime package as
+     * delegated class.
+     *
+     * @return new <code>ProxyClassSchema</code> with same name, superclass and interfaces.
+     */
+    public ProxyClassSchema withTargetRuntimePackage() {
+        return new ProxyClassSchema(this, implementedInterfaces, interfaces, proxyClassName, true);
     }
 
     protected String getProxyClassName(Class<?> clazz, String proxyClassPrefix) {
@@ -23,14 +23,21 @@
  */
 package com.github.vladislavsevruk.generator.proxy.util;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.GenericDeclaration;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -38,7 +45,28 @@ import java.util.stream.Collectors;
  */
 public final class ClassMemberUtil {
 
-    private static final List<Method> OBJECT_METHODS = Arrays.asList(Object.class.getMethods());
+    private static final ClassValue<ClassMetadata> CLASS_METADATA = new ClassValue<ClassMetadata>() {
+
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+    // method equality includes declaring class so methods that override ones of 'Object' class aren't matched
+    private static final Set<Method> OBJECT_METHODS = new HashSet<>(Arrays.asList(Object.class.getMethods()));
+    private static final Map<Class<?>, Class<?>> WRAPPER_TYPES = new HashMap<>();
+
+    static {
+        WRAPPER_TYPES.put(boolean.class, Boolean.class);
+        WRAPPER_TYPES.put(byte.class, Byte.class);
+        WRAPPER_TYPES.put(char.class, Character.class);
+        WRAPPER_TYPES.put(double.class, Double.class);
+        WRAPPER_TYPES.put(float.class, Float.class);
+        WRAPPER_TYPES.put(int.class, Integer.class);
+        WRAPPER_TYPES.put(long.class, Long.class);
+        WRAPPER_TYPES.put(short.class, Short.class);
+        WRAPPER_TYPES.put(void.class, Void.class);
+    }
 
     private ClassMemberUtil() {
     }
@@ -50,10 +78,22 @@ public final class ClassMemberUtil {
      * @return <code>String</code> with type variables declaration.
      */
     public static String generateBoundedTypeVariablesDeclaration(GenericDeclaration genericDeclaration) {
-        String typeVariablesDeclaration = Arrays.stream(genericDeclaration.getTypeParameters())
-                .map(ClassMemberUtil::generateTypeVariableDeclaration).collect(Collectors.joining(", "));
-        return typeVariablesDeclaration.isEmpty() ? typeVariablesDeclaration
-                : String.format("<%s>", typeVariablesDeclaration);
+        if (genericDeclaration instanceof Class) {
+            return CLASS_METADATA.get((Class<?>) genericDeclaration).getBoundedTypeVariablesDeclaration();
+        }
+        return resolveBoundedTypeVariablesDeclaration(genericDeclaration);
+    }
+
+    /**
+     * Generates key of received method that consists of method name and binary names of its parameter types, so method
+     * may be resolved by {@link #resolveMethods(Class, String...)} later.
+     *
+     * @param method <code>Method</code> to generate key for.
+     * @return <code>String</code> with method key.
+     */
+    public static String generateMethodKey(Method method) {
+        return Arrays.stream(method.getParameterTypes()).map(Class::getName)
+                .collect(Collectors.joining(",", method.getName() + "(", ")"));
     }
 
     /**
@@ -63,10 +103,40 @@ public final class ClassMemberUtil {
      * @return <code>String</code> with type variables declaration.
      */
     public static String generateUnboundedTypeVariablesDeclaration(Class<?> genericDeclaration) {
-        String typeVariablesDeclaration = Arrays.stream(genericDeclaration.getTypeParameters())
-                .map(TypeVariable::toString).collect(Collectors.joining(", "));
-        return typeVariablesDeclaration.isEmpty() ? typeVariablesDeclaration
-                : String.format("<%s>", typeVariablesDeclaration);
+        return CLASS_METADATA.get(genericDeclaration).getUnboundedTypeVariablesDeclaration();
+    }
+
+    /**
+     * Returns public constructors of received class that may be called by proxy constructors.
+     *
+     * @param clazz <code>Class</code> to get constructors of.
+     * @return cached unmodifiable <code>List</code> of public constructors.
+     */
+    public static List<Constructor<?>> getProxyableConstructors(Class<?> clazz) {
+        return CLASS_METADATA.get(clazz).getProxyableConstructors();
+    }
+
+    /**
+     * Returns methods of received class that may be overridden by proxy: non-static and non-final ones that aren't
+     * declared by <code>Object</code> class.
+     *
+     * @param clazz            <code>Class</code> to get methods of.
+     * @param includeNonPublic if protected and visible package-private methods should be included as well.
+     * @return cached unmodifiable <code>List</code> of methods to override.
+     */
+    public static List<Method> getProxyableMethods(Class<?> clazz, boolean includeNonPublic) {
+        ClassMetadata classMetadata = CLASS_METADATA.get(clazz);
+        return includeNonPublic ? classMetadata.getOverridableMethods() : classMetadata.getProxyableMethods();
+    }
+
+    /**
+     * Returns wrapper class for received primitive type.
+     *
+     * @param clazz <code>Class</code> to get wrapper for.
+     * @return wrapper <code>Class</code> if received class is primitive, received class otherwise.
+     */
+    public static Class<?> getWrapperType(Class<?> clazz) {
+        return clazz.isPrimitive() ? WRAPPER_TYPES.get(clazz) : clazz;
     }
 
     /**
@@ -110,6 +180,61 @@ public final class ClassMemberUtil {
         return !Modifier.isStatic(executable.getModifiers());
     }
 
+    /**
+     * Resolves methods with received keys that are declared or inherited by received class. If several methods match
+     * the same key method of subclass is picked.
+     *
+     * @param clazz      <code>Class</code> to resolve methods at.
+     * @param methodKeys keys of methods generated by {@link #generateMethodKey(Method)}.
+     * @return unmodifiable <code>List</code> of methods in order of received keys.
+     * @throws IllegalStateException if there is no method for some key.
+     */
+    public static List<Method> resolveMethods(Class<?> clazz, String... methodKeys) {
+        Map<String, Method> methods = new HashMap<>();
+        for (Class<?> currentClass = clazz; currentClass != null; currentClass = currentClass.getSuperclass()) {
+            collectDeclaredMethods(currentClass, methods);
+        }
+        for (Class<?> currentClass = clazz; currentClass != null; currentClass = currentClass.getSuperclass()) {
+            collectInterfaceMethods(currentClass, methods);
+        }
+        List<Method> resolvedMethods = new ArrayList<>(methodKeys.length);
+        for (String methodKey : methodKeys) {
+            Method method = methods.get(methodKey);
+            if (method == null) {
+                throw new IllegalStateException(
+                        String.format("There is no '%s' method at %s class.", methodKey, clazz.getName()));
+            }
+            resolvedMethods.add(method);
+        }
+        return Collections.unmodifiableList(resolvedMethods);
+    }
+
+    static String resolveBoundedTypeVariablesDeclaration(GenericDeclaration genericDeclaration) {
+        String typeVariablesDeclaration = Arrays.stream(genericDeclaration.getTypeParameters())
+                .map(ClassMemberUtil::generateTypeVariableDeclaration).collect(Collectors.joining(", "));
+        return typeVariablesDeclaration.isEmpty() ? typeVariablesDeclaration
+                : String.format("<%s>", typeVariablesDeclaration);
+    }
+
+    static String resolveUnboundedTypeVariablesDeclaration(Class<?> genericDeclaration) {
+        String typeVariablesDeclaration = Arrays.stream(genericDeclaration.getTypeParameters())
+                .map(TypeVariable::toString).collect(Collectors.joining(", "));
+        return typeVariablesDeclaration.isEmpty() ? typeVariablesDeclaration
+                : String.format("<%s>", typeVariablesDeclaration);
+    }
+
+    private static void collectDeclaredMethods(Class<?> clazz, Map<String, Method> methods) {
+        Arrays.stream(clazz.getDeclaredMethods()).filter(method -> !method.isBridge() && !method.isSynthetic())
+                .forEach(method -> methods.putIfAbsent(generateMethodKey(method), method));
+    }
+
+    private static void collectInterfaceMethods(Class<?> clazz, Map<String, Method> methods) {
+        for (Class<?> interfaceClass : clazz.getInterfaces()) {
+            collectDeclaredMethods(interfaceClass, methods);
+            collectInterfaceMethods(interfaceClass, methods);
+        }
+    }
+
     private static String generateTypeVariableDeclaration(TypeVariable<? extends GenericDeclaration> typeVariable) {
         Type bound = typeVariable.getBounds()[0];
         if (Class.class.isAssignableFrom(bound.getClass()) && Object.class.equals(bound)) {
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reflective metadata of single class that is required for proxy generation. Every part is resolved lazily on first
+ * access and then reused so reflection arrays aren't copied again for every generated proxy.
+ */
+final class ClassMetadata {
+
+    private volatile String boundedTypeVariablesDeclaration;
+    private final Class<?> clazz;
+    private volatile List<Method> overridableMethods;
+    private volatile List<Constructor<?>> proxyableConstructors;
+    private volatile List<Method> proxyableMethods;
+    private volatile String unboundedTypeVariablesDeclaration;
+
+    ClassMetadata(Class<?> clazz) {
+        this.clazz = clazz;
+    }
+
+    String getBoundedTypeVariablesDeclaration() {
+        String typeVariablesDeclaration = boundedTypeVariablesDeclaration;
+        if (typeVariablesDeclaration == null) {
+            typeVariablesDeclaration = ClassMemberUtil.resolveBoundedTypeVariablesDeclaration(clazz);
+            boundedTypeVariablesDeclaration = typeVariablesDeclaration;
+        }
+        return typeVariablesDeclaration;
+    }
+
+    List<Method> getOverridableMethods() {
+        List<Method> methods = overridableMethods;
+        if (methods == null) {
+            methods = Stream.concat(getProxyableMethods().stream(), getOverridableNonPublicMethods())
+                    .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+            overridableMethods = methods;
+        }
+        return methods;
+    }
+
+    List<Constructor<?>> getProxyableConstructors() {
+        List<Constructor<?>> constructors = proxyableConstructors;
+        if (constructors == null) {
+            constructors = Arrays.stream(clazz.getConstructors()).filter(ClassMemberUtil::isNonPrivate)
+                    .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+            proxyableConstructors = constructors;
+        }
+        return constructors;
+    }
+
+    List<Method> getProxyableMethods() {
+        List<Method> methods = proxyableMethods;
+        if (methods == null) {
+            methods = Arrays.stream(clazz.getMethods()).filter(ClassMemberUtil::isNonObjectMethod)
+                    .filter(ClassMemberUtil::isNonStatic).filter(ClassMemberUtil::isNonFinal)
+                    .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+            proxyableMethods = methods;
+        }
+        return methods;
+    }
+
+    String getUnboundedTypeVariablesDeclaration() {
+        String typeVariablesDeclaration = unboundedTypeVariablesDeclaration;
+        if (typeVariablesDeclaration == null) {
+            typeVariablesDeclaration = ClassMemberUtil.resolveUnboundedTypeVariablesDeclaration(clazz);
+            unboundedTypeVariablesDeclaration = typeVariablesDeclaration;
+        }
+        return typeVariablesDeclaration;
+    }
+
+    private Stream<Method> getOverridableNonPublicMethods() {
+        // methods of subclasses are collected first so they hide matching superclass methods
+        Map<String, Method> methods = new LinkedHashMap<>();
+        Class<?> currentClass = clazz;
+        while (currentClass != null && !Object.class.equals(currentClass)) {
+            Arrays.stream(currentClass.getDeclaredMethods()).filter(ClassMemberUtil::isNonPrivate)
+                    .filter(method -> !method.isBridge() && !method.isSynthetic())
+                    .forEach(method -> methods.putIfAbsent(getSignatureKey(method), method));
+            currentClass = currentClass.getSuperclass();
+        }
+        return methods.values().stream().filter(method -> !Modifier.isPublic(method.getModifiers()))
+                .filter(this::isVisibleForOverriding).filter(ClassMemberUtil::isNonStatic)
+                .filter(ClassMemberUtil::isNonFinal);
+    }
+
+    private String getPackageName(Class<?> type) {
+        // package may be not defined for classes of default package at java 8
+        String className = type.getName();
+        int lastDotIndex = className.lastIndexOf('.');
+        return lastDotIndex == -1 ? "" : className.substring(0, lastDotIndex);
+    }
+
+    private String getSignatureKey(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    private boolean isVisibleForOverriding(Method method) {
+        // package-private methods are visible only inside the same runtime package that also depends on class loader
+        Class<?> declaringClass = method.getDeclaringClass();
+        return Modifier.isProtected(method.getModifiers()) || declaringClass.getClassLoader() == clazz.getClassLoader()
+                && getPackageName(declaringClass).equals(getPackageName(clazz));
+    }
+}
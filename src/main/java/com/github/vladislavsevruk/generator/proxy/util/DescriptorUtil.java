@@ -0,0 +1,180 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.util;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+/**
+ * Utility methods for generating descriptors and signatures of classes and their members for class files.
+ */
+public final class DescriptorUtil {
+
+    private DescriptorUtil() {
+    }
+
+    /**
+     * Generates generic signature for class that extends received class and declares the same type variables.
+     *
+     * @param superclass <code>Class</code> to generate subclass signature for.
+     * @return <code>String</code> with class signature or <code>null</code> if received class has no type variables.
+     */
+    public static String generateSubclassSignature(Class<?> superclass) {
+        TypeVariable<?>[] typeVariables = superclass.getTypeParameters();
+        if (typeVariables.length == 0) {
+            return null;
+        }
+        StringBuilder typeParameters = new StringBuilder("<");
+        StringBuilder typeArguments = new StringBuilder("<");
+        for (TypeVariable<?> typeVariable : typeVariables) {
+            typeParameters.append(typeVariable.getName());
+            Type[] bounds = typeVariable.getBounds();
+            for (int i = 0; i < bounds.length; ++i) {
+                // class bound is omitted if first bound is interface
+                if (i == 0 && isInterface(bounds[i])) {
+                    typeParameters.append(':');
+                }
+                typeParameters.append(':').append(getSignature(bounds[i]));
+            }
+            typeArguments.append('T').append(typeVariable.getName()).append(';');
+        }
+        typeParameters.append('>');
+        typeArguments.append('>');
+        return typeParameters.append('L').append(getInternalName(superclass)).append(typeArguments).append(';')
+                .toString();
+    }
+
+    /**
+     * Generates field descriptor for received class.
+     *
+     * @param clazz <code>Class</code> to generate descriptor for.
+     * @return <code>String</code> with field descriptor.
+     */
+    public static String getDescriptor(Class<?> clazz) {
+        if (clazz.isPrimitive()) {
+            return String.valueOf(getPrimitiveDescriptor(clazz));
+        }
+        if (clazz.isArray()) {
+            return clazz.getName().replace('.', '/');
+        }
+        return "L" + getInternalName(clazz) + ";";
+    }
+
+    /**
+     * Generates internal name for received class.
+     *
+     * @param clazz <code>Class</code> to generate internal name for.
+     * @return <code>String</code> with internal name of class.
+     */
+    public static String getInternalName(Class<?> clazz) {
+        return getInternalName(clazz.getName());
+    }
+
+    /**
+     * Generates internal name for received binary class name.
+     *
+     * @param binaryName <code>String</code> with binary name of class.
+     * @return <code>String</code> with internal name of class.
+     */
+    public static String getInternalName(String binaryName) {
+        return binaryName.replace('.', '/');
+    }
+
+    /**
+     * Generates method descriptor for received return and parameter types.
+     *
+     * @param returnType     <code>Class</code> of method return type.
+     * @param parameterTypes <code>Class</code> array with method parameter types.
+     * @return <code>String</code> with method descriptor.
+     */
+    public static String getMethodDescriptor(Class<?> returnType, Class<?>... parameterTypes) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> parameterType : parameterTypes) {
+            descriptor.append(getDescriptor(parameterType));
+        }
+        return descriptor.append(')').append(getDescriptor(returnType)).toString();
+    }
+
+    /**
+     * Counts local variable slots that are occupied by value of received type.
+     *
+     * @param clazz <code>Class</code> to count slots for.
+     * @return number of occupied slots.
+     */
+    public static int getSlotSize(Class<?> clazz) {
+        if (void.class.equals(clazz)) {
+            return 0;
+        }
+        return long.class.equals(clazz) || double.class.equals(clazz) ? 2 : 1;
+    }
+
+    private static char getPrimitiveDescriptor(Class<?> clazz) {
+        if (boolean.class.equals(clazz)) {
+            return 'Z';
+        }
+        if (long.class.equals(clazz)) {
+            return 'J';
+        }
+        // first letter of the rest primitive types matches descriptor
+        return Character.toUpperCase(clazz.getName().charAt(0));
+    }
+
+    private static String getSignature(Type type) {
+        if (type instanceof Class) {
+            return getDescriptor((Class<?>) type);
+        }
+        if (type instanceof TypeVariable) {
+            return "T" + ((TypeVariable<?>) type).getName() + ";";
+        }
+        if (type instanceof GenericArrayType) {
+            return "[" + getSignature(((GenericArrayType) type).getGenericComponentType());
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            StringBuilder signature = new StringBuilder("L")
+                    .append(getInternalName((Class<?>) parameterizedType.getRawType())).append('<');
+            for (Type typeArgument : parameterizedType.getActualTypeArguments()) {
+                signature.append(getSignature(typeArgument));
+            }
+            return signature.append(">;").toString();
+        }
+        WildcardType wildcardType = (WildcardType) type;
+        if (wildcardType.getLowerBounds().length != 0) {
+            return "-" + getSignature(wildcardType.getLowerBounds()[0]);
+        }
+        Type upperBound = wildcardType.getUpperBounds()[0];
+        return Object.class.equals(upperBound) ? "*" : "+" + getSignature(upperBound);
+    }
+
+    private static boolean isInterface(Type bound) {
+        if (bound instanceof Class) {
+            return ((Class<?>) bound).isInterface();
+        }
+        return bound instanceof ParameterizedType && ((Class<?>) ((ParameterizedType) bound).getRawType())
+                .isInterface();
+    }
+}
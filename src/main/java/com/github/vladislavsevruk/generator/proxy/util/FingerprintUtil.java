@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.util;
+
+import com.github.vladislavsevruk.generator.proxy.source.bytecode.ClassFileReader;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.ProxyClassCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Utility methods for fingerprints that identify target class and compiler of proxy class. Fingerprint is stored at
+ * <code>public static final</code> constant of proxy classes that are generated ahead of time or on runtime, so proxy
+ * classes found by name at class path, archive, cache or class loader are used only if they were produced for the same
+ * target class by the same compiler.
+ */
+@Log4j2
+public final class FingerprintUtil {
+
+    public static final String FINGERPRINT_FIELD = "PROXY_FINGERPRINT";
+    private static final ClassValue<String> FINGERPRINTS = new ClassValue<String>() {
+
+        @Override
+        protected String computeValue(Class<?> type) {
+            return readFingerprint(type);
+        }
+    };
+
+    private FingerprintUtil() {
+    }
+
+    /**
+     * Adds constant with received fingerprint to byte code of proxy class.
+     *
+     * @param bytes       <code>byte</code> array with compiled byte code of proxy class.
+     * @param fingerprint <code>String</code> with fingerprint of proxy class.
+     * @return <code>byte</code> array with byte code that contains fingerprint constant.
+     */
+    public static byte[] addFingerprint(byte[] bytes, String fingerprint) {
+        return new ClassFileReader(bytes).withConstantField(FINGERPRINT_FIELD, fingerprint);
+    }
+
+    /**
+     * Generates fingerprint of proxy class without prefix that received compiler produces for received target class.
+     *
+     * @param targetClass        <code>Class</code> that is delegated by proxy.
+     * @param proxyClassCompiler <code>ProxyClassCompiler</code> that produces proxy class.
+     * @return <code>String</code> with fingerprint of proxy class.
+     */
+    public static String generateFingerprint(Class<?> targetClass, ProxyClassCompiler proxyClassCompiler) {
+        return generateFingerprint(new ProxyClassSchema(targetClass, ""), proxyClassCompiler);
+    }
+
+    /**
+     * Generates fingerprint of proxy class that received compiler produces for received schema. Additional interfaces
+     * are included to fingerprint by their binary names as proxy class name contains only their simple names.
+     * Compilers without own fingerprint contribute hash of proxy class produced for received schema.
+     *
+     * @param proxyClassSchema   <code>ProxyClassSchema</code> of proxy class.
+     * @param proxyClassCompiler <code>ProxyClassCompiler</code> that produces proxy class.
+     * @return <code>String</code> with fingerprint of proxy class.
+     * @see ProxyClassCompiler#getFingerprint(ProxyClassSchema)
+     */
+    public static String generateFingerprint(ProxyClassSchema proxyClassSchema,
+            ProxyClassCompiler proxyClassCompiler) {
+        Class<?> targetClass = proxyClassSchema.delegatedClass();
+        StringBuilder fingerprint = new StringBuilder(targetClass.getName());
+        for (Class<?> implementedInterface : proxyClassSchema.getImplementedInterfaces()) {
+            if (!implementedInterface.equals(targetClass)) {
+                fingerprint.append('+').append(implementedInterface.getName());
+            }
+        }
+        return fingerprint.append('#').append(proxyClassCompiler.getFingerprint(proxyClassSchema)).toString();
+    }
+
+    /**
+     * Returns fingerprint stored at received proxy class. Fingerprint is read once per class.
+     *
+     * @param proxyClass <code>Class</code> to get fingerprint of.
+     * @return <code>String</code> with fingerprint or <code>null</code> if class has no fingerprint constant.
+     */
+    public static String getFingerprint(Class<?> proxyClass) {
+        return FINGERPRINTS.get(proxyClass);
+    }
+
+    private static String readFingerprint(Class<?> proxyClass) {
+        try {
+            Field fingerprintField = proxyClass.getDeclaredField(FINGERPRINT_FIELD);
+            int modifiers = fingerprintField.getModifiers();
+            if (Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers) && String.class
+                    .equals(fingerprintField.getType())) {
+                return (String) fingerprintField.get(null);
+            }
+        } catch (NoSuchFieldException nsfEx) {
+            log.debug("'{}' class has no fingerprint.", proxyClass.getName());
+        } catch (IllegalAccessException iaEx) {
+            log.debug("Fingerprint of '{}' class is not accessible.", proxyClass.getName());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.util;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utility methods for SHA-256 hashes of source code and byte code that are used as cache keys and fingerprints.
+ */
+public final class HashUtil {
+
+    private static final int ENCODING_BUFFER_SIZE = 8192;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private HashUtil() {
+    }
+
+    /**
+     * Returns new SHA-256 message digest.
+     *
+     * @return <code>MessageDigest</code> for SHA-256 algorithm.
+     */
+    public static MessageDigest getMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException nsaEx) {
+            // every java platform implementation is required to support SHA-256
+            throw new IllegalStateException(nsaEx);
+        }
+    }
+
+    /**
+     * Generates SHA-256 hash of received byte code.
+     *
+     * @param bytes <code>byte</code> array to hash.
+     * @return <code>String</code> with hex representation of hash.
+     */
+    public static String hash(byte[] bytes) {
+        return toHex(getMessageDigest().digest(bytes));
+    }
+
+    /**
+     * Generates SHA-256 hash of received source code encoded to UTF-8.
+     *
+     * @param sourceCode <code>CharSequence</code> to hash.
+     * @return <code>String</code> with hex representation of hash.
+     */
+    public static String hash(CharSequence sourceCode) {
+        MessageDigest messageDigest = getMessageDigest();
+        update(messageDigest, sourceCode);
+        return toHex(messageDigest.digest());
+    }
+
+    /**
+     * Converts received bytes to lower case hex representation.
+     *
+     * @param bytes <code>byte</code> array to convert.
+     * @return <code>String</code> with hex representation of received bytes.
+     */
+    public static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; ++i) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Updates received message digest with received source code encoded to UTF-8.
+     *
+     * @param messageDigest <code>MessageDigest</code> to update.
+     * @param sourceCode    <code>CharSequence</code> to add to digest.
+     */
+    public static void update(MessageDigest messageDigest, CharSequence sourceCode) {
+        // source code is encoded by parts so it isn't copied into single byte array
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer input = CharBuffer.wrap(sourceCode);
+        ByteBuffer output = ByteBuffer.allocate(ENCODING_BUFFER_SIZE);
+        CoderResult coderResult;
+        do {
+            coderResult = encoder.encode(input, output, true);
+            output.flip();
+            messageDigest.update(output);
+            output.clear();
+        } while (coderResult.isOverflow());
+        encoder.flush(output);
+        output.flip();
+        messageDigest.update(output);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy;
+
+import com.github.vladislavsevruk.generator.proxy.data.TestClass;
+import com.github.vladislavsevruk.generator.proxy.data.TestClassExtendsParameterized;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.DelegateProxyBytecodeCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.generator.SimpleProxySourceTestGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.loader.ProxyClassArchive;
+import com.github.vladislavsevruk.generator.proxy.util.FingerprintUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarFile;
+
+class ProxyClassExporterTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void exportArchiveTest() throws Exception {
+        Path jarFile = tempDirectory.resolve("proxies.jar");
+        Path classListFile = tempDirectory.resolve("proxies.classlist");
+        List<String> classNames = new ProxyClassExporter(new DelegateProxyBytecodeCompiler(), "Archived")
+                .exportArchive(Collections.singletonList(TestClass.class), jarFile, classListFile);
+        String proxyClassName = TestClass.class.getPackage().getName() + ".ArchivedTestClassProxy";
+        Assertions.assertEquals(Collections.singletonList(proxyClassName), classNames);
+        Assertions.assertEquals(Collections.singletonList(proxyClassName.replace('.', '/')),
+                Files.readAllLines(classListFile));
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{ jarFile.toUri().toURL() },
+                getClass().getClassLoader())) {
+            Assertions.assertTrue(TestClass.class.isAssignableFrom(classLoader.loadClass(proxyClassName)));
+        }
+    }
+
+    @Test
+    void exportByMainMethodTest() throws Exception {
+        ProxyClassExporter.main(new String[]{ tempDirectory.toString(), SimpleProxySourceTestGenerator.class.getName(),
+                TestClass.class.getName(), "--prefix=MainExported" });
+        Assertions.assertTrue(Files.isRegularFile(getClassFile(tempDirectory, "MainExportedTestClassProxy")));
+    }
+
+    @Test
+    void exportBytecodeProxyClassesTest() throws Exception {
+        DelegateProxyBytecodeCompiler proxyClassCompiler = new DelegateProxyBytecodeCompiler();
+        List<Path> classFiles = new ProxyClassExporter(proxyClassCompiler, "Exported")
+                .export(Arrays.asList(TestClass.class, TestClassExtendsParameterized.class), tempDirectory);
+        Assertions.assertEquals(2, classFiles.size());
+        Assertions.assertTrue(Files.isRegularFile(getClassFile(tempDirectory, "ExportedTestClassProxy")));
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{ tempDirectory.toUri().toURL() },
+                getClass().getClassLoader())) {
+            Class<?> proxyClass = classLoader
+                    .loadClass(TestClass.class.getPackage().getName() + ".ExportedTestClassProxy");
+            Assertions.assertEquals(FingerprintUtil.generateFingerprint(TestClass.class, proxyClassCompiler),
+                    FingerprintUtil.getFingerprint(proxyClass));
+        }
+    }
+
+    @Test
+    void exportSourceProxyClassesTest() throws Exception {
+        List<Path> classFiles = new ProxyClassExporter(new SimpleProxySourceTestGenerator(), "Exported")
+                .export(Arrays.asList(TestClass.class, TestClassExtendsParameterized.class), tempDirectory);
+        Assertions.assertEquals(2, classFiles.size());
+        Assertions.assertTrue(
+                Files.isRegularFile(getClassFile(tempDirectory, "ExportedTestClassExtendsParameterizedProxy")));
+    }
+
+    @Test
+    void recordGeneratedClassesTest() throws Exception {
+        Path jarFile = tempDirectory.resolve("proxies.jar");
+        ProxyClassArchive archive = new ProxyClassArchive(jarFile, tempDirectory.resolve("proxies.classlist"));
+        ProxyFactory.recordGeneratedClasses(archive);
+        DelegateProxyBytecodeCompiler proxyClassCompiler = new DelegateProxyBytecodeCompiler();
+        try {
+            new ProxyFactory<>(TestClass.class, proxyClassCompiler, "Recorded").newInstance();
+        } finally {
+            ProxyFactory.recordGeneratedClasses(null);
+        }
+        archive.write();
+        String proxyClassName = TestClass.class.getPackage().getName() + ".RecordedTestClassProxy";
+        Assertions.assertEquals(Collections.singletonList(proxyClassName), archive.getClassNames());
+        try (JarFile jar = new JarFile(jarFile.toFile())) {
+            Assertions.assertNotNull(jar.getEntry(proxyClassName.replace('.', '/') + ".class"));
+        }
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{ jarFile.toUri().toURL() },
+                getClass().getClassLoader())) {
+            Assertions.assertEquals(FingerprintUtil.generateFingerprint(TestClass.class, proxyClassCompiler),
+                    FingerprintUtil.getFingerprint(classLoader.loadClass(proxyClassName)));
+        }
+    }
+
+    private Path getClassFile(Path outputDirectory, String simpleName) {
+        return outputDirectory.resolve(TestClass.class.getPackage().getName().replace('.', '/'))
+                .resolve(simpleName + ".class");
+    }
+}
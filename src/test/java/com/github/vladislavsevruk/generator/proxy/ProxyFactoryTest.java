@@ -23,21 +23,168 @@
  */
 package com.github.vladislavsevruk.generator.proxy;
 
+import com.github.vladislavsevruk.generator.proxy.data.AbstractTestClass;
 import com.github.vladislavsevruk.generator.proxy.data.FinalTestClass;
+import com.github.vladislavsevruk.generator.proxy.data.PregeneratedTestClass;
+import com.github.vladislavsevruk.generator.proxy.data.PregeneratedTestClassProxy;
+import com.github.vladislavsevruk.generator.proxy.data.TestAdditionalInterface;
 import com.github.vladislavsevruk.generator.proxy.data.TestClass;
 import com.github.vladislavsevruk.generator.proxy.data.TestClassExtendsParameterized;
+import com.github.vladislavsevruk.generator.proxy.data.TestClassWithBoxedConstructor;
+import com.github.vladislavsevruk.generator.proxy.data.TestClassWithExecutorConstructor;
+import com.github.vladislavsevruk.generator.proxy.data.TestClassWithNonPublicMethods;
+import com.github.vladislavsevruk.generator.proxy.data.TestClassWithPrimitiveConstructor;
 import com.github.vladislavsevruk.generator.proxy.data.TestClassWithPrivateConstructor;
+import com.github.vladislavsevruk.generator.proxy.data.TestClassWithThrowingConstructor;
+import com.github.vladislavsevruk.generator.proxy.data.TestInterface;
+import com.github.vladislavsevruk.generator.proxy.data.TestInterfaceImplementation;
+import com.github.vladislavsevruk.generator.proxy.data.UnmarkedPregeneratedTestClass;
+import com.github.vladislavsevruk.generator.proxy.data.UnmarkedPregeneratedTestClassProxy;
+import com.github.vladislavsevruk.generator.proxy.data.other.TestInterfaceImplementationWithOtherInterface;
+import com.github.vladislavsevruk.generator.proxy.listener.ProxyGenerationEvent;
+import com.github.vladislavsevruk.generator.proxy.listener.ProxyGenerationPhase;
+import com.github.vladislavsevruk.generator.proxy.source.cache.BytecodeDiskCache;
+import com.github.vladislavsevruk.generator.proxy.source.cache.LruProxyClassCache;
+import com.github.vladislavsevruk.generator.proxy.source.cache.ProxyClassCache;
+import com.github.vladislavsevruk.generator.proxy.source.cache.ReferenceProxyClassCache;
+import com.github.vladislavsevruk.generator.proxy.source.cache.UnboundedProxyClassCache;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.DelegateProxyBytecodeCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.ProxyClassCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.SourceProxyClassCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.generator.IndexedInvocationProxySourceGenerator;
 import com.github.vladislavsevruk.generator.proxy.source.generator.SimpleProxySourceTestGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.generator.method.IndexedInvocationProxyMethodGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.generator.signature.ExecutableSignature;
+import com.github.vladislavsevruk.generator.proxy.source.generator.signature.ExecutableSignatureCache;
+import com.github.vladislavsevruk.generator.proxy.source.loader.ClassLoaderProxyClassDefiner;
+import com.github.vladislavsevruk.generator.proxy.source.loader.HiddenProxyClassDefiner;
 import com.github.vladislavsevruk.generator.proxy.source.loader.JavaByteClassLoader;
+import com.github.vladislavsevruk.generator.proxy.source.matcher.MethodMatcher;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+import com.github.vladislavsevruk.generator.proxy.util.FingerprintUtil;
+import com.github.vladislavsevruk.resolver.resolver.executable.ExecutableStringRepresentationResolver;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.nio.file.Files;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 class ProxyFactoryTest {
 
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void createBytecodeProxyForClassThatExtendsParameterizedClassTest() {
+        ProxyFactory<TestClassExtendsParameterized> proxyFactory = new ProxyFactory<>(
+                TestClassExtendsParameterized.class, new DelegateProxyBytecodeCompiler(), "Bytecode");
+        TestClassExtendsParameterized testClass = proxyFactory.newInstance();
+        Assertions.assertNotEquals(TestClassExtendsParameterized.class, testClass.getClass());
+        checkThatNonObjectMethodsWereOverridden(testClass.getClass());
+    }
+
+    @Test
+    void createBytecodeProxyTest() {
+        ProxyFactory<TestClass> proxyFactory = new ProxyFactory<>(TestClass.class,
+                new DelegateProxyBytecodeCompiler(), "Bytecode");
+        TestClass testClass = proxyFactory.newInstance(1);
+        Assertions.assertNotEquals(TestClass.class, testClass.getClass());
+        Assertions.assertTrue(testClass.getClass().getGenericSuperclass() instanceof ParameterizedType);
+        checkThatNonObjectMethodsWereOverridden(testClass.getClass());
+        Assertions.assertThrows(ParseException.class, () -> testClass.methodWithThrowClauseSeveralExceptions(true));
+    }
+
+    @Test
+    void createBytecodeProxyWithPrivateConstructorTest() {
+        ProxyFactory<TestClassWithPrivateConstructor> proxyFactory = new ProxyFactory<>(
+                TestClassWithPrivateConstructor.class, new DelegateProxyBytecodeCompiler(), "Bytecode");
+        Assertions.assertThrows(IllegalArgumentException.class, proxyFactory::newInstance);
+    }
+
+    @Test
+    void createProxyByInstantiatorForFinalClassTest() {
+        ProxyFactory<FinalTestClass> proxyFactory = newProxyFactory(FinalTestClass.class);
+        Assertions.assertEquals(FinalTestClass.class, proxyFactory.getInstantiator().create().getClass());
+    }
+
+    @Test
+    void createProxyByInstantiatorTest() {
+        ProxyFactory<TestClassWithPrimitiveConstructor> proxyFactory = newProxyFactory(
+                TestClassWithPrimitiveConstructor.class);
+        ProxyInstantiator<TestClassWithPrimitiveConstructor> instantiator = proxyFactory
+                .getInstantiator(Long.class, Boolean.class);
+        Assertions.assertSame(instantiator, proxyFactory.getInstantiator(Long.class, Boolean.class));
+        TestClassWithPrimitiveConstructor testClass = instantiator.create(3L, false);
+        Assertions.assertEquals(proxyFactory.newInstance(1L, false).getClass(), testClass.getClass());
+        Assertions.assertEquals(3L, testClass.getNumber());
+        String instantiatorNamePrefix = testClass.getClass().getName() + "Instantiator";
+        Assertions.assertTrue(instantiator.getClass().getName().startsWith(instantiatorNamePrefix));
+        List<TestClassWithPrimitiveConstructor> testClasses = instantiator.createMany(3, 4L, true);
+        Assertions.assertEquals(3, testClasses.size());
+        testClasses.forEach(instance -> Assertions.assertEquals(-4L, instance.getNumber()));
+        Assertions.assertThrows(ClassCastException.class, () -> instantiator.create("3", false));
+    }
+
+    @Test
+    void createProxyClassAsyncTest() throws Exception {
+        ProxyFactory<TestClass> proxyFactory = new ProxyFactory<>(TestClass.class, new SimpleProxySourceTestGenerator(),
+                "Async");
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Class<? extends TestClass> proxyClass = proxyFactory.getProxyClassAsync(executorService).get();
+            Assertions.assertEquals("AsyncTestClassProxy", proxyClass.getSimpleName());
+            Assertions.assertTrue(proxyFactory.getProxyClassAsync(executorService).isDone());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void createProxyConcurrentlyTest() throws Exception {
+        int threadsNumber = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadsNumber);
+        try {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<Class<?>>> proxyClasses = new ArrayList<>();
+            for (int i = 0; i < threadsNumber; ++i) {
+                proxyClasses.add(executorService.submit(() -> {
+                    startLatch.await();
+                    return new ProxyFactory<>(TestClass.class, new SimpleProxySourceTestGenerator(), "Concurrent")
+                            .newInstance().getClass();
+                }));
+            }
+            startLatch.countDown();
+            Class<?> firstProxyClass = proxyClasses.get(0).get();
+            Assertions.assertNotEquals(TestClass.class, firstProxyClass);
+            for (Future<Class<?>> proxyClass : proxyClasses) {
+                Assertions.assertEquals(firstProxyClass, proxyClass.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     @Test
     void createProxyConstructorWithMatchingParameterTest() {
         ProxyFactory<TestClass> proxyFactory = newProxyFactory(TestClass.class);
@@ -45,6 +192,28 @@ class ProxyFactoryTest {
         Assertions.assertNotEquals(TestClass.class, testClass.getClass());
     }
 
+    @Test
+    void createProxyConstructorWithFixedArityTest() {
+        ProxyFactory<TestClassWithPrimitiveConstructor> proxyFactory = newProxyFactory(
+                TestClassWithPrimitiveConstructor.class);
+        Assertions.assertEquals(7L, proxyFactory.newInstance(7).getNumber());
+        Assertions.assertEquals(-5L, proxyFactory.newInstance(5L, true).getNumber());
+        Assertions.assertEquals(8L, proxyFactory.newInstance(8).getNumber());
+        Assertions.assertEquals(-6L, proxyFactory.newInstance(6L, true).getNumber());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> proxyFactory.newInstance(8L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> proxyFactory.newInstance(1, 2, 3));
+        Assertions.assertEquals(proxyFactory.newInstance(9).getClass(), proxyFactory.newInstance(9L, false).getClass());
+    }
+
+    @Test
+    void createProxyConstructorWithIdenticalParameterTypeTest() {
+        ProxyFactory<TestClassWithBoxedConstructor> proxyFactory = newProxyFactory(TestClassWithBoxedConstructor.class);
+        Assertions.assertFalse(proxyFactory.newInstance(1).isPrimitive());
+        Assertions.assertFalse(proxyFactory.newInstance(new Object[]{ 2 }).isPrimitive());
+        Assertions.assertFalse(proxyFactory.getInstantiator(Integer.class).create(3).isPrimitive());
+        Assertions.assertTrue(proxyFactory.getInstantiator(int.class).create(4).isPrimitive());
+    }
+
     @Test
     void createProxyConstructorWithNonMatchingParameterTest() {
         ProxyFactory<TestClass> proxyFactory = newProxyFactory(TestClass.class);
@@ -78,6 +247,19 @@ class ProxyFactoryTest {
         Assertions.assertNotEquals(TestClass.class, testClass.getClass());
     }
 
+    @Test
+    void createProxyConstructorWithPrimitiveParametersTest() {
+        ProxyFactory<TestClassWithPrimitiveConstructor> proxyFactory = newProxyFactory(
+                TestClassWithPrimitiveConstructor.class);
+        TestClassWithPrimitiveConstructor testClass = proxyFactory.newInstance(5L, true);
+        Assertions.assertNotEquals(TestClassWithPrimitiveConstructor.class, testClass.getClass());
+        Assertions.assertEquals(-5L, testClass.getNumber());
+        Assertions.assertEquals(7L, proxyFactory.newInstance(7).getNumber());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> proxyFactory.newInstance((Object) null));
+        Assertions.assertEquals(-3L, proxyFactory.getInstantiator(long.class, boolean.class).create(3L, true)
+                .getNumber());
+    }
+
     @Test
     void createProxyConstructorWithPrivateConstructorTest() {
         ProxyFactory<TestClassWithPrivateConstructor> proxyFactory = newProxyFactory(
@@ -85,6 +267,15 @@ class ProxyFactoryTest {
         Assertions.assertThrows(IllegalArgumentException.class, proxyFactory::newInstance);
     }
 
+    @Test
+    void createProxyConstructorWithThrowingConstructorTest() {
+        ProxyFactory<TestClassWithThrowingConstructor> proxyFactory = newProxyFactory(
+                TestClassWithThrowingConstructor.class);
+        // exception thrown by constructor isn't treated as arguments mismatch
+        Assertions.assertNull(proxyFactory.newInstance("fixed arity"));
+        Assertions.assertNull(proxyFactory.newInstance(new Object[]{ "varargs" }));
+    }
+
     @Test
     void createProxyForClassThatExtendsParameterizedClassTest() {
         ProxyFactory<TestClassExtendsParameterized> proxyFactory = newProxyFactory(TestClassExtendsParameterized.class);
@@ -100,16 +291,129 @@ class ProxyFactoryTest {
         Assertions.assertEquals(FinalTestClass.class, testClass.getClass());
     }
 
+    @Test
+    void createProxyForPackagePrivateMethodsAtAnotherRuntimePackageTest() {
+        ProxyFactory<TestClassWithNonPublicMethods> proxyFactory = new ProxyFactory<>(
+                TestClassWithNonPublicMethods.class, new SimpleProxySourceTestGenerator(true), "AnotherPackage");
+        Assertions.assertThrows(IllegalStateException.class, proxyFactory::newInstance);
+    }
+
+    @Test
+    void createProxyFromBytecodeDiskCacheTest() throws Exception {
+        SourceProxyClassCompiler proxyClassCompiler = new SourceProxyClassCompiler(
+                new SimpleProxySourceTestGenerator(), new BytecodeDiskCache(tempDirectory));
+        ProxyFactory<TestClass> proxyFactory = new ProxyFactory<>(TestClass.class, proxyClassCompiler, "Cached");
+        Class<?> proxyClass = proxyFactory.newInstance().getClass();
+        Assertions.assertNotEquals(TestClass.class, proxyClass);
+        List<Path> cacheEntries;
+        try (Stream<Path> cacheDirectoryContent = Files.list(tempDirectory)) {
+            cacheEntries = cacheDirectoryContent.collect(Collectors.toList());
+        }
+        Assertions.assertEquals(1, cacheEntries.size());
+        ProxyClassSchema proxyClassSchema = new ProxyClassSchema(TestClass.class, "Cached");
+        // entry is replaced by byte code of other compiler so it's returned only if java compiler is skipped
+        byte[] replacedBytes = new DelegateProxyBytecodeCompiler().compile(proxyClass.getName(), proxyClassSchema)
+                .getBytes();
+        Files.write(cacheEntries.get(0), replacedBytes);
+        Assertions.assertArrayEquals(replacedBytes,
+                proxyClassCompiler.compile(proxyClass.getName(), proxyClassSchema).getBytes());
+    }
+
+    @Test
+    void createProxyFromCorruptedBytecodeDiskCacheTest() throws Exception {
+        SourceProxyClassCompiler proxyClassCompiler = new SourceProxyClassCompiler(
+                new SimpleProxySourceTestGenerator(), new BytecodeDiskCache(tempDirectory));
+        ProxyClassSchema proxyClassSchema = new ProxyClassSchema(TestClass.class, "Corrupted");
+        byte[] compiledBytes = proxyClassCompiler.compile(proxyClassSchema.getBinaryName(), proxyClassSchema)
+                .getBytes();
+        Path cacheEntry;
+        try (Stream<Path> cacheDirectoryContent = Files.list(tempDirectory)) {
+            cacheEntry = cacheDirectoryContent.findFirst().orElseThrow(IllegalStateException::new);
+        }
+        // truncated entry keeps magic number so it's picked from cache
+        Files.write(cacheEntry, Arrays.copyOf(compiledBytes, compiledBytes.length / 2));
+        Class<?> proxyClass = new ProxyFactory<>(TestClass.class, proxyClassCompiler, "Corrupted").newInstance()
+                .getClass();
+        Assertions.assertEquals("CorruptedTestClassProxy", proxyClass.getSimpleName());
+        Assertions.assertArrayEquals(compiledBytes, Files.readAllBytes(cacheEntry));
+    }
+
+    @Test
+    void createProxyFromPregeneratedClassTest() {
+        ProxyFactory<PregeneratedTestClass> proxyFactory = newProxyFactory(PregeneratedTestClass.class);
+        Assertions.assertEquals(PregeneratedTestClassProxy.class, proxyFactory.newInstance().getClass());
+    }
+
+    @Test
+    void createProxyDefinedAsHiddenClassTest() throws Exception {
+        ProxyFactory<TestClassWithNonPublicMethods> proxyFactory = new ProxyFactory<>(
+                TestClassWithNonPublicMethods.class,
+                new SourceProxyClassCompiler(new SimpleProxySourceTestGenerator(true)), "Hidden",
+                new HiddenProxyClassDefiner());
+        if (!HiddenProxyClassDefiner.isSupported()) {
+            // package-private methods cannot be overridden by proxy defined by class loader
+            Assertions.assertThrows(IllegalStateException.class, proxyFactory::newInstance);
+            return;
+        }
+        TestClassWithNonPublicMethods testClass = proxyFactory.newInstance();
+        Class<?> proxyClass = testClass.getClass();
+        Assertions.assertNotEquals(TestClassWithNonPublicMethods.class, proxyClass);
+        Method protectedMethod = proxyClass.getDeclaredMethod("protectedMethod");
+        Assertions.assertTrue(Modifier.isProtected(protectedMethod.getModifiers()));
+        Assertions.assertEquals("public", testClass.publicMethod());
+        // hidden class name contains suffix after slash
+        Assertions.assertTrue(proxyClass.getName().startsWith(TestClassWithNonPublicMethods.class.getPackage()
+                .getName() + ".HiddenTestClassWithNonPublicMethodsProxy/"));
+        Method packagePrivateMethod = proxyClass.getDeclaredMethod("packagePrivateMethod");
+        packagePrivateMethod.setAccessible(true);
+        Assertions.assertEquals("package-private", packagePrivateMethod.invoke(testClass));
+        protectedMethod.setAccessible(true);
+        Assertions.assertEquals("protected", protectedMethod.invoke(testClass));
+    }
+
+    @Test
+    void createProxyInstanceAsyncTest() throws Exception {
+        ProxyFactory<TestClass> proxyFactory = new ProxyFactory<>(TestClass.class, new SimpleProxySourceTestGenerator(),
+                "AsyncInstance");
+        TestClass testClass = proxyFactory.newInstanceAsync().get();
+        Assertions.assertEquals("AsyncInstanceTestClassProxy", testClass.getClass().getSimpleName());
+    }
+
+    @Test
+    void createProxyInstanceAsyncWithExecutorArgumentTest() throws Exception {
+        ProxyFactory<TestClassWithExecutorConstructor> proxyFactory = new ProxyFactory<>(
+                TestClassWithExecutorConstructor.class, new SimpleProxySourceTestGenerator(), "ExecutorArgument");
+        Executor executor = Runnable::run;
+        TestClassWithExecutorConstructor testClass = proxyFactory.newInstanceAsync(executor).get();
+        Assertions.assertEquals("ExecutorArgumentTestClassWithExecutorConstructorProxy",
+                testClass.getClass().getSimpleName());
+        Assertions.assertSame(executor, testClass.getExecutor());
+    }
+
+    @Test
+    void createProxyInstanceAsyncWithExecutorTest() throws Exception {
+        ProxyFactory<TestClass> proxyFactory = new ProxyFactory<>(TestClass.class, new SimpleProxySourceTestGenerator(),
+                "ExecutorInstance");
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            TestClass testClass = proxyFactory.newInstanceAsyncOn(executorService, 5L).get();
+            Assertions.assertEquals("ExecutorInstanceTestClassProxy", testClass.getClass().getSimpleName());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     @Test
     void createProxyPrefixTest() throws Exception {
         String prefix = "TestPrefix";
-        ProxyFactory<TestClass> proxyFactory = new ProxyFactory<>(TestClass.class, new SimpleProxySourceTestGenerator(),
-                prefix);
+        ProxyClassCompiler proxyClassCompiler = new SourceProxyClassCompiler(new SimpleProxySourceTestGenerator());
+        ProxyFactory<TestClass> proxyFactory = new ProxyFactory<>(TestClass.class, proxyClassCompiler, prefix);
         TestClass testClass = proxyFactory.newInstance();
         String simpleName = String.format("%s%sProxy", prefix, TestClass.class.getSimpleName());
         Assertions.assertEquals(simpleName, testClass.getClass().getSimpleName());
         String expectedProxyClassName = String.format("%s.%s", TestClass.class.getPackage().getName(), simpleName);
-        Assertions.assertNotNull(JavaByteClassLoader.instance().loadClass(expectedProxyClassName));
+        Assertions.assertNotNull(getNamespaceClassLoader(TestClass.class, proxyClassCompiler)
+                .loadClass(expectedProxyClassName));
     }
 
     @Test
@@ -120,6 +424,154 @@ class ProxyFactoryTest {
         checkThatMethodsWereOverridden(testClass.getClass());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void delegateInterfaceProxyMethodsToTargetTest() throws Exception {
+        ProxyFactory<TestInterface> proxyFactory = ProxyFactory
+                .forInterfaces("Delegating", TestInterface.class, TestAdditionalInterface.class);
+        TestInterface<String> proxy = proxyFactory.newInstance(new TestInterfaceImplementation());
+        Assertions.assertEquals(Object.class, proxy.getClass().getSuperclass());
+        Assertions.assertEquals(
+                "com.github.vladislavsevruk.generator.proxy.data.DelegatingTestAdditionalInterfaceTestInterfaceProxy",
+                proxy.getClass().getName());
+        Assertions.assertTrue(proxy instanceof TestAdditionalInterface);
+        Assertions.assertEquals("implementation", proxy.describe());
+        Assertions.assertEquals("VALUE", proxy.process("value"));
+        Assertions.assertThrows(IOException.class, () -> proxy.process(null));
+        Assertions.assertEquals(6, proxy.sum(1, 2, 3));
+        Assertions.assertEquals(Integer.valueOf(5), ((TestAdditionalInterface) proxy).identity(5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ProxyFactory.forInterfaces(TestClass.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void delegateToInterfacesWithSameSimpleNameTest() {
+        TestInterface<String> proxy = ProxyFactory
+                .forInterfaces("SameSimpleName", TestInterface.class, TestAdditionalInterface.class)
+                .newInstance(new TestInterfaceImplementationWithOtherInterface());
+        TestInterface<String> otherProxy = ProxyFactory.forInterfaces("SameSimpleName", TestInterface.class,
+                com.github.vladislavsevruk.generator.proxy.data.other.TestAdditionalInterface.class)
+                .newInstance(new TestInterfaceImplementationWithOtherInterface());
+        Assertions.assertEquals(proxy.getClass().getName(), otherProxy.getClass().getName());
+        Assertions.assertNotEquals(proxy.getClass(), otherProxy.getClass());
+        Assertions.assertEquals("implementation", ((TestAdditionalInterface) proxy).describe());
+        Assertions.assertEquals("other",
+                ((com.github.vladislavsevruk.generator.proxy.data.other.TestAdditionalInterface) otherProxy).name());
+    }
+
+    @Test
+    void dispatchAbstractProxyMethodsByIndexTest() {
+        AbstractTestClass proxy = new ProxyFactory<>(AbstractTestClass.class,
+                new IndexedInvocationProxySourceGenerator(), "Indexed").newInstance();
+        Assertions.assertNotEquals(AbstractTestClass.class, proxy.getClass());
+        Assertions.assertThrows(AbstractMethodError.class, () -> proxy.abstractMethod("value"));
+        Assertions.assertThrows(AbstractMethodError.class, proxy::abstractVoidMethod);
+        Assertions.assertEquals("concrete", proxy.concreteMethod());
+        IndexedProxy indexedProxy = (IndexedProxy) proxy;
+        indexedProxy.setInvocationHandler((invokedProxy, methodIndex, args) -> {
+            String methodName = invokedProxy.getIndexedMethods().get(methodIndex).getName();
+            return "abstractMethod".equals(methodName) ? "intercepted " + args[0]
+                    : invokedProxy.invokeSuper(methodIndex, args);
+        });
+        Assertions.assertEquals("intercepted value", proxy.abstractMethod("value"));
+        Assertions.assertThrows(AbstractMethodError.class, proxy::abstractVoidMethod);
+        Assertions.assertEquals("concrete", proxy.concreteMethod());
+    }
+
+    @Test
+    void dispatchProxyMethodsByIndexTest() {
+        ProxyFactory<TestClass> proxyFactory = new ProxyFactory<>(TestClass.class,
+                new IndexedInvocationProxySourceGenerator(), "Indexed");
+        TestClass proxy = proxyFactory.newInstance();
+        checkThatNonObjectMethodsWereOverridden(proxy.getClass());
+        Assertions.assertTrue(proxy instanceof IndexedProxy);
+        Assertions.assertNull(proxy.methodWithReturnType());
+        List<Method> indexedMethods = ((IndexedProxy) proxy).getIndexedMethods();
+        Assertions.assertEquals(new IndexedInvocationProxyMethodGenerator(TestClass.class).getIndexedMethods(),
+                indexedMethods);
+        Assertions.assertSame(indexedMethods, ((IndexedProxy) proxyFactory.newInstance()).getIndexedMethods());
+        List<String> calledMethods = new ArrayList<>();
+        ((IndexedProxy) proxy).setInvocationHandler((indexedProxy, methodIndex, args) -> {
+            String methodName = indexedProxy.getIndexedMethods().get(methodIndex).getName();
+            calledMethods.add(methodName);
+            if ("methodWithOneArg".equals(methodName)) {
+                throw new Exception();
+            }
+            return "methodWithReturnType".equals(methodName) ? "intercepted"
+                    : indexedProxy.invokeSuper(methodIndex, args);
+        });
+        Assertions.assertEquals("intercepted", proxy.methodWithReturnType());
+        proxy.methodWithTwoArgs("one", "two");
+        proxy.methodWithVararg("one", "two");
+        Assertions.assertThrows(IOException.class, proxy::methodWithThrowClause);
+        Assertions.assertThrows(ParseException.class, () -> proxy.methodWithThrowClauseSeveralExceptions(true));
+        Assertions.assertThrows(UndeclaredThrowableException.class, () -> proxy.methodWithOneArg("one"));
+        Assertions.assertEquals(Arrays.asList("methodWithReturnType", "methodWithTwoArgs", "methodWithVararg",
+                "methodWithThrowClause", "methodWithThrowClauseSeveralExceptions", "methodWithOneArg"), calledMethods);
+    }
+
+    @Test
+    void evictProxyClassFromBoundedCacheTest() {
+        ProxyClassCache proxyClassCache = new LruProxyClassCache(1);
+        Class<?> proxyClass = newCachedProxyFactory(TestClass.class, "BoundedCache", proxyClassCache).newInstance()
+                .getClass();
+        newCachedProxyFactory(TestClassExtendsParameterized.class, "BoundedCache", proxyClassCache).newInstance();
+        Assertions.assertEquals(1, proxyClassCache.size());
+        Assertions.assertEquals(1, proxyClassCache.getStats().getEvictionCount());
+        // evicted class is defined at its own class loader so it isn't reused and may be unloaded
+        Class<?> reloadedProxyClass = newCachedProxyFactory(TestClass.class, "BoundedCache", proxyClassCache)
+                .newInstance().getClass();
+        Assertions.assertNotEquals(proxyClass, reloadedProxyClass);
+        Assertions.assertEquals(proxyClass.getName(), reloadedProxyClass.getName());
+        Assertions.assertEquals(3, proxyClassCache.getStats().getLoadCount());
+        Assertions.assertEquals(2, proxyClassCache.getStats().getEvictionCount());
+    }
+
+    @Test
+    void ignorePregeneratedClassWithoutFingerprintTest() {
+        Class<?> proxyClass = newProxyFactory(UnmarkedPregeneratedTestClass.class).newInstance().getClass();
+        Assertions.assertNotEquals(UnmarkedPregeneratedTestClassProxy.class, proxyClass);
+        Assertions.assertEquals(UnmarkedPregeneratedTestClassProxy.class.getName(), proxyClass.getName());
+        Assertions.assertEquals(UnmarkedPregeneratedTestClass.class, proxyClass.getSuperclass());
+    }
+
+    @Test
+    void interceptOnlyMatchingMethodsTest() throws Exception {
+        MethodMatcher methodMatcher = MethodMatcher.named("methodWithReturnType", "methodWithTwoArgs")
+                .or(MethodMatcher.returning(List.class)).and(MethodMatcher.declaredBy(TestClass.class));
+        TestClass proxy = new ProxyFactory<>(TestClass.class, new IndexedInvocationProxySourceGenerator(methodMatcher),
+                "Matching").newInstance();
+        List<String> indexedMethods = new IndexedInvocationProxyMethodGenerator(TestClass.class, false, methodMatcher)
+                .getIndexedMethods().stream().map(Method::getName).collect(Collectors.toList());
+        Assertions.assertEquals(Arrays.asList("methodWithParameterizedClassTypeVariableReturnType",
+                "methodWithParameterizedMethodTypeVariableReturnType", "methodWithReturnType", "methodWithTwoArgs"),
+                indexedMethods);
+        List<String> declaredMethods = Arrays.stream(proxy.getClass().getDeclaredMethods()).map(Method::getName)
+                .collect(Collectors.toList());
+        Assertions.assertTrue(declaredMethods.containsAll(indexedMethods));
+        Assertions.assertFalse(declaredMethods.contains("method"));
+        Assertions.assertFalse(declaredMethods.contains("methodWithOneArg"));
+        ((IndexedProxy) proxy).setInvocationHandler((indexedProxy, methodIndex, args) -> "intercepted");
+        Assertions.assertEquals("intercepted", proxy.methodWithReturnType());
+        proxy.method();
+        TestClass bytecodeProxy = new ProxyFactory<>(TestClass.class,
+                new DelegateProxyBytecodeCompiler(MethodMatcher.named("method").negate()), "MatchingBytecode")
+                .newInstance();
+        Assertions.assertNotEquals(TestClass.class, bytecodeProxy.getClass());
+        Class<?> bytecodeProxyClass = bytecodeProxy.getClass();
+        Assertions.assertThrows(NoSuchMethodException.class, () -> bytecodeProxyClass.getDeclaredMethod("method"));
+        Assertions.assertNotNull(bytecodeProxyClass.getDeclaredMethod("methodWithReturnType"));
+    }
+
+    @Test
+    void pickConstructorsFromCacheTest() {
+        ProxyFactory<TestClass> proxyFactory = newProxyFactory(TestClass.class);
+        Constructor<? extends TestClass> constructor = proxyFactory.getConstructor(Integer.class);
+        Assertions.assertSame(constructor, proxyFactory.getConstructor(Integer.class));
+        Assertions.assertNotSame(constructor, proxyFactory.getConstructor(Boolean.class));
+        Assertions.assertEquals(constructor.getDeclaringClass(), proxyFactory.newInstance(1).getClass());
+    }
+
     @Test
     void pickConstructorsTest() {
         ProxyFactory<TestClass> proxyFactory = newProxyFactory(TestClass.class);
@@ -133,6 +585,208 @@ class ProxyFactoryTest {
         Assertions.assertNotEquals(constructor3, constructor4);
     }
 
+    @Test
+    void pickProxyClassFromSharedCacheTest() {
+        ProxyClassCache proxyClassCache = new LruProxyClassCache(10);
+        TestClass proxy1 = newCachedProxyFactory(TestClass.class, "SharedCache", proxyClassCache).newInstance();
+        TestClass proxy2 = newCachedProxyFactory(TestClass.class, "SharedCache", proxyClassCache).newInstance();
+        Assertions.assertEquals(proxy1.getClass(), proxy2.getClass());
+        Assertions.assertEquals(1, proxyClassCache.size());
+        Assertions.assertEquals(1, proxyClassCache.getStats().getLoadCount());
+        Assertions.assertEquals(1, proxyClassCache.getStats().getHitCount());
+        Assertions.assertEquals(0, proxyClassCache.getStats().getEvictionCount());
+        Assertions.assertTrue(proxyClassCache.getStats().getTotalLoadTime() > 0);
+    }
+
+    @Test
+    void prepareAllTest() throws Exception {
+        ProxyClassCompiler proxyClassCompiler = new SourceProxyClassCompiler(new SimpleProxySourceTestGenerator());
+        ProxyFactory<TestClass> proxyFactory1 = new ProxyFactory<>(TestClass.class, proxyClassCompiler, "Batch");
+        ProxyFactory<TestClassExtendsParameterized> proxyFactory2 = new ProxyFactory<>(
+                TestClassExtendsParameterized.class, proxyClassCompiler, "Batch");
+        ProxyFactory<FinalTestClass> proxyFactory3 = newProxyFactory(FinalTestClass.class);
+        ProxyFactory.prepareAll(Arrays.asList(proxyFactory1, proxyFactory2, proxyFactory3));
+        String packageName = TestClass.class.getPackage().getName();
+        Assertions.assertNotNull(getNamespaceClassLoader(TestClass.class, proxyClassCompiler)
+                .loadClass(packageName + ".BatchTestClassProxy"));
+        Assertions.assertNotNull(getNamespaceClassLoader(TestClassExtendsParameterized.class, proxyClassCompiler)
+                .loadClass(packageName + ".BatchTestClassExtendsParameterizedProxy"));
+        Assertions.assertEquals("BatchTestClassProxy", proxyFactory1.newInstance().getClass().getSimpleName());
+        Assertions.assertEquals(FinalTestClass.class, proxyFactory3.newInstance().getClass());
+    }
+
+    @Test
+    void releaseProxyClassFromWeakCacheTest() throws Exception {
+        ProxyClassCache proxyClassCache = ReferenceProxyClassCache.weakValues();
+        List<WeakReference<?>> references = createProxyAtSeparateClassLoader(proxyClassCache);
+        Assertions.assertEquals(1, proxyClassCache.getStats().getLoadCount());
+        for (int i = 0; i < 50 && references.stream().anyMatch(reference -> reference.get() != null); ++i) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assertions.assertEquals(0, proxyClassCache.size());
+        Assertions.assertEquals(1, proxyClassCache.getStats().getEvictionCount());
+    }
+
+    @Test
+    void releaseUnusedNamespaceClassLoaderTest() throws Exception {
+        WeakReference<JavaByteClassLoader> reference = new WeakReference<>(
+                JavaByteClassLoader.instance().forFingerprint("UnusedNamespace"));
+        for (int i = 0; i < 50 && reference.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assertions.assertNull(reference.get());
+    }
+
+    @Test
+    void reportProxyGenerationPhasesTest() {
+        ProxyFactory<TestClass> proxyFactory = new ProxyFactory<>(TestClass.class,
+                new SimpleProxySourceTestGenerator(), "Listener");
+        List<ProxyGenerationEvent> events = new ArrayList<>();
+        proxyFactory.addListener(events::add);
+        proxyFactory.addListener(event -> {
+            throw new IllegalStateException("listener failure shouldn't break proxy generation");
+        });
+        Assertions.assertEquals("ListenerTestClassProxy", proxyFactory.newInstance().getClass().getSimpleName());
+        Assertions.assertEquals(Arrays.asList(ProxyGenerationPhase.SOURCE_GENERATION, ProxyGenerationPhase.COMPILATION,
+                ProxyGenerationPhase.DEFINITION, ProxyGenerationPhase.CONSTRUCTOR_RESOLUTION),
+                events.stream().map(ProxyGenerationEvent::getPhase).collect(Collectors.toList()));
+        for (ProxyGenerationEvent event : events) {
+            Assertions.assertTrue(event.isSuccessful());
+            Assertions.assertNull(event.getFailure());
+            Assertions.assertEquals(TestClass.class, event.getTargetClass());
+            Assertions.assertTrue(event.getDuration() > 0);
+        }
+        Assertions.assertTrue(events.get(0).getSourceLength() > 0);
+        Assertions.assertEquals(events.get(0).getSourceLength(), events.get(1).getSourceLength());
+        Assertions.assertTrue(events.get(1).getBytecodeSize() > 0);
+        Assertions.assertEquals(events.get(1).getBytecodeSize(), events.get(2).getBytecodeSize());
+        proxyFactory.newInstance();
+        Assertions.assertEquals(4, events.size());
+    }
+
+    @Test
+    void reuseResolvedMethodSignaturesTest() throws Exception {
+        Method method = TestClass.class.getMethod("methodWithVararg", String[].class);
+        ExecutableSignatureCache signatureCache = ExecutableSignatureCache.instance();
+        new ProxyFactory<>(TestClass.class, new SimpleProxySourceTestGenerator(), "Signature1").newInstance();
+        ExecutableSignature signature = signatureCache
+                .getMethodSignature(TestClass.class, method, new ExecutableStringRepresentationResolver());
+        Assertions.assertEquals("java.lang.String... args", signature.getParametersDeclaration());
+        new ProxyFactory<>(TestClass.class, new SimpleProxySourceTestGenerator(), "Signature2").newInstance();
+        Assertions.assertSame(signature, signatureCache
+                .getMethodSignature(TestClass.class, method, new ExecutableStringRepresentationResolver()));
+        // signatures of other resolvers are keyed by resolver instance
+        ExecutableStringRepresentationResolver customResolver = new ExecutableStringRepresentationResolver() {};
+        ExecutableSignature customSignature = signatureCache
+                .getMethodSignature(TestClass.class, method, customResolver);
+        Assertions.assertNotSame(signature, customSignature);
+        Assertions.assertSame(customSignature,
+                signatureCache.getMethodSignature(TestClass.class, method, customResolver));
+        signatureCache.clear(TestClass.class);
+        Assertions.assertEquals(0, signatureCache.size(TestClass.class));
+        Assertions.assertNotSame(signature, signatureCache
+                .getMethodSignature(TestClass.class, method, new ExecutableStringRepresentationResolver()));
+    }
+
+    @Test
+    void separateProxyClassesOfDifferentCustomMatchersTest() {
+        Class<?> proxyClass = new ProxyFactory<>(TestClass.class, new IndexedInvocationProxySourceGenerator(
+                method -> "method".equals(method.getName())), "CustomMatchers").newInstance().getClass();
+        // custom matchers have no fingerprint so proxy classes are distinguished by hash of generated source code
+        Assertions.assertEquals(proxyClass, new ProxyFactory<>(TestClass.class,
+                new IndexedInvocationProxySourceGenerator(method -> "method".equals(method.getName())),
+                "CustomMatchers").newInstance().getClass());
+        Class<?> otherProxyClass = new ProxyFactory<>(TestClass.class, new IndexedInvocationProxySourceGenerator(
+                method -> "methodWithOneArg".equals(method.getName())), "CustomMatchers").newInstance().getClass();
+        Assertions.assertEquals("CustomMatchersTestClassProxy", otherProxyClass.getSimpleName());
+        Assertions.assertNotEquals(proxyClass, otherProxyClass);
+    }
+
+    @Test
+    void separateProxyClassesOfDifferentGeneratorsTest() {
+        Class<?> sourceProxyClass = new ProxyFactory<>(TestClass.class, new SimpleProxySourceTestGenerator(),
+                "Fingerprint").newInstance().getClass();
+        Class<?> indexedProxyClass = new ProxyFactory<>(TestClass.class, new IndexedInvocationProxySourceGenerator(),
+                "Fingerprint").newInstance().getClass();
+        // proxy classes keep the same name as they're defined at namespaces of different fingerprints
+        Assertions.assertEquals("FingerprintTestClassProxy", sourceProxyClass.getSimpleName());
+        Assertions.assertEquals("FingerprintTestClassProxy", indexedProxyClass.getSimpleName());
+        Assertions.assertNotEquals(sourceProxyClass, indexedProxyClass);
+        Assertions.assertNotEquals(sourceProxyClass.getClassLoader(), indexedProxyClass.getClassLoader());
+        Assertions.assertFalse(IndexedProxy.class.isAssignableFrom(sourceProxyClass));
+        Assertions.assertTrue(IndexedProxy.class.isAssignableFrom(indexedProxyClass));
+        Assertions.assertEquals(indexedProxyClass, new ProxyFactory<>(TestClass.class,
+                new IndexedInvocationProxySourceGenerator(), "Fingerprint").newInstance().getClass());
+        ProxyClassCache proxyClassCache = new UnboundedProxyClassCache();
+        Assertions.assertEquals(sourceProxyClass, new ProxyFactory<>(TestClass.class,
+                new SourceProxyClassCompiler(new SimpleProxySourceTestGenerator()), "Fingerprint",
+                new ClassLoaderProxyClassDefiner(), proxyClassCache).newInstance().getClass());
+        // class cached by factory with other compiler isn't picked from shared cache
+        Assertions.assertEquals(indexedProxyClass, new ProxyFactory<>(TestClass.class,
+                new SourceProxyClassCompiler(new IndexedInvocationProxySourceGenerator()), "Fingerprint",
+                new ClassLoaderProxyClassDefiner(), proxyClassCache).newInstance().getClass());
+    }
+
+    @Test
+    void shareProxyClassOfEqualMatchersTest() {
+        Class<?> proxyClass = new ProxyFactory<>(TestClass.class, new IndexedInvocationProxySourceGenerator(
+                MethodMatcher.named("method", "methodWithOneArg").and(MethodMatcher.declaredBy(TestClass.class))),
+                "EqualMatchers").newInstance().getClass();
+        Assertions.assertEquals("EqualMatchersTestClassProxy", proxyClass.getSimpleName());
+        Assertions.assertEquals(proxyClass, new ProxyFactory<>(TestClass.class,
+                new IndexedInvocationProxySourceGenerator(MethodMatcher.named("methodWithOneArg", "method")
+                        .and(MethodMatcher.declaredBy(TestClass.class))), "EqualMatchers").newInstance().getClass());
+        Class<?> otherProxyClass = new ProxyFactory<>(TestClass.class,
+                new IndexedInvocationProxySourceGenerator(MethodMatcher.named("method")), "EqualMatchers")
+                .newInstance().getClass();
+        Assertions.assertEquals("EqualMatchersTestClassProxy", otherProxyClass.getSimpleName());
+        Assertions.assertNotEquals(proxyClass, otherProxyClass);
+    }
+
+    @Test
+    void unloadProxyTogetherWithTargetClassLoaderTest() throws Exception {
+        List<WeakReference<?>> references = createProxyAtSeparateClassLoader();
+        for (int i = 0; i < 50 && references.stream().anyMatch(reference -> reference.get() != null); ++i) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        for (WeakReference<?> reference : references) {
+            Assertions.assertNull(reference.get());
+        }
+    }
+
+    @Test
+    void unloadProxyClassEvictedFromBoundedCacheTest() throws Exception {
+        ProxyClassCache proxyClassCache = new LruProxyClassCache(1);
+        // factory of the same target class and generator keeps namespace class loader reachable
+        ProxyFactory<TestClass> proxyFactory = newProxyFactory(TestClass.class);
+        Assertions.assertNotEquals(TestClass.class, proxyFactory.newInstance().getClass());
+        WeakReference<Class<?>> reference = new WeakReference<>(
+                newCachedProxyFactory(TestClass.class, "EvictedClass", proxyClassCache).newInstance().getClass());
+        newCachedProxyFactory(TestClassExtendsParameterized.class, "EvictedClass", proxyClassCache).newInstance();
+        Assertions.assertEquals(1, proxyClassCache.getStats().getEvictionCount());
+        for (int i = 0; i < 50 && reference.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assertions.assertNull(reference.get());
+        Assertions.assertEquals("TestClassProxy", proxyFactory.newInstance().getClass().getSimpleName());
+    }
+
+    @Test
+    void warmUpTest() throws Exception {
+        ProxyFactory<TestClass> proxyFactory1 = new ProxyFactory<>(TestClass.class,
+                new SimpleProxySourceTestGenerator(), "WarmUp");
+        ProxyFactory<TestClassExtendsParameterized> proxyFactory2 = new ProxyFactory<>(
+                TestClassExtendsParameterized.class, new SimpleProxySourceTestGenerator(), "WarmUp");
+        ProxyFactory.warmUp(Arrays.asList(proxyFactory1, proxyFactory2)).get();
+        Assertions.assertTrue(proxyFactory1.getProxyClassAsync().isDone());
+        Assertions.assertTrue(proxyFactory2.getProxyClassAsync().isDone());
+        Assertions.assertEquals("WarmUpTestClassProxy", proxyFactory1.newInstance().getClass().getSimpleName());
+    }
+
     private void checkThatMethodsWereOverridden(Class<?> testClass) {
         // check that methods were overridden and doesn't use superclass method
         for (Method method : testClass.getMethods()) {
@@ -143,6 +797,51 @@ class ProxyFactoryTest {
         }
     }
 
+    private void checkThatNonObjectMethodsWereOverridden(Class<?> testClass) {
+        for (Method method : testClass.getMethods()) {
+            int modifiers = method.getModifiers();
+            if (!Modifier.isFinal(modifiers) && !Modifier.isStatic(modifiers) && !Object.class
+                    .equals(method.getDeclaringClass())) {
+                Assertions.assertEquals(method.getDeclaringClass(), testClass);
+            }
+        }
+    }
+
+    private List<WeakReference<?>> createProxyAtSeparateClassLoader() throws Exception {
+        return createProxyAtSeparateClassLoader(null);
+    }
+
+    private List<WeakReference<?>> createProxyAtSeparateClassLoader(ProxyClassCache proxyClassCache)
+            throws Exception {
+        URL testClassesLocation = TestClassWithPrimitiveConstructor.class.getProtectionDomain().getCodeSource()
+                .getLocation();
+        try (URLClassLoader targetClassLoader = new URLClassLoader(new URL[]{ testClassesLocation }, null)) {
+            Class<?> targetClass = targetClassLoader.loadClass(TestClassWithPrimitiveConstructor.class.getName());
+            Assertions.assertNotEquals(TestClassWithPrimitiveConstructor.class, targetClass);
+            ProxyFactory<?> proxyFactory = proxyClassCache == null ? new ProxyFactory<>(targetClass,
+                    new DelegateProxyBytecodeCompiler()) : new ProxyFactory<>(targetClass,
+                    new DelegateProxyBytecodeCompiler(), "", new ClassLoaderProxyClassDefiner(), proxyClassCache);
+            Class<?> proxyClass = proxyFactory.getProxyClassAsync(Runnable::run).get();
+            Assertions.assertNotEquals(targetClass, proxyClass);
+            ClassLoader scopedClassLoader = proxyClass.getClassLoader().getParent();
+            Assertions.assertEquals(JavaByteClassLoader.forClassLoader(targetClassLoader), scopedClassLoader);
+            Assertions.assertEquals(targetClassLoader, scopedClassLoader.getParent());
+            return Arrays.asList(new WeakReference<>(targetClassLoader), new WeakReference<>(proxyClass),
+                    new WeakReference<>(proxyClass.getClassLoader()));
+        }
+    }
+
+    private JavaByteClassLoader getNamespaceClassLoader(Class<?> clazz, ProxyClassCompiler proxyClassCompiler) {
+        return JavaByteClassLoader.forClassLoader(clazz.getClassLoader())
+                .forFingerprint(FingerprintUtil.generateFingerprint(clazz, proxyClassCompiler));
+    }
+
+    private <T> ProxyFactory<T> newCachedProxyFactory(Class<T> clazz, String proxyClassPrefix,
+            ProxyClassCache proxyClassCache) {
+        return new ProxyFactory<>(clazz, new SourceProxyClassCompiler(new SimpleProxySourceTestGenerator()),
+                proxyClassPrefix, new ClassLoaderProxyClassDefiner(), proxyClassCache);
+    }
+
     private <T> ProxyFactory<T> newProxyFactory(Class<T> clazz) {
         return new ProxyFactory<>(clazz, new SimpleProxySourceTestGenerator());
     }
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.jfr;
+
+import com.github.vladislavsevruk.generator.proxy.ProxyFactory;
+import com.github.vladislavsevruk.generator.proxy.data.TestClass;
+import com.github.vladislavsevruk.generator.proxy.source.generator.SimpleProxySourceTestGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class ProxyFlightRecorderTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void recordFlightRecorderEventsTest() throws Exception {
+        Assumptions.assumeTrue(ProxyFlightRecorder.isAvailable());
+        // flight recorder API is used by reflection to keep compatibility with java 8
+        Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        Object recording = recordingClass.getConstructor().newInstance();
+        Path recordingFile = tempDirectory.resolve("proxy-recording.jfr");
+        try {
+            for (String phase : Arrays.asList("SourceGeneration", "Compilation", "Definition")) {
+                recordingClass.getMethod("enable", String.class)
+                        .invoke(recording, "com.github.vladislavsevruk.generator.proxy.jfr.Proxy" + phase + "Event");
+            }
+            recordingClass.getMethod("start").invoke(recording);
+            new ProxyFactory<>(TestClass.class, new SimpleProxySourceTestGenerator(), "FlightRecorder").newInstance();
+            recordingClass.getMethod("stop").invoke(recording);
+            recordingClass.getMethod("dump", Path.class).invoke(recording, recordingFile);
+            List<?> recordedEvents = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                    .getMethod("readAllEvents", Path.class).invoke(null, recordingFile);
+            Method getValue = Class.forName("jdk.jfr.consumer.RecordedObject").getMethod("getValue", String.class);
+            List<Object> proxyClassNames = new ArrayList<>();
+            for (Object recordedEvent : recordedEvents) {
+                proxyClassNames.add(getValue.invoke(recordedEvent, "proxyClassName"));
+                Assertions.assertEquals(true, getValue.invoke(recordedEvent, "successful"));
+            }
+            String proxyClassName = "com.github.vladislavsevruk.generator.proxy.data.FlightRecorderTestClassProxy";
+            Assertions.assertEquals(Arrays.asList(proxyClassName, proxyClassName, proxyClassName), proxyClassNames);
+        } finally {
+            recordingClass.getMethod("close").invoke(recording);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.bytecode;
+
+import com.github.vladislavsevruk.generator.proxy.IndexedProxy;
+import com.github.vladislavsevruk.generator.proxy.ProxyFactory;
+import com.github.vladislavsevruk.generator.proxy.data.TestClass;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.JavaSourceCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.SourceProxyClassCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.file.JavaByteFileObject;
+import com.github.vladislavsevruk.generator.proxy.source.generator.IndexedInvocationProxySourceGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.generator.method.IndexedInvocationProxyMethodGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.matcher.MethodMatcher;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+class InliningAnalyzerTest {
+
+    @Test
+    void analyzeClassesWithoutMarkingFinalByDefaultTest() {
+        Map<String, JavaByteFileObject> compiledClasses = JavaSourceCompiler.compile(Collections.singletonMap(
+                "inlining.Outer", "package inlining; public class Outer { public static class Nested {} }"));
+        Assertions.assertEquals(2, compiledClasses.size());
+        ClassFileReader outerClassFile = new ClassFileReader(compiledClasses.get("inlining.Outer").getBytes());
+        ClassFileReader nestedClassFile = new ClassFileReader(compiledClasses.get("inlining.Outer$Nested").getBytes());
+        Assertions.assertFalse(Modifier.isFinal(outerClassFile.getAccessFlags()));
+        Assertions.assertFalse(outerClassFile.isNested());
+        Assertions.assertFalse(Modifier.isFinal(nestedClassFile.getAccessFlags()));
+        Assertions.assertTrue(nestedClassFile.isNested());
+        Map<String, JavaByteFileObject> analyzedClasses = InliningAnalyzer.finalMarkingInstance()
+                .analyze(compiledClasses);
+        Assertions.assertTrue(Modifier.isFinal(
+                new ClassFileReader(analyzedClasses.get("inlining.Outer").getBytes()).getAccessFlags()));
+        // access flags of nested class are duplicated at inner classes attribute so class is left as is
+        Assertions.assertSame(compiledClasses.get("inlining.Outer$Nested"),
+                analyzedClasses.get("inlining.Outer$Nested"));
+    }
+
+    @Test
+    void keepProxyMethodsInlinableTest() {
+        IndexedInvocationProxySourceGenerator sourceGenerator = new IndexedInvocationProxySourceGenerator(false,
+                MethodMatcher.any(), InliningAnalyzer.MAX_INLINE_SIZE);
+        ProxyClassSchema proxyClassSchema = new ProxyClassSchema(TestClass.class, "Inlinable");
+        ClassFileReader classFile = new ClassFileReader(new SourceProxyClassCompiler(sourceGenerator)
+                .compile(proxyClassSchema.getBinaryName(), proxyClassSchema).getBytes());
+        Assertions.assertTrue(Modifier.isFinal(classFile.getAccessFlags()));
+        Assertions.assertTrue(InliningAnalyzer.instance().findNonInlinableMethods(classFile).isEmpty());
+        List<String> indexedMethods = new IndexedInvocationProxyMethodGenerator(TestClass.class).getIndexedMethods()
+                .stream().map(Method::getName).collect(Collectors.toList());
+        List<MethodCodeSize> proxyMethods = classFile.getMethods().stream()
+                .filter(method -> indexedMethods.contains(method.getName())).collect(Collectors.toList());
+        Assertions.assertEquals(indexedMethods.size(), proxyMethods.size());
+        proxyMethods.forEach(method -> Assertions
+                .assertTrue(method.getCodeLength() <= InliningAnalyzer.MAX_INLINE_SIZE, method.toString()));
+        TestClass proxy = new ProxyFactory<>(TestClass.class, sourceGenerator, "Inlinable").newInstance();
+        ((IndexedProxy) proxy).setInvocationHandler((indexedProxy, methodIndex, args) -> {
+            if (args != null) {
+                throw new IOException();
+            }
+            return "intercepted";
+        });
+        Assertions.assertEquals("intercepted", proxy.methodWithReturnType());
+        Assertions.assertThrows(UndeclaredThrowableException.class, () -> proxy.methodWithOneArg("one"));
+        Assertions.assertThrows(IOException.class, () -> proxy.methodWithThrowClauseSeveralExceptions(true));
+    }
+
+    @Test
+    void outlineOnlyOversizedProxyMethodsTest() {
+        ProxyClassSchema proxyClassSchema = new ProxyClassSchema(TestClass.class, "Outlined");
+        IndexedInvocationProxySourceGenerator sourceGenerator = new IndexedInvocationProxySourceGenerator(false,
+                MethodMatcher.any(), InliningAnalyzer.FREQ_INLINE_SIZE);
+        Assertions.assertEquals(new IndexedInvocationProxySourceGenerator().generate(proxyClassSchema),
+                sourceGenerator.generate(proxyClassSchema));
+        // proxy methods are measured at already compiled class and source code isn't generated again if none exceeds
+        JavaByteFileObject compiledByteFileObject = new SourceProxyClassCompiler(sourceGenerator)
+                .compile(proxyClassSchema.getBinaryName(), proxyClassSchema);
+        Assertions.assertNull(sourceGenerator.regenerate(proxyClassSchema, compiledByteFileObject));
+        ClassFileReader classFile = new ClassFileReader(new SourceProxyClassCompiler(
+                new IndexedInvocationProxySourceGenerator(false, MethodMatcher.any(), 50))
+                .compile(proxyClassSchema.getBinaryName(), proxyClassSchema).getBytes());
+        List<String> outlinedMethods = classFile.getMethods().stream().map(MethodCodeSize::getName)
+                .filter(name -> name.endsWith(IndexedInvocationProxyMethodGenerator.INTERCEPTION_METHOD_SUFFIX))
+                .collect(Collectors.toList());
+        Assertions.assertFalse(outlinedMethods.isEmpty());
+        // methods without arguments are small enough to be kept as is
+        Assertions.assertFalse(outlinedMethods.contains("method" + IndexedInvocationProxyMethodGenerator
+                .INTERCEPTION_METHOD_SUFFIX));
+        Assertions.assertTrue(outlinedMethods.contains("methodWithTwoArgs" + IndexedInvocationProxyMethodGenerator
+                .INTERCEPTION_METHOD_SUFFIX));
+    }
+}
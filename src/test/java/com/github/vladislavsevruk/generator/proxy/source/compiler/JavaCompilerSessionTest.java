@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.compiler;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.StandardJavaFileManager;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+class JavaCompilerSessionTest {
+
+    @Test
+    void discardFileManagerAfterFailedActionTest() {
+        JavaCompilerSession session = new JavaCompilerSession();
+        StandardJavaFileManager[] failedFileManager = new StandardJavaFileManager[1];
+        Assertions.assertThrows(IllegalStateException.class, () -> session.withFileManager(fileManager -> {
+            failedFileManager[0] = fileManager;
+            throw new IllegalStateException();
+        }));
+        Assertions.assertEquals(0, session.getIdleFileManagersCount());
+        Assertions.assertNotSame(failedFileManager[0], session.withFileManager(Function.identity()));
+        session.release();
+    }
+
+    @Test
+    void releaseIdleFileManagerAfterTimeoutTest() throws Exception {
+        JavaCompilerSession session = new JavaCompilerSession();
+        session.setIdleTimeout(10, TimeUnit.MILLISECONDS);
+        session.withFileManager(Function.identity());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (session.getIdleFileManagersCount() != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(0, session.getIdleFileManagersCount());
+    }
+
+    @Test
+    void releaseIdleFileManagersTest() {
+        JavaCompilerSession session = new JavaCompilerSession();
+        session.withFileManager(Function.identity());
+        Assertions.assertEquals(1, session.getIdleFileManagersCount());
+        session.release();
+        Assertions.assertEquals(0, session.getIdleFileManagersCount());
+    }
+
+    @Test
+    void reuseFileManagerTest() {
+        JavaCompilerSession session = new JavaCompilerSession();
+        StandardJavaFileManager fileManager = session.withFileManager(Function.identity());
+        Assertions.assertSame(fileManager, session.withFileManager(Function.identity()));
+        Assertions.assertEquals(1, session.getIdleFileManagersCount());
+        session.release();
+    }
+}
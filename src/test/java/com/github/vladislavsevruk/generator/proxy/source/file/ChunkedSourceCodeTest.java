@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.file;
+
+import com.github.vladislavsevruk.generator.proxy.data.TestClass;
+import com.github.vladislavsevruk.generator.proxy.source.compiler.SourceProxyClassCompiler;
+import com.github.vladislavsevruk.generator.proxy.source.generator.ProxySourceCodeGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.generator.SimpleProxySourceTestGenerator;
+import com.github.vladislavsevruk.generator.proxy.source.schema.ProxyClassSchema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class ChunkedSourceCodeTest {
+
+    @Test
+    void compileChunkedSourceCodeTest() {
+        SimpleProxySourceTestGenerator sourceGenerator = new SimpleProxySourceTestGenerator();
+        List<Appendable> generatedSources = new ArrayList<>();
+        ProxySourceCodeGenerator chunkedSourceGenerator = new ProxySourceCodeGenerator() {
+
+            @Override
+            public String generate(ProxyClassSchema schemaObject) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void generate(ProxyClassSchema schemaObject, Appendable sourceCode) throws IOException {
+                generatedSources.add(sourceCode);
+                for (String line : sourceGenerator.generate(schemaObject).split("\n")) {
+                    sourceCode.append(line).append('\n');
+                }
+            }
+        };
+        ProxyClassSchema proxyClassSchema = new ProxyClassSchema(TestClass.class, "Chunked");
+        byte[] bytes = new SourceProxyClassCompiler(chunkedSourceGenerator)
+                .compile(proxyClassSchema.getBinaryName(), proxyClassSchema).getBytes();
+        Assertions.assertTrue(bytes.length > 0);
+        Assertions.assertEquals(1, generatedSources.size());
+        Assertions.assertTrue(generatedSources.get(0) instanceof ChunkedSourceCode);
+        Assertions.assertEquals(sourceGenerator.generate(proxyClassSchema), generatedSources.get(0).toString());
+    }
+
+    @Test
+    void readChunkedSourceCodeTest() throws Exception {
+        String expectedSourceCode = new SimpleProxySourceTestGenerator()
+                .generate(new ProxyClassSchema(TestClass.class, "Chunked"));
+        ChunkedSourceCode sourceCode = new ChunkedSourceCode();
+        // short lines are collected into pending chunk while long ones are kept as separate chunks
+        for (String line : expectedSourceCode.split("\n")) {
+            sourceCode.append(line).append('\n');
+        }
+        Assertions.assertEquals(expectedSourceCode.length(), sourceCode.length());
+        Assertions.assertEquals(expectedSourceCode, sourceCode.toString());
+        Assertions.assertEquals(expectedSourceCode, sourceCode.toCharBuffer().toString());
+        Assertions.assertEquals(expectedSourceCode.charAt(expectedSourceCode.length() - 2),
+                sourceCode.charAt(sourceCode.length() - 2));
+        Assertions.assertEquals(expectedSourceCode.subSequence(10, 20), sourceCode.subSequence(10, 20).toString());
+        try (BufferedReader reader = new BufferedReader(sourceCode.openReader())) {
+            Assertions.assertEquals(expectedSourceCode, reader.lines().collect(Collectors.joining("\n", "", "\n")));
+        }
+    }
+
+    @Test
+    void readStandaloneChunksTest() {
+        char[] longValue = new char[300];
+        Arrays.fill(longValue, 'a');
+        ChunkedSourceCode sourceCode = new ChunkedSourceCode().append("start").append(new String(longValue))
+                .append('b').append("end", 1, 3);
+        Assertions.assertEquals(308, sourceCode.length());
+        Assertions.assertEquals('s', sourceCode.charAt(0));
+        Assertions.assertEquals('a', sourceCode.charAt(5));
+        Assertions.assertEquals('b', sourceCode.charAt(305));
+        Assertions.assertEquals('d', sourceCode.charAt(307));
+        // reading backwards switches chunk by binary search
+        Assertions.assertEquals('t', sourceCode.charAt(4));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> sourceCode.charAt(308));
+    }
+}
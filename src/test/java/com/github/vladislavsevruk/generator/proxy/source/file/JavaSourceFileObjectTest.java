@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.file;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+
+class JavaSourceFileObjectTest {
+
+    @Test
+    void reuseCharContentOfChunkedSourceCodeTest() {
+        ChunkedSourceCode sourceCode = new ChunkedSourceCode().append("public class Test {").append('}');
+        JavaSourceFileObject fileObject = new JavaSourceFileObject("Test", sourceCode);
+        CharBuffer charContent = (CharBuffer) fileObject.getCharContent(false);
+        Assertions.assertEquals("public class Test {}", charContent.toString());
+        charContent.position(charContent.limit());
+        CharBuffer repeatedCharContent = (CharBuffer) fileObject.getCharContent(false);
+        Assertions.assertSame(charContent.array(), repeatedCharContent.array());
+        Assertions.assertEquals("public class Test {}", repeatedCharContent.toString());
+        fileObject.release();
+        Assertions.assertThrows(IllegalStateException.class, () -> fileObject.getCharContent(false));
+    }
+
+    @Test
+    void returnStringSourceCodeAsIsTest() {
+        String sourceCode = "public class Test {}";
+        JavaSourceFileObject fileObject = new JavaSourceFileObject("Test", sourceCode);
+        Assertions.assertSame(sourceCode, fileObject.getCharContent(false));
+    }
+}
@@ -31,8 +31,23 @@ import java.util.Collections;
 
 public class SimpleProxySourceTestGenerator extends BaseProxySourceCodeGenerator {
 
+    private final boolean overrideNonPublicMethods;
+
+    public SimpleProxySourceTestGenerator() {
+        this(false);
+    }
+
+    public SimpleProxySourceTestGenerator(boolean overrideNonPublicMethods) {
+        this.overrideNonPublicMethods = overrideNonPublicMethods;
+    }
+
+    @Override
+    public String getFingerprint() {
+        return String.format("%s[%s]", getClass().getName(), overrideNonPublicMethods);
+    }
+
     @Override
     protected Collection<ClassElementGenerator> getMethodsDeclaration(Class<?> clazz) {
-        return Collections.singletonList(new DelegateProxyMethodGenerator(clazz));
+        return Collections.singletonList(new DelegateProxyMethodGenerator(clazz, overrideNonPublicMethods));
     }
 }
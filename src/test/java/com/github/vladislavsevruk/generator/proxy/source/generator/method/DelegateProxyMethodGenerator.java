@@ -33,6 +33,10 @@ public class DelegateProxyMethodGenerator extends AbstractProxyMethodGenerator {
         super(delegatedClass);
     }
 
+    public DelegateProxyMethodGenerator(Class<?> delegatedClass, boolean overrideNonPublicMethods) {
+        super(delegatedClass, overrideNonPublicMethods);
+    }
+
     @Override
     protected String getProxyMethodBodyContent(JavaClassGeneratorConfig config, Method originalMethod,
             String delegateCall) {
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.source.matcher;
+
+import com.github.vladislavsevruk.generator.proxy.data.TestClass;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class MethodMatcherTest {
+
+    @Test
+    void distinguishDifferentBuiltInMatchersTest() {
+        Assertions.assertNotEquals(MethodMatcher.named("method").getFingerprint(),
+                MethodMatcher.named("method", "methodWithOneArg").getFingerprint());
+        Assertions.assertNotEquals(MethodMatcher.named("method").negate().getFingerprint(),
+                MethodMatcher.named("method").getFingerprint());
+        Assertions.assertNotEquals(
+                MethodMatcher.named("method").and(MethodMatcher.returning(List.class)).getFingerprint(),
+                MethodMatcher.named("method").or(MethodMatcher.returning(List.class)).getFingerprint());
+        Assertions.assertNotEquals(MethodMatcher.declaredBy(TestClass.class).getFingerprint(),
+                MethodMatcher.declaredBy(Object.class).getFingerprint());
+    }
+
+    @Test
+    void generateEqualFingerprintsForEqualBuiltInMatchersTest() {
+        Assertions.assertEquals(MethodMatcher.any().getFingerprint(), MethodMatcher.any().getFingerprint());
+        Assertions.assertEquals(MethodMatcher.named("method", "methodWithOneArg").getFingerprint(),
+                MethodMatcher.named("methodWithOneArg", "method").getFingerprint());
+        Assertions.assertEquals(
+                MethodMatcher.annotatedWith(Deprecated.class).or(MethodMatcher.returning(List.class)).negate()
+                        .and(MethodMatcher.declaredBy(TestClass.class)).getFingerprint(),
+                MethodMatcher.annotatedWith(Deprecated.class).or(MethodMatcher.returning(List.class)).negate()
+                        .and(MethodMatcher.declaredBy(TestClass.class)).getFingerprint());
+    }
+
+    @Test
+    void leaveCustomMatchersWithoutFingerprintTest() {
+        MethodMatcher methodMatcher = method -> true;
+        Assertions.assertNull(methodMatcher.getFingerprint());
+        Assertions.assertNull(methodMatcher.negate().getFingerprint());
+        Assertions.assertNull(MethodMatcher.any().and(methodMatcher).getFingerprint());
+        Assertions.assertNull(methodMatcher.or(MethodMatcher.any()).getFingerprint());
+    }
+}
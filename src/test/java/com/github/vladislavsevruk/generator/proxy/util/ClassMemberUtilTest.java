@@ -0,0 +1,46 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Uladzislau Seuruk
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.vladislavsevruk.generator.proxy.util;
+
+import com.github.vladislavsevruk.generator.proxy.data.TestClass;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+class ClassMemberUtilTest {
+
+    @Test
+    void pickProxyableMethodsFromClassMetadataTest() throws Exception {
+        List<Method> methods = ClassMemberUtil.getProxyableMethods(TestClass.class, false);
+        Assertions.assertSame(methods, ClassMemberUtil.getProxyableMethods(TestClass.class, false));
+        Assertions.assertTrue(methods.contains(TestClass.class.getMethod("methodWithOneArg", String.class)));
+        Assertions.assertFalse(methods.contains(TestClass.class.getMethod("finalMethod")));
+        Assertions.assertFalse(methods.contains(TestClass.class.getMethod("staticMethod")));
+        Assertions.assertFalse(methods.contains(TestClass.class.getMethod("toString")));
+        Assertions.assertSame(ClassMemberUtil.getProxyableConstructors(TestClass.class),
+                ClassMemberUtil.getProxyableConstructors(TestClass.class));
+    }
+}